@@ -0,0 +1,43 @@
+package hello.core;
+
+import hello.core.order.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * new AnnotationConfigApplicationContext(AppConfig.class) 로 스프링 컨테이너를 띄우고 빈을 꺼내는 데까지 걸리는 시간
+ * vs 빌드할 때 생성된 AppConfigBeanFactory 로 빈을 꺼내는 데까지 걸리는 시간
+ * (메모리는 -prof gc 의 gc.alloc.rate.norm 으로 비교)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContextStartupBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public OrderService annotationConfigContext() {
+        try (AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            return ac.getBean("orderService", OrderService.class);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public OrderService generatedBeanFactory() {
+        return new AppConfigBeanFactory().getBean("orderService", OrderService.class);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public OrderService annotationConfigContextMultiThread() {
+        try (AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            return ac.getBean("orderService", OrderService.class);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 정책 (Rate, Fix) 과 규칙 표 정책 비교
+ * 규칙이 많을 때는 규칙마다 if 문을 도는 체인 방식과 규칙 표 방식을 비교함
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DiscountPolicyBenchmark {
+
+    static final int ORDERS = 1024;
+
+    Member[] members = new Member[ORDERS];
+    int[] prices = new int[ORDERS];
+    String[] items = new String[ORDERS];
+
+    DiscountPolicy rate = new RateDiscountPolicy();
+    DiscountPolicy fix = new FixDiscountPolicy();
+    DiscountPolicy rateTable = RuleTableDiscountPolicy.compile(List.of(DiscountRule.rate(Grade.VIP, 10)));
+    DiscountPolicy chained;
+    DiscountPolicy ruleTable;
+
+    @Setup
+    public void setUp() {
+        // 등급 x 가격대 6개 x 상품 4개 = 48 개 규칙
+        List<DiscountRule> rules = new ArrayList<>();
+        for (Grade grade : Grade.values()) {
+            for (int band = 0; band < 6; band++) {
+                rules.add(new DiscountRule(grade, band * 20_000, (band + 1) * 20_000, null, band + grade.ordinal(), 0));
+                for (int item = 0; item < 3; item++) {
+                    rules.add(new DiscountRule(grade, band * 20_000, (band + 1) * 20_000, "item" + item, 0, 100 * (band + item)));
+                }
+            }
+        }
+        chained = new ChainedDiscountPolicy(rules);
+        ruleTable = RuleTableDiscountPolicy.compile(rules);
+
+        Random random = new Random(42);
+        for (int i = 0; i < ORDERS; i++) {
+            members[i] = new Member((long) i, "member" + i, random.nextInt(10) == 0 ? Grade.VIP : Grade.BASIC);
+            prices[i] = random.nextInt(120_000);
+            items[i] = "item" + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void rateDiscountPolicy(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            blackhole.consume(rate.discount(members[i], prices[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void fixDiscountPolicy(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            blackhole.consume(fix.discount(members[i], prices[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void ruleTableSingleRule(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            blackhole.consume(rateTable.discount(members[i], prices[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void chained48Rules(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            blackhole.consume(chained.discount(members[i], items[i], prices[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void ruleTable48Rules(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            blackhole.consume(ruleTable.discount(members[i], items[i], prices[i]));
+        }
+    }
+
+    /**
+     * 규칙을 차례대로 검사하는 방식 (규칙 하나를 정책 하나로 이어 붙였을 때와 같은 비용)
+     */
+    static class ChainedDiscountPolicy implements DiscountPolicy {
+        private final DiscountRule[] rules;
+
+        ChainedDiscountPolicy(List<DiscountRule> rules) {
+            this.rules = rules.toArray(new DiscountRule[0]);
+        }
+
+        @Override
+        public int discount(Member member, int price) {
+            return discount(member, null, price);
+        }
+
+        @Override
+        public int discount(Member member, String itemName, int price) {
+            DiscountRule matched = null;
+            for (DiscountRule rule : rules) {
+                if ((rule.getGrade() == null || rule.getGrade() == member.getGrade())
+                        && price >= rule.getMinPrice() && price < rule.getMaxPrice()
+                        && (rule.getItemName() == null || rule.getItemName().equals(itemName))
+                        && (matched == null || rule.specificity() >= matched.specificity())) {
+                    matched = rule;
+                }
+            }
+            return matched == null ? 0 : Math.toIntExact((long) price * matched.getDiscountPercent() / 100 + matched.getDiscountFixAmount());
+        }
+    }
+}
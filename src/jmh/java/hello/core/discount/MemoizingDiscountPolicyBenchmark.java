@@ -0,0 +1,113 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 기록 (trace) 을 다시 돌려서 할인 계산 비용 비교 : 원래 정책 vs MemoizingDiscountPolicy
+ *
+ * 기록 : 상품 ITEMS 개, 상품마다 카탈로그 가격 하나 (100 원 단위), 상품 인기는 Zipf 분포, 회원 10% 가 VIP
+ * - chained : 48 개 규칙을 차례대로 검사 (비싼 정책)
+ * - ruleTable : 같은 규칙을 표로 컴파일 (싼 정책)
+ * 반복이 끝날 때마다 캐시 적중률을 출력함
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MemoizingDiscountPolicyBenchmark {
+
+    static final int ORDERS = 1 << 16;
+    static final int ITEMS = 500;
+
+    @Param({"chained", "ruleTable"})
+    String policy;
+
+    Member[] members = new Member[ORDERS];
+    int[] prices = new int[ORDERS];
+    String[] items = new String[ORDERS];
+
+    DiscountPolicy original;
+    MemoizingDiscountPolicy memoizing;
+
+    @Setup
+    public void setUp() {
+        List<DiscountRule> rules = new ArrayList<>();
+        for (Grade grade : Grade.values()) {
+            for (int band = 0; band < 6; band++) {
+                rules.add(new DiscountRule(grade, band * 20_000, (band + 1) * 20_000, null, band + grade.ordinal(), 0));
+                for (int item = 0; item < 3; item++) {
+                    rules.add(new DiscountRule(grade, band * 20_000, (band + 1) * 20_000, "item" + item, 0, 100 * (band + item)));
+                }
+            }
+        }
+        original = "chained".equals(policy)
+                ? new DiscountPolicyBenchmark.ChainedDiscountPolicy(rules)
+                : RuleTableDiscountPolicy.compile(rules);
+        memoizing = new MemoizingDiscountPolicy(original);
+
+        Random random = new Random(42);
+        String[] catalogNames = new String[ITEMS];
+        int[] catalogPrices = new int[ITEMS];
+        double[] cumulative = new double[ITEMS];
+        double sum = 0;
+        for (int item = 0; item < ITEMS; item++) {
+            catalogNames[item] = "item" + item;
+            catalogPrices[item] = (1 + random.nextInt(1_200)) * 100;
+            sum += 1.0 / (item + 1);
+            cumulative[item] = sum;
+        }
+        Member vip = new Member(1L, "memberVIP", Grade.VIP);
+        Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+        for (int i = 0; i < ORDERS; i++) {
+            double pick = random.nextDouble() * sum;
+            int item = 0;
+            while (cumulative[item] < pick) {
+                item++;
+            }
+            members[i] = random.nextInt(10) == 0 ? vip : basic;
+            prices[i] = catalogPrices[item];
+            items[i] = catalogNames[item];
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printHitRate() {
+        if (memoizing.getHitCount() + memoizing.getMissCount() > 0) {
+            System.out.printf("%n%s hit rate %.4f (%d hits, %d misses)%n",
+                    policy, memoizing.getHitRate(), memoizing.getHitCount(), memoizing.getMissCount());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void original(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            blackhole.consume(original.discount(members[i], items[i], prices[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void memoizing(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            blackhole.consume(memoizing.discount(members[i], items[i], prices[i]));
+        }
+    }
+}
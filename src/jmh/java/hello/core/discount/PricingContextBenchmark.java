@@ -0,0 +1,103 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿠폰 할인 계산 비용 비교 : 쿠폰 코드를 파라미터로 넘김 vs PricingContext 로 꺼냄
+ *
+ * - parameter : 쿠폰 코드를 할인 계산까지 파라미터로 넘김 (기준)
+ * - bindPerOrder : 주문마다 PricingContext.call 로 묶고 계산 (요청 1건 = 주문 1건)
+ * - bindPerBatch : 한 번 묶고 주문 ORDERS 건을 계산 (PricingContext.current() 를 읽는 비용만)
+ * 할당량은 -prof gc 로 확인
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PricingContextBenchmark {
+
+    static final int ORDERS = 1024;
+
+    Map<String, Integer> coupons = Map.of("WELCOME", 500, "BIG", 5_000);
+    DiscountPolicy original = new FixDiscountPolicy();
+    CouponDiscountPolicy coupon = new CouponDiscountPolicy(original, coupons);
+
+    Member[] members = new Member[ORDERS];
+    int[] prices = new int[ORDERS];
+    PricingContext[] contexts = new PricingContext[ORDERS];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Member vip = new Member(1L, "memberVIP", Grade.VIP);
+        Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+        PricingContext[] choices = {
+                PricingContext.NONE,
+                new PricingContext("KRW", "spring", "WELCOME"),
+                new PricingContext("KRW", "spring", "BIG")};
+        for (int i = 0; i < ORDERS; i++) {
+            members[i] = random.nextInt(10) == 0 ? vip : basic;
+            prices[i] = (1 + random.nextInt(1_200)) * 100;
+            contexts[i] = choices[random.nextInt(choices.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long parameter() {
+        long sum = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            sum += discount(members[i], prices[i], contexts[i].getCoupon());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long bindPerOrder() {
+        long sum = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            Member member = members[i];
+            int price = prices[i];
+            sum += PricingContext.call(contexts[i], () -> coupon.discount(member, price));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long bindPerBatch() {
+        return PricingContext.call(contexts[0], () -> {
+            long sum = 0;
+            for (int i = 0; i < ORDERS; i++) {
+                sum += coupon.discount(members[i], prices[i]);
+            }
+            return sum;
+        });
+    }
+
+    // CouponDiscountPolicy 와 같은 계산을 쿠폰 코드 파라미터로
+    private int discount(Member member, int price, String couponCode) {
+        int discount = original.discount(member, price);
+        if (couponCode == null) {
+            return discount;
+        }
+        Integer amount = coupons.get(couponCode);
+        if (amount == null) {
+            return discount;
+        }
+        return Math.max(discount, Math.min(price, discount + amount));
+    }
+}
@@ -0,0 +1,143 @@
+package hello.core.item;
+
+import hello.core.discount.DiscountRule;
+import hello.core.discount.RuleTableDiscountPolicy;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.order.ItemOrder;
+import hello.core.order.Order;
+import hello.core.order.OrderServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 이름 (String) 으로 주문 vs 카탈로그 상품 ID 로 주문
+ *
+ * - findIdByName : 이름 -> ID 조회 (입구에서 한 번만 하는 일)
+ * - discountByName / discountByItem : 상품별 규칙 표에서 상품 열 찾기 (이름 해싱 vs 상품 ID)
+ * - createOrderByName / createOrderById : 주문 생성 전체, 주문마다 요청에서 파싱한 새 이름 String 을 만듦 (실제 요청과 같게)
+ * 주문 하나의 크기는 -prof gc 의 gc.alloc.rate.norm 으로 확인
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ItemCatalogBenchmark {
+
+    static final int ORDERS = 1024;
+
+    @Param({"500"})
+    int items;
+
+    ItemRepository catalog;
+    RuleTableDiscountPolicy byName;
+    RuleTableDiscountPolicy byItem;
+    OrderServiceImpl orderService;
+
+    long[] memberIds = new long[ORDERS];
+    Member[] members = new Member[ORDERS];
+    String[] names = new String[ORDERS];
+    byte[][] nameBytes = new byte[ORDERS][];
+    int[] itemIds = new int[ORDERS];
+    Item[] orderItems = new Item[ORDERS];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<String, Integer> prices = new HashMap<>();
+        List<DiscountRule> rules = new ArrayList<>();
+        rules.add(DiscountRule.rate(Grade.VIP, 10));
+        for (int item = 0; item < items; item++) {
+            prices.put("item" + item, (1 + random.nextInt(1_200)) * 100);
+            if (item % 10 == 0) {
+                rules.add(new DiscountRule(null, 0, DiscountRule.NO_MAX_PRICE, "item" + item, 0, 500));
+            }
+        }
+        catalog = CatalogItemRepository.of(prices);
+        byName = RuleTableDiscountPolicy.compile(rules);
+        byItem = byName.withCatalog(catalog);
+
+        ConcurrentMemberRepository memberRepository = new ConcurrentMemberRepository();
+        for (long memberId = 1; memberId <= 1_000; memberId++) {
+            memberRepository.save(new Member(memberId, "member" + memberId, memberId % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        orderService = new OrderServiceImpl(memberRepository, byItem, catalog);
+
+        for (int i = 0; i < ORDERS; i++) {
+            memberIds[i] = 1 + random.nextInt(1_000);
+            members[i] = memberRepository.findById(memberIds[i]);
+            int itemId = random.nextInt(items);
+            itemIds[i] = itemId;
+            orderItems[i] = catalog.findById(itemId);
+            names[i] = new String(orderItems[i].getName()); // 카탈로그와 다른 String 객체
+            nameBytes[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long findIdByName() {
+        long sum = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            sum += catalog.findId(names[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long discountByName() {
+        long sum = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            Item item = orderItems[i];
+            sum += byName.discount(members[i], names[i], item.getPrice());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long discountByItem() {
+        long sum = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            Item item = orderItems[i];
+            sum += byItem.discountItem(members[i], item, item.getPrice());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void createOrderByName(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            String itemName = new String(nameBytes[i], StandardCharsets.UTF_8); // 요청에서 파싱한 이름
+            Order order = orderService.createOrder(memberIds[i], itemName, orderItems[i].getPrice());
+            blackhole.consume(order);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void createOrderById(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            ItemOrder order = orderService.createOrder(memberIds[i], itemIds[i]);
+            blackhole.consume(order);
+        }
+    }
+}
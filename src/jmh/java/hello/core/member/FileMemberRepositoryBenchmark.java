@@ -0,0 +1,116 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * FileMemberRepository vs MemoryMemberRepository : 저장 / 조회 지연 시간, 재시작할 때 회원 MEMBERS 명을 다시 여는 시간
+ *
+ * - save / findById : -p repository=memory,file 로 비교 (회원 ID 를 돌아가면서 씀)
+ * - coldStart : 회원 MEMBERS 명이 저장된 디렉터리를 새로 열고 닫음 (인덱스 파일만 읽음)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FileMemberRepositoryBenchmark {
+
+    static final int MEMBERS = 200_000;
+
+    @State(Scope.Benchmark)
+    public static class Repositories {
+
+        @Param({"memory", "file"})
+        String repository;
+
+        Path directory;
+        MemberRepository members;
+        Member[] saved = new Member[MEMBERS];
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("members");
+            members = repository.equals("file") ? new FileMemberRepository(directory) : new MemoryMemberRepository();
+            for (int i = 0; i < MEMBERS; i++) {
+                saved[i] = new Member((long) i, "member" + i, i % 10 == 0 ? Grade.VIP : Grade.BASIC);
+                members.save(saved[i]);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            if (members instanceof FileMemberRepository file) {
+                file.close();
+            }
+            delete(directory);
+        }
+
+        int nextIndex() {
+            int index = next;
+            next = index + 1 == MEMBERS ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SavedDirectory {
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("members");
+            try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+                for (long id = 0; id < MEMBERS; id++) {
+                    repository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    public void save(Repositories state) {
+        state.members.save(state.saved[state.nextIndex()]);
+    }
+
+    @Benchmark
+    public Member findById(Repositories state) {
+        return state.members.findById((long) state.nextIndex());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int coldStart(SavedDirectory state) {
+        try (FileMemberRepository repository = new FileMemberRepository(state.directory)) {
+            return repository.size();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등급 / 이름 접두사 조회 : 인덱스 (IndexedMemberRepository) vs 전체 훑기 (MemberRepository 기본 구현)
+ *
+ * 회원 1000 만 명 (VIP 10%), 저장소는 CompactMemberRepository
+ * - *Scan : CompactMemberRepository 의 forEach 로 전체를 훑음 (회원마다 Member 를 만듦)
+ * - *Index : 인덱스에서 ID 를 찾은 뒤 그 회원만 조회
+ * 이름 접두사 "member123456" 에 맞는 회원은 11 명
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class IndexedMemberRepositoryBenchmark {
+
+    @Param({"10000000"})
+    int members;
+
+    CompactMemberRepository store;
+    IndexedMemberRepository indexed;
+
+    @Setup
+    public void setUp() {
+        store = new CompactMemberRepository(members);
+        indexed = new IndexedMemberRepository(store);
+        for (long id = 0; id < members; id++) {
+            indexed.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+    }
+
+    @Benchmark
+    public int vipScan() {
+        return store.findByGrade(Grade.VIP).size();
+    }
+
+    @Benchmark
+    public int vipIndex() {
+        return indexed.findByGrade(Grade.VIP).size();
+    }
+
+    @Benchmark
+    public long vipCountIndex() {
+        return indexed.countByGrade(Grade.VIP);
+    }
+
+    @Benchmark
+    public int namePrefixScan() {
+        return store.findByNamePrefix("member123456").size();
+    }
+
+    @Benchmark
+    public int namePrefixIndex() {
+        return indexed.findByNamePrefix("member123456").size();
+    }
+}
@@ -0,0 +1,106 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 1000 만 명 CSV (약 230 MB) 가져오기 : 한 줄씩 읽어서 save vs MemberImporter (병렬 파싱 + saveAll)
+ *
+ * 반복마다 빈 저장소로 새로 가져오고, 끝나면 힙 최대 사용량 (각 힙 영역 peak 의 합) 을 출력함
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class MemberImportBenchmark {
+
+    @Param({"10000000"})
+    int members;
+
+    @Param({"compact", "concurrent"})
+    String repository;
+
+    Path file;
+    MemberRepository target;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("members", ".csv");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,name,grade\n");
+            for (long id = 0; id < members; id++) {
+                writer.write(id + ",member" + id + "," + (id % 10 == 0 ? "VIP" : "BASIC") + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Setup(Level.Iteration)
+    public void newRepository() {
+        target = "compact".equals(repository) ? new CompactMemberRepository() : new ConcurrentMemberRepository();
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n%s peak heap %d MB%n", repository, peak >> 20);
+        target = null;
+    }
+
+    @Benchmark
+    public long lineByLine() throws IOException {
+        long rows = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine(); // 헤더
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                target.save(new Member(Long.parseLong(fields[0]), fields[1], Grade.valueOf(fields[2])));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public long importer() {
+        return new MemberImporter(target).importCsv(file).getRows();
+    }
+}
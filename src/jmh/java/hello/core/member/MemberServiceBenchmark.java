@@ -0,0 +1,94 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberServiceImpl.join / findMember 처리량
+ *
+ * 회원 ID 는 setUp 에서 미리 가입시킨 범위 안에서만 돌기 때문에 join 은 항상 덮어쓰기가 됨
+ * (MemoryMemberRepository 의 static HashMap 도 resize 없이 값만 바뀌므로 멀티 스레드로 돌려도 구조가 깨지지 않음)
+ * 조회 처리량이 스레드 수에 따라 늘어나는지는 findMember 와 findMemberMultiThread 를 비교 (ex. -p repository=concurrent, 스레드 수는 -t 로 바꿔서)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MemberServiceBenchmark {
+
+    static final int MEMBERS = 1 << 16;
+    static final int MASK = MEMBERS - 1;
+
+    @Param({"memory", "concurrent", "compact", "cached"})
+    String repository;
+
+    MemberService memberService;
+
+    @Setup
+    public void setUp() {
+        memberService = new MemberServiceImpl(createRepository(repository));
+        for (long id = 0; id < MEMBERS; id++) {
+            memberService.join(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+    }
+
+    static MemberRepository createRepository(String name) {
+        switch (name) {
+            case "memory":
+                return new MemoryMemberRepository();
+            case "concurrent":
+                return new ConcurrentMemberRepository();
+            case "compact":
+                return new CompactMemberRepository(MEMBERS);
+            case "cached": // 캐시 자체의 비용 확인용 (회원의 1/8 만 캐시에 담기고, 빠른 저장소 앞이라 이득은 없음)
+                return new CachingMemberRepository(new CompactMemberRepository(MEMBERS), MEMBERS / 8);
+            default:
+                throw new IllegalArgumentException("unknown repository: " + name);
+        }
+    }
+
+    /**
+     * 스레드마다 다른 위치에서 시작하는 회원 ID 커서
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        long next = ThreadLocalRandom.current().nextInt(MEMBERS);
+
+        long nextId() {
+            return next++ & MASK;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void join(Cursor cursor) {
+        memberService.join(new Member(cursor.nextId(), "member", Grade.BASIC));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void joinMultiThread(Cursor cursor) {
+        memberService.join(new Member(cursor.nextId(), "member", Grade.BASIC));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Member findMember(Cursor cursor) {
+        return memberService.findMember(cursor.nextId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Member findMemberMultiThread(Cursor cursor) {
+        return memberService.findMember(cursor.nextId());
+    }
+}
@@ -0,0 +1,82 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재시작 후 회원 1000 만 명이 준비될 때까지 걸리는 시간 : CSV 다시 가져오기 (MemberImporter) vs 스냅샷 읽기
+ *
+ * 저장소는 ConcurrentMemberRepository, 준비할 때 스냅샷을 한 번 쓰면서 쓰는 데 걸린 시간과 파일 크기를 출력함
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class MemberSnapshotBenchmark {
+
+    @Param({"10000000"})
+    int members;
+
+    Path csv;
+    Path snapshot;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        csv = Files.createTempFile("members", ".csv");
+        snapshot = Files.createTempFile("members", ".snapshot");
+        try (Writer writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (long id = 0; id < members; id++) {
+                writer.write(id + ",member" + id + "," + (id % 10 == 0 ? "VIP" : "BASIC") + "\n");
+            }
+        }
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        new MemberImporter(repository).importCsv(csv);
+        long start = System.nanoTime();
+        repository.snapshot(snapshot);
+        System.out.printf("%nsnapshot write %d ms, csv %d MB, snapshot %d MB%n",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Files.size(csv) >> 20, Files.size(snapshot) >> 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Setup(Level.Iteration)
+    public void gc() {
+        System.gc();
+    }
+
+    @Benchmark
+    public int importCsv() {
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        new MemberImporter(repository).importCsv(csv);
+        return repository.size();
+    }
+
+    @Benchmark
+    public int loadSnapshot() {
+        return ConcurrentMemberRepository.loadSnapshot(snapshot).size();
+    }
+}
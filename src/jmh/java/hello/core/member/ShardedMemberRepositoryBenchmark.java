@@ -0,0 +1,60 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드 수에 따른 ShardedMemberRepository 처리량 (모든 코어에서 동시에 조회 9 : 저장 1)
+ *
+ * 샤드는 CompactMemberRepository (synchronized, 저장소 전체가 락 하나) 라서
+ * 샤드 1 개면 모든 스레드가 락 하나를 두고 다투고, 샤드가 늘어날수록 다툼이 나눠짐
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class ShardedMemberRepositoryBenchmark {
+
+    static final int MEMBERS = 1 << 16;
+    static final int MASK = MEMBERS - 1;
+
+    @Param({"1", "2", "4", "8"})
+    int shards;
+
+    ShardedMemberRepository repository;
+
+    @Setup
+    public void setUp() {
+        Map<String, MemberRepository> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < shards; i++) {
+            nodes.put("shard-" + i, new CompactMemberRepository(MEMBERS));
+        }
+        repository = new ShardedMemberRepository(nodes);
+        for (long id = 0; id < MEMBERS; id++) {
+            repository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+    }
+
+    @Benchmark
+    public Object findOrSave() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextInt() & MASK;
+        if (random.nextInt(10) == 0) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+            return null;
+        }
+        return repository.findById(id);
+    }
+}
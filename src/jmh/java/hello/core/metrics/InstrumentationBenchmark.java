@@ -0,0 +1,63 @@
+package hello.core.metrics;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.discount.ReloadableDiscountPolicy;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.order.Order;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계측 프록시의 비용 : off (AppConfig 에서 metrics.enabled=false 일 때와 같음) vs on (서비스, 저장소, 할인 정책 모두 프록시)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+
+    static final int MEMBERS = 1 << 12;
+    static final int MASK = MEMBERS - 1;
+
+    @Param({"off", "on"})
+    String metrics;
+
+    OrderService orderService;
+    long next;
+
+    @Setup
+    public void setUp() {
+        ConcurrentMemberRepository members = new ConcurrentMemberRepository();
+        for (long id = 0; id < MEMBERS; id++) {
+            members.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        MemberRepository memberRepository = members;
+        DiscountPolicy discountPolicy = new ReloadableDiscountPolicy(new RateDiscountPolicy());
+        if ("on".equals(metrics)) {
+            MeterRegistry registry = new MeterRegistry();
+            memberRepository = InstrumentedProxy.wrap(MemberRepository.class, memberRepository, registry, "memberRepository");
+            discountPolicy = InstrumentedProxy.wrap(DiscountPolicy.class, discountPolicy, registry, "discountPolicy");
+            orderService = InstrumentedProxy.wrap(OrderService.class, new OrderServiceImpl(memberRepository, discountPolicy), registry, "orderService");
+        } else {
+            orderService = new OrderServiceImpl(memberRepository, discountPolicy);
+        }
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(next++ & MASK, "itemA", 10000);
+    }
+}
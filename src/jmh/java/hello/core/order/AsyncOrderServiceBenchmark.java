@@ -0,0 +1,100 @@
+package hello.core.order;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.AsyncMemberRepositoryAdapter;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회마다 1ms 걸리는 회원 저장소 (원격 저장소 흉내) 에서 주문 ORDERS 건 처리 : blocking API vs async API
+ *
+ * - blocking : OrderService.createOrder 를 주문마다 차례대로 호출 (조회 시간이 그대로 쌓임)
+ * - blockingBatch : OrderService.createOrders (findAllById 기본 구현이라 조회는 여전히 차례대로)
+ * - async : AsyncOrderService.createOrders (서로 다른 회원을 maxConcurrency 개씩 동시에 조회)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AsyncOrderServiceBenchmark {
+
+    static final int ORDERS = 64;
+    static final long LATENCY_MICROS = 1_000;
+
+    @Param({"8", "64"})
+    int maxConcurrency;
+
+    OrderService orderService;
+    AsyncMemberRepositoryAdapter asyncMemberRepository;
+    AsyncOrderService asyncOrderService;
+    List<OrderRequest> requests = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        MemberRepository memberRepository = new LatencyMemberRepository();
+        for (long id = 0; id < ORDERS; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+            requests.add(new OrderRequest(id, "itemA", 10_000));
+        }
+        RateDiscountPolicy discountPolicy = new RateDiscountPolicy();
+        orderService = new OrderServiceImpl(memberRepository, discountPolicy);
+        asyncMemberRepository = new AsyncMemberRepositoryAdapter(memberRepository, maxConcurrency, 1, TimeUnit.SECONDS);
+        asyncOrderService = new AsyncOrderServiceImpl(asyncMemberRepository, discountPolicy);
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncMemberRepository.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void blocking(Blackhole blackhole) {
+        for (OrderRequest request : requests) {
+            blackhole.consume(orderService.createOrder(request.getMemberId(), request.getItemName(), request.getItemPrice()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public Orders blockingBatch() {
+        return orderService.createOrders(requests);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public List<Order> async() {
+        return asyncOrderService.createOrders(requests).join();
+    }
+
+    /**
+     * 조회마다 LATENCY_MICROS 만큼 기다리는 저장소
+     */
+    static class LatencyMemberRepository extends ConcurrentMemberRepository {
+        @Override
+        public Member findById(long memberId) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(LATENCY_MICROS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.findById(memberId);
+        }
+    }
+}
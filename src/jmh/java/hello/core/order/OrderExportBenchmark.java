@@ -0,0 +1,116 @@
+package hello.core.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 100 만 건 내보내기 / 읽기 : toString 텍스트 (한 줄에 1건) vs OrderExportWriter 컬럼형 바이너리
+ *
+ * 주문은 회원 ID 가 대체로 증가하고, 상품 20 종류, 가격 / 할인 금액은 몇 가지 값 중 하나
+ * 파일 크기는 TearDown 에서 출력함
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OrderExportBenchmark {
+
+    static final int ORDERS = 1_000_000;
+
+    List<Order> orders;
+    Path directory;
+    Path textFile;
+    Path columnFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        orders = new ArrayList<>(ORDERS);
+        long memberId = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            memberId += random.nextInt(4);
+            int itemPrice = (1 + random.nextInt(10)) * 1_000;
+            orders.add(new Order(memberId, "item" + random.nextInt(20), itemPrice, random.nextInt(10) == 0 ? itemPrice / 10 : 0, 1));
+        }
+        directory = Files.createTempDirectory("order-export");
+        textFile = directory.resolve("orders.txt");
+        columnFile = directory.resolve("orders.col");
+        writeText();
+        writeColumns();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%ntext %,d bytes, columnar %,d bytes%n", Files.size(textFile), Files.size(columnFile));
+        Files.deleteIfExists(textFile);
+        Files.deleteIfExists(columnFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void writeText() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8)) {
+            for (Order order : orders) {
+                writer.write(order.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void writeColumns() {
+        try (OrderExportWriter writer = new OrderExportWriter(columnFile)) {
+            for (Order order : orders) {
+                writer.write(order);
+            }
+        }
+    }
+
+    /**
+     * 텍스트는 줄만 읽고 파싱하지 않음 (파싱까지 하면 더 느림)
+     */
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long readText() throws IOException {
+        long length = 0;
+        try (BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                length += line.length();
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long readColumns() {
+        long total = 0;
+        try (OrderExportReader reader = new OrderExportReader(columnFile)) {
+            while (reader.next()) {
+                total += reader.getItemPrice() - reader.getDiscountPrice() + reader.getMemberId();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,63 @@
+package hello.core.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderJournal 처리량 (초당 주문 수) 과 commit 지연 시간 (append 부터 fsync 완료까지), group commit 창 크기별
+ *
+ * 스레드 32 개가 각자 주문 1건을 기록하고 fsync 될 때까지 기다리기를 반복함
+ * - maxDelayMicros = 0 : 이미 쌓인 주문만 묶음 (fsync 하는 동안 쌓인 주문이 다음 묶음이 됨)
+ * - 그 이상 : 첫 주문이 들어온 뒤 그만큼 더 기다렸다가 묶음
+ * - perOrderFsync : 비교용, maxBatch = 1 (주문마다 fsync)
+ * 지연 시간 분포는 -bm sample 로 실행해서 확인
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(32)
+public class OrderJournalBenchmark {
+
+    @Param({"0", "100", "1000"})
+    long maxDelayMicros;
+
+    @Param({"1", "1024"})
+    int maxBatch;
+
+    Path directory;
+    OrderJournal journal;
+    Order order = new Order(1L, "itemA", 10_000, 1_000, 1);
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("order-journal");
+        journal = new OrderJournal(directory.resolve("orders.journal"), maxBatch, maxDelayMicros, TimeUnit.MICROSECONDS);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        System.out.printf("%n%,d orders in %,d commits (%.1f orders/commit)%n", journal.getCommittedOrders(),
+                journal.getCommitCount(), (double) journal.getCommittedOrders() / journal.getCommitCount());
+        Files.deleteIfExists(directory.resolve("orders.journal"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public long appendAndWait() {
+        return journal.append(order).join();
+    }
+}
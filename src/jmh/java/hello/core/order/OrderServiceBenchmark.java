@@ -0,0 +1,121 @@
+package hello.core.order;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.CompactMemberRepository;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderServiceImpl.createOrder 처리량 (할인 정책별, Order 생성 vs 링 버퍼에 기록), createOrders 와 주문마다 createOrder 를 반복하는 경우 비교
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    static final int MEMBERS = 1 << 12;
+    static final int MASK = MEMBERS - 1;
+    static final int BATCH = 1000;
+
+    @Param({"fix", "rate"})
+    String discountPolicy;
+
+    /**
+     * concurrent : 락 없이 조회, compact : 조회마다 락 + Member 복원 (findAllById 는 락을 한 번만 잡음)
+     */
+    @Param({"concurrent", "compact"})
+    String repository;
+
+    OrderService orderService;
+    List<OrderRequest> requests;
+
+    @Setup
+    public void setUp() {
+        MemberRepository memberRepository = "compact".equals(repository)
+                ? new CompactMemberRepository(MEMBERS)
+                : new ConcurrentMemberRepository();
+        for (long id = 0; id < MEMBERS; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        DiscountPolicy policy = "fix".equals(discountPolicy) ? new FixDiscountPolicy() : new RateDiscountPolicy();
+        orderService = new OrderServiceImpl(memberRepository, policy);
+
+        // 회원 200 명이 돌아가면서 주문하는 1,000 건
+        requests = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            requests.add(new OrderRequest((long) (i % 200), "item" + i % 50, 1000 + i % 100 * 100));
+        }
+    }
+
+    /**
+     * 스레드마다 하나씩 쓰는 주문 링 버퍼
+     */
+    @State(Scope.Thread)
+    public static class Buffer {
+        OrderRingBuffer orders = new OrderRingBuffer(1024);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        long next = ThreadLocalRandom.current().nextInt(MEMBERS);
+
+        long nextId() {
+            return next++ & MASK;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Order createOrder(Cursor cursor) {
+        return orderService.createOrder(cursor.nextId(), "itemA", 10000);
+    }
+
+    /**
+     * -prof gc 로 보면 concurrent 저장소에서는 주문 1건당 할당 0 byte
+     */
+    @Benchmark
+    @Threads(1)
+    public long createOrderIntoRingBuffer(Cursor cursor, Buffer buffer) {
+        return orderService.createOrder(cursor.nextId(), "itemA", 10000, buffer.orders);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Order createOrderMultiThread(Cursor cursor) {
+        return orderService.createOrder(cursor.nextId(), "itemA", 10000);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void createOrderLoop(Blackhole blackhole) {
+        for (OrderRequest request : requests) {
+            blackhole.consume(orderService.createOrder(request.getMemberId(), request.getItemName(), request.getItemPrice()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Orders createOrders() {
+        return orderService.createOrders(requests);
+    }
+}
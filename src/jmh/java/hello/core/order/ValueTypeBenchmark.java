@@ -0,0 +1,70 @@
+package hello.core.order;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member / Order 와 바꿀 수 없는 MemberValue / OrderValue 의 할당량 비교
+ * -prof gc 로 실행해서 gc.alloc.rate.norm (호출 1 번당 할당 바이트) 를 봐야 함
+ *
+ * 회원 ID 는 128 이상이라 Long.valueOf 캐시에 걸리지 않음 (박싱할 때마다 Long 이 새로 생김)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ValueTypeBenchmark {
+
+    static final int MEMBERS = 1 << 12;
+    static final int MASK = MEMBERS - 1;
+    static final long FIRST_ID = 1_000;
+
+    OrderService orderService;
+    String name = "memberA";
+
+    @Setup
+    public void setUp() {
+        MemberRepository memberRepository = new ConcurrentMemberRepository();
+        for (long id = FIRST_ID; id < FIRST_ID + MEMBERS; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        orderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+    }
+
+    @Benchmark
+    public Member member() {
+        return new Member(nextId(), name, Grade.VIP);
+    }
+
+    @Benchmark
+    public MemberValue memberValue() {
+        return new MemberValue(nextId(), name, Grade.VIP);
+    }
+
+    @Benchmark
+    public Order order() {
+        return orderService.createOrder(nextId(), "itemA", 10_000);
+    }
+
+    @Benchmark
+    public OrderValue orderValue() {
+        return orderService.createOrderValue(nextId(), "itemA", 10_000);
+    }
+
+    private static long nextId() {
+        return FIRST_ID + (ThreadLocalRandom.current().nextInt() & MASK);
+    }
+}
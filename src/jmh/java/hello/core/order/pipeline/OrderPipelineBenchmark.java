@@ -0,0 +1,77 @@
+package hello.core.order.pipeline;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.CompactMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.order.Order;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 생산자 16 스레드 : OrderService.createOrder 를 직접 호출 vs OrderPipeline 에 넣기
+ *
+ * 회원 저장소는 CompactMemberRepository (synchronized) 라서 직접 호출하면 모든 생산자가 저장소 락을 두고 다툼
+ * 파이프라인은 회원 조회 단계 스레드 하나만 저장소에 접근함
+ * - direct : 호출한 스레드에서 바로 주문 생성
+ * - pipelineSubmit : 주문을 넣고 완료될 때까지 기다림 (전체 지연 시간, -bm sample 로 꼬리 지연 확인)
+ * - pipelinePublish : 넣기만 함 (처리량, 링 버퍼가 차면 생산자가 기다리므로 결국 파이프라인 처리 속도로 맞춰짐)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+public class OrderPipelineBenchmark {
+
+    static final int MEMBERS = 1 << 12;
+    static final int MASK = MEMBERS - 1;
+
+    OrderService orderService;
+    OrderPipeline pipeline;
+
+    @Setup
+    public void setUp() {
+        MemberRepository memberRepository = new CompactMemberRepository(MEMBERS);
+        for (long id = 0; id < MEMBERS; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        RateDiscountPolicy discountPolicy = new RateDiscountPolicy();
+        orderService = new OrderServiceImpl(memberRepository, discountPolicy);
+        pipeline = new OrderPipeline(memberRepository, discountPolicy, event -> { }, 4096);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.close();
+        System.out.println();
+        pipeline.getStageStats().forEach(System.out::println);
+    }
+
+    @Benchmark
+    public Order direct() {
+        return orderService.createOrder((long) (ThreadLocalRandom.current().nextInt() & MASK), "itemA", 10_000);
+    }
+
+    @Benchmark
+    public Order pipelineSubmit() {
+        return pipeline.submit(ThreadLocalRandom.current().nextInt() & MASK, "itemA", 10_000).join();
+    }
+
+    @Benchmark
+    public long pipelinePublish() {
+        return pipeline.publish(ThreadLocalRandom.current().nextInt() & MASK, "itemA", 10_000);
+    }
+}
@@ -1,15 +1,27 @@
 package hello.core;
 
+import hello.core.aot.GenerateBeanFactory;
 import hello.core.discount.DiscountPolicy;
 import hello.core.discount.FixDiscountPolicy;
 import hello.core.discount.RateDiscountPolicy;
+import hello.core.discount.ReloadableDiscountPolicy;
+import hello.core.item.CatalogItemRepository;
+import hello.core.item.ItemRepository;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.MemberRepository;
 import hello.core.member.MemberService;
 import hello.core.member.MemberServiceImpl;
 import hello.core.member.MemoryMemberRepository;
+import hello.core.metrics.InstrumentedProxy;
+import hello.core.metrics.MeterRegistry;
 import hello.core.order.OrderService;
 import hello.core.order.OrderServiceImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.nio.file.Path;
+import java.util.Map;
 
 /**
  * 이 어플리케이션 전체를 설정하고 구성하는 역할
@@ -50,8 +62,11 @@ import org.springframework.context.annotation.Configuration;
  * @Configuration
  * 애플리케이션의 설정 정보
  * 
+ * @GenerateBeanFactory
+ * 빌드할 때 AppConfigBeanFactory 가 생성됨 (스프링 컨테이너 없이 같은 싱글톤 보장, 짧게 돌고 끝나는 배치 작업용)
  */
 @Configuration 
+@GenerateBeanFactory
 public class AppConfig {
 
     /**
@@ -75,7 +90,8 @@ public class AppConfig {
     @Bean /* 스프링 컨테이너에 등록 */
     public MemberService memberService() {
         System.out.println("call AppConfig.memberService");
-        return new MemberServiceImpl(memberRepository());
+        MemberRepository memberRepository = instrument(MemberRepository.class, memberRepository(), "memberRepository");
+        return instrument(MemberService.class, new MemberServiceImpl(memberRepository), "memberService");
         // MemoryMemberRepository 를 사용하는 (주입한) MemberServiceImpl 객체를 반환할거야
         // memberRepository 를 사용하는 MemberServiceImpl 객체를 반환할거야
     }
@@ -83,23 +99,79 @@ public class AppConfig {
     @Bean
     public OrderService orderService() {
         System.out.println("call AppConfig.orderService");
-        return new OrderServiceImpl(memberRepository(), discountPolicy());
+        MemberRepository memberRepository = instrument(MemberRepository.class, memberRepository(), "memberRepository");
+        DiscountPolicy discountPolicy = instrument(DiscountPolicy.class, discountPolicy(), "discountPolicy");
+        ItemRepository itemRepository = instrument(ItemRepository.class, itemRepository(), "itemRepository");
+        return instrument(OrderService.class, new OrderServiceImpl(memberRepository, discountPolicy, itemRepository), "orderService");
     }
 
     /**
      * 역할에 따른 구현
      * 메소드명과 RETURN 타입을 보면 역할을 확인할 수 있음
+     *
+     * -Dmember.snapshot=스냅샷 경로 를 주면 시작할 때 스냅샷을 읽어 들인 ConcurrentMemberRepository 를 씀
+     * (스냅샷은 ConcurrentMemberRepository.snapshot 으로 만듦)
      */
     @Bean
-    public MemoryMemberRepository memberRepository() {
+    public MemberRepository memberRepository() {
         System.out.println("call AppConfig.memberRepository");
-        return new MemoryMemberRepository(); // 나중에 DB 로 바뀌게 되면, 여기만 바꾸면 됨
+        String snapshot = System.getProperty("member.snapshot");
+        if (snapshot != null) {
+            return ConcurrentMemberRepository.loadSnapshot(Path.of(snapshot));
+        }
+        // return new ConcurrentMemberRepository(); // 여러 스레드에서 동시에 가입/주문이 들어오면 이걸로 바꾸면 됨 (저장소가 static 이 아니므로 스프링 컨테이너로 꺼내서 써야 함)
+        // 나중에 DB 로 바뀌게 되면, 여기만 바꾸면 됨
+        // DB 처럼 느린 저장소로 바뀌면 new CachingMemberRepository(DB 저장소, 최대 회원 수) 로 감싸면 됨
+        // 캐시는 이 빈 하나만 (서비스마다 따로 감싸면 한쪽에서 save 한 회원을 다른 쪽 캐시가 모름)
+        // 메모리 저장소는 감싸도 이득이 없으므로 그대로 씀
+        return new MemoryMemberRepository();
+    }
+
+    /**
+     * 상품 카탈로그 (-Ditem.catalog=상품 CSV 경로, 없으면 예제 상품)
+     * 불러올 때 상품 ID 가 붙고 그 뒤로는 바뀌지 않음
+     */
+    @Bean
+    public ItemRepository itemRepository() {
+        String catalog = System.getProperty("item.catalog");
+        if (catalog != null) {
+            return CatalogItemRepository.load(Path.of(catalog));
+        }
+        return CatalogItemRepository.of(Map.of("itemA", 10_000, "itemB", 20_000));
     }
 
+    /**
+     * 실행 중에 정책을 바꾸려면 ReloadableDiscountPolicy.publish 를 호출하거나
+     * new DiscountRuleFileWatcher(규칙 파일 경로, reloadableDiscountPolicy) 로 규칙 파일을 감시하면 됨 (재시작 필요 없음)
+     */
     @Bean
     public DiscountPolicy discountPolicy() {
-        // return new FixDiscountPolicy(); // 나중에 할인 정책이 바뀌게 되면, 여기만 바꾸면 됨
-        return new RateDiscountPolicy();
+        // return new ReloadableDiscountPolicy(new FixDiscountPolicy()); // 나중에 할인 정책이 바뀌게 되면, 여기만 바꾸면 됨
+        return new ReloadableDiscountPolicy(new RateDiscountPolicy());
+    }
+
+    /**
+     * 호출 횟수, 오류 횟수, 지연 시간 분포 (-Dmetrics.enabled=true 일 때만 기록됨)
+     * meterRegistry.scrape() / toJson() 으로 꺼내거나 dumpEvery 로 주기적으로 출력
+     * 꺼져 있으면 쓰이지 않으므로 @Lazy (처음 꺼낼 때 만들어짐)
+     */
+    @Bean
+    @Lazy
+    public MeterRegistry meterRegistry() {
+        return new MeterRegistry();
+    }
+
+    /**
+     * -Dmetrics.enabled=true 이면 메소드마다 시간을 재는 프록시로 감싸고, 아니면 그대로 반환 (비용 없음)
+     *
+     * 저장소, 할인 정책은 빈 자체가 아니라 주입하는 곳에서 감쌈
+     * -> 빈은 원래 타입 그대로라서 CachingMemberRepository 통계, ReloadableDiscountPolicy.publish 등을 그대로 쓸 수 있음
+     * 서비스는 빈 자체를 감싸므로, 켜져 있으면 MemberServiceImpl 같은 구현 타입으로는 조회할 수 없음
+     */
+    private <T> T instrument(Class<T> type, T target, String name) {
+        return METRICS_ENABLED ? InstrumentedProxy.wrap(type, target, meterRegistry(), name) : target;
     }
 
+    private static final boolean METRICS_ENABLED = Boolean.getBoolean("metrics.enabled");
+
 }
@@ -16,6 +16,9 @@ public class OrderApp {
 //        MemberService memberService = appConfig.memberService();
 //        OrderService orderService = appConfig.orderService();
 
+//        AppConfigBeanFactory beanFactory = new AppConfigBeanFactory(); // 빌드할 때 생성된 빈 팩토리 (스프링 컨테이너 없이 싱글톤 보장, 시작이 훨씬 빠름)
+//        OrderService orderService = beanFactory.getBean("orderService", OrderService.class);
+
         ApplicationContext applicationContext = new AnnotationConfigApplicationContext(AppConfig.class);
         MemberService memberService = applicationContext.getBean("memberService", MemberService.class);
         OrderService orderService = applicationContext.getBean("orderService", OrderService.class);
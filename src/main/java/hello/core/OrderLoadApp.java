@@ -0,0 +1,105 @@
+package hello.core;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.order.Order;
+import hello.core.order.OrderProcessor;
+import hello.core.order.OrderRequest;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * OrderProcessor 부하 테스트 (로컬)
+ *
+ * 회원 조회에 latencyMillis 만큼 걸리는 저장소 (원격 DB 라고 가정) 를 두고
+ * 주문 requests 건을 한꺼번에 밀어 넣어서 가상 스레드 vs 고정 크기 플랫폼 스레드 풀의 처리량과 지연 시간 (p50, p99) 비교
+ *
+ * ex) java hello.core.OrderLoadApp 20000 10 200
+ *     -> 주문 20000 건, 회원 조회 10ms, 플랫폼 스레드 200 개
+ */
+public class OrderLoadApp {
+
+    private static final int MEMBER_COUNT = 1_000;
+
+    public static void main(String[] args) {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 10;
+        int platformThreads = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        OrderService orderService = new OrderServiceImpl(slowRepository(latencyMillis), new RateDiscountPolicy());
+
+        // JIT 워밍업
+        run("warmup", OrderProcessor.virtualThreads(orderService, requests, 1, TimeUnit.MINUTES), 2_000);
+
+        run("virtual threads", OrderProcessor.virtualThreads(orderService, requests, 1, TimeUnit.MINUTES), requests);
+        run("platform threads (" + platformThreads + ")",
+                OrderProcessor.platformThreads(orderService, platformThreads, requests, 1, TimeUnit.MINUTES), requests);
+    }
+
+    private static void run(String name, OrderProcessor processor, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+
+        long start = System.nanoTime();
+        try (processor) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                long submitted = System.nanoTime();
+                OrderRequest request = new OrderRequest((long) (i % MEMBER_COUNT), "item" + (i % 10), 10_000 + i % 10_000);
+                futures[i] = processor.submit(request).whenComplete((Order order, Throwable e) -> {
+                    latencies[index] = System.nanoTime() - submitted;
+                    if (e != null) {
+                        failed.incrementAndGet();
+                    }
+                });
+            }
+            CompletableFuture.allOf(futures).exceptionally(e -> null).join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-26s %,8d orders  %,10.0f orders/s  p50 %7.1f ms  p99 %7.1f ms  failed %d%n",
+                name, requests, requests * 1e9 / elapsed,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6, failed.get());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static MemberRepository slowRepository(long latencyMillis) {
+        ConcurrentMemberRepository members = new ConcurrentMemberRepository();
+        for (long id = 0; id < MEMBER_COUNT; id++) {
+            members.save(new Member(id, "member" + id, id % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        long latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        return new MemberRepository() {
+            @Override
+            public void save(Member member) {
+                members.save(member);
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                LockSupport.parkNanos(latencyNanos); // 원격 저장소 왕복 시간 흉내
+                return members.findById(memberId);
+            }
+
+            @Override
+            public void forEach(Consumer<? super Member> action) {
+                members.forEach(action);
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package hello.core;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import hello.core.metrics.MeterRegistry;
+import hello.core.order.JournaledOrderService;
+import hello.core.order.Order;
+import hello.core.order.OrderJournal;
+import hello.core.order.OrderProcessor;
+import hello.core.order.OrderRequest;
+import hello.core.order.OrderService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderApp 처럼 주문 1건 만들고 끝나는 것이 아니라, 계속 떠 있으면서 주문을 받는 애플리케이션
+ *
+ * localhost 소켓으로 한 줄에 주문 1건씩 받음 : "memberId itemName itemPrice"
+ * 응답도 한 줄 : 주문 결과 (Order) 또는 "REJECTED ..." / "ERROR ..."
+ * 연결마다, 주문마다 가상 스레드 하나씩 사용함
+ *
+ * ex) java hello.core.OrderProcessorApp 9090 10000
+ *     echo "1 itemA 10000" | nc localhost 9090
+ * -Dmetrics.enabled=true 로 실행하면 10 초마다 메소드별 호출 횟수, 지연 시간을 출력함
+ * -Dorder.journal=orders.journal 로 실행하면 주문을 저널에 기록한 뒤에 응답함 (시작할 때 지난 주문을 다시 읽음)
+ */
+public class OrderProcessorApp {
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9090;
+        int maxInFlight = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        ApplicationContext applicationContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        MemberService memberService = applicationContext.getBean("memberService", MemberService.class);
+        OrderService orderService = applicationContext.getBean("orderService", OrderService.class);
+        String journalFile = System.getProperty("order.journal");
+        if (journalFile != null) {
+            OrderJournal journal = new OrderJournal(Path.of(journalFile), 1024, 1, TimeUnit.MILLISECONDS);
+            long[] revenue = new long[1];
+            long replayed = journal.replay(order -> revenue[0] += order.calculatePrice());
+            System.out.println("replayed " + replayed + " orders from " + journalFile + " (revenue " + revenue[0] + ")");
+            orderService = new JournaledOrderService(orderService, journal);
+        }
+        memberService.join(new Member(1L, "memberA", Grade.VIP));
+        memberService.join(new Member(2L, "memberB", Grade.BASIC));
+        if (Boolean.getBoolean("metrics.enabled")) {
+            applicationContext.getBean(MeterRegistry.class).dumpEvery(10, TimeUnit.SECONDS, System.out);
+        }
+
+        try (OrderProcessor processor = OrderProcessor.virtualThreads(orderService, maxInFlight, 100, TimeUnit.MILLISECONDS);
+             ServerSocket serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+            System.out.println("order processor listening on " + serverSocket.getLocalSocketAddress());
+            while (true) {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> serve(socket, processor));
+            }
+        }
+    }
+
+    private static void serve(Socket socket, OrderProcessor processor) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                out.println(handle(line, processor));
+            }
+        } catch (IOException e) {
+            // 연결이 끊어짐
+        }
+    }
+
+    private static String handle(String line, OrderProcessor processor) {
+        String[] tokens = line.trim().split("\\s+");
+        if (tokens.length != 3) {
+            return "ERROR expected: memberId itemName itemPrice";
+        }
+        try {
+            OrderRequest request = new OrderRequest(Long.parseLong(tokens[0]), tokens[1], Integer.parseInt(tokens[2]));
+            Order order = processor.submit(request).join();
+            return order.toString();
+        } catch (NumberFormatException e) {
+            return "ERROR " + e.getMessage();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            return (cause instanceof RejectedExecutionException ? "REJECTED " : "ERROR ") + cause.getMessage();
+        }
+    }
+}
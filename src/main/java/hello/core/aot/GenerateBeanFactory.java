@@ -0,0 +1,18 @@
+package hello.core.aot;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 빌드할 때 이 설정 클래스 (@Configuration) 로부터 XxxBeanFactory 를 생성하라는 표시
+ *
+ * 생성은 src/processor 의 BeanFactoryProcessor (어노테이션 프로세서) 가 compileJava 중에 함
+ * 생성된 클래스는 설정 클래스를 상속해서 @Bean 메소드를 한 번만 호출되도록 재정의함
+ * -> 스프링 컨테이너가 실행 시점에 CGLIB 으로 하는 일을 빌드 시점에 미리 해둔 것
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateBeanFactory {
+}
@@ -0,0 +1,63 @@
+package hello.core.aot;
+
+import org.springframework.beans.factory.BeanNotOfRequiredTypeException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @GenerateBeanFactory 로 생성된 빈 팩토리 (스프링 컨테이너 없이, 리플렉션 없이 빈을 꺼냄)
+ *
+ * 빈은 처음 꺼낼 때 만들어지고, 이후에는 항상 같은 객체를 반환함 (싱글톤)
+ * 조회 실패 시 예외는 스프링 컨테이너와 같은 것을 씀 (NoSuchBeanDefinitionException 등)
+ */
+public interface GeneratedBeanFactory {
+
+    /**
+     * @return 설정 클래스에 선언된 순서대로 빈 이름
+     */
+    String[] getBeanDefinitionNames();
+
+    /**
+     * @return @Bean 메소드에 선언된 반환 타입
+     */
+    Class<?> getType(String name);
+
+    Object getBean(String name);
+
+    /**
+     * @return 이 빈을 만들 때 호출하는 다른 빈의 이름 (@Bean 메소드 본문에서 찾은 것)
+     */
+    String[] getDependencies(String name);
+
+    /**
+     * @return @Lazy 가 붙은 빈이면 true (처음 getBean 할 때 만들어짐)
+     */
+    boolean isLazy(String name);
+
+    default <T> T getBean(String name, Class<T> requiredType) {
+        Object bean = getBean(name);
+        if (!requiredType.isInstance(bean)) {
+            throw new BeanNotOfRequiredTypeException(name, requiredType, bean.getClass());
+        }
+        return requiredType.cast(bean);
+    }
+
+    default <T> T getBean(Class<T> requiredType) {
+        List<String> candidates = new ArrayList<>();
+        for (String name : getBeanDefinitionNames()) {
+            if (requiredType.isAssignableFrom(getType(name))) {
+                candidates.add(name);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new NoSuchBeanDefinitionException(requiredType);
+        }
+        if (candidates.size() > 1) {
+            throw new NoUniqueBeanDefinitionException(requiredType, candidates);
+        }
+        return getBean(candidates.get(0), requiredType);
+    }
+}
@@ -0,0 +1,109 @@
+package hello.core.aot;
+
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 생성된 빈 팩토리 (GeneratedBeanFactory) 의 빈을 의존 그래프를 따라 병렬로 미리 만들어 둠
+ *
+ * - 서로 의존하지 않는 빈은 fork-join 풀에서 동시에 만들어짐
+ * - 빈은 자기가 의존하는 빈이 모두 만들어진 다음에 만들어짐 (그래서 빈을 만드는 동안 다른 빈을 기다리지 않음)
+ * - @Lazy 빈은 미리 만들지 않음 (다른 빈이 의존하더라도 기다리지 않음)
+ *   -> 실제로 호출될 때 (처음 getBean 하거나, 의존하는 빈을 만드는 도중에 호출될 때) 만들어짐
+ *
+ * 빈마다 언제 시작해서 얼마나 걸렸는지 StartupTimeline 으로 돌려줌 (가장 오래 걸린 의존 경로 = critical path 포함)
+ *
+ * ex) StartupTimeline timeline = ParallelBeanInitializer.initialize(new AppConfigBeanFactory());
+ *     System.out.println(timeline);
+ */
+public class ParallelBeanInitializer {
+
+    private final GeneratedBeanFactory beanFactory;
+    private final ForkJoinPool pool;
+    private final Map<String, CompletableFuture<Void>> tasks = new HashMap<>();
+    private final ConcurrentLinkedQueue<StartupTimeline.Step> steps = new ConcurrentLinkedQueue<>();
+    private long startNanos;
+
+    private ParallelBeanInitializer(GeneratedBeanFactory beanFactory, ForkJoinPool pool) {
+        this.beanFactory = beanFactory;
+        this.pool = pool;
+    }
+
+    public static StartupTimeline initialize(GeneratedBeanFactory beanFactory) {
+        return initialize(beanFactory, ForkJoinPool.commonPool());
+    }
+
+    public static StartupTimeline initialize(GeneratedBeanFactory beanFactory, ForkJoinPool pool) {
+        return new ParallelBeanInitializer(beanFactory, pool).run();
+    }
+
+    private StartupTimeline run() {
+        startNanos = System.nanoTime();
+        List<CompletableFuture<Void>> eager = new ArrayList<>();
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            if (!beanFactory.isLazy(name)) {
+                eager.add(schedule(name, new HashSet<>()));
+            }
+        }
+        try {
+            CompletableFuture.allOf(eager.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        Set<String> lazy = new HashSet<>();
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            if (beanFactory.isLazy(name)) {
+                lazy.add(name);
+            }
+        }
+        return new StartupTimeline(new ArrayList<>(steps), System.nanoTime() - startNanos, lazy);
+    }
+
+    /**
+     * 의존하는 빈의 작업이 모두 끝나면 이 빈을 만드는 작업 (같은 빈은 한 번만 예약함)
+     */
+    private CompletableFuture<Void> schedule(String name, Set<String> path) {
+        CompletableFuture<Void> task = tasks.get(name);
+        if (task != null) {
+            return task;
+        }
+        if (!path.add(name)) {
+            throw new BeanCurrentlyInCreationException(name, "circular dependency: " + path);
+        }
+        String[] dependencies = beanFactory.getDependencies(name);
+        List<CompletableFuture<Void>> before = new ArrayList<>(dependencies.length);
+        for (String dependency : dependencies) {
+            if (!beanFactory.isLazy(dependency)) {
+                before.add(schedule(dependency, path));
+            }
+        }
+        path.remove(name);
+
+        task = CompletableFuture.allOf(before.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(() -> create(name, dependencies), pool);
+        tasks.put(name, task);
+        return task;
+    }
+
+    private void create(String name, String[] dependencies) {
+        long start = System.nanoTime();
+        beanFactory.getBean(name);
+        long end = System.nanoTime();
+        steps.add(new StartupTimeline.Step(name, dependencies, start - startNanos, end - startNanos,
+                Thread.currentThread().getName()));
+    }
+}
@@ -0,0 +1,156 @@
+package hello.core.aot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * ParallelBeanInitializer 가 빈을 만든 기록
+ *
+ * critical path : 마지막에 끝난 빈에서부터, 가장 늦게 끝난 의존 빈을 거꾸로 따라간 경로
+ * -> 이 경로에 있는 빈을 빠르게 만들어야 전체 시작 시간이 줄어듦 (나머지 빈은 병렬로 만들어지는 동안 가려짐)
+ */
+public class StartupTimeline {
+
+    private final List<Step> steps;
+    private final long totalNanos;
+    private final Set<String> lazyBeans;
+
+    StartupTimeline(List<Step> steps, long totalNanos, Set<String> lazyBeans) {
+        List<Step> sorted = new ArrayList<>(steps);
+        sorted.sort(Comparator.comparingLong(Step::getStartNanos));
+        this.steps = Collections.unmodifiableList(sorted);
+        this.totalNanos = totalNanos;
+        this.lazyBeans = Collections.unmodifiableSet(new TreeSet<>(lazyBeans));
+    }
+
+    /**
+     * @return 시작한 순서대로 빈마다 기록
+     */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return 미리 만들지 않은 (@Lazy) 빈 이름
+     */
+    public Set<String> getLazyBeans() {
+        return lazyBeans;
+    }
+
+    /**
+     * @return 먼저 만들어진 빈부터 critical path 에 있는 빈
+     */
+    public List<Step> getCriticalPath() {
+        Map<String, Step> byName = new HashMap<>();
+        Step last = null;
+        for (Step step : steps) {
+            byName.put(step.getName(), step);
+            if (last == null || step.getEndNanos() > last.getEndNanos()) {
+                last = step;
+            }
+        }
+        List<Step> path = new ArrayList<>();
+        for (Step step = last; step != null; ) {
+            path.add(step);
+            Step latest = null;
+            for (String dependency : step.getDependencies()) {
+                Step candidate = byName.get(dependency);
+                if (candidate != null && (latest == null || candidate.getEndNanos() > latest.getEndNanos())) {
+                    latest = candidate;
+                }
+            }
+            step = latest;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * ex)
+     * bean              start     took  thread
+     * memberRepository  0.1ms   12.3ms  ForkJoinPool.commonPool-worker-1 *
+     * discountPolicy    0.1ms    3.2ms  ForkJoinPool.commonPool-worker-2
+     * orderService     12.5ms    0.4ms  ForkJoinPool.commonPool-worker-1 *
+     * total 13.0ms, critical path (*) : memberRepository -> orderService
+     */
+    @Override
+    public String toString() {
+        List<Step> criticalPath = getCriticalPath();
+        int width = "bean".length();
+        for (Step step : steps) {
+            width = Math.max(width, step.getName().length());
+        }
+        String row = "%-" + width + "s %8s %8s  %s%s%n";
+        StringBuilder text = new StringBuilder(String.format(row, "bean", "start", "took", "thread", ""));
+        for (Step step : steps) {
+            text.append(String.format(row, step.getName(), millis(step.getStartNanos()), millis(step.getDurationNanos()),
+                    step.getThread(), criticalPath.contains(step) ? " *" : ""));
+        }
+        text.append("total ").append(millis(totalNanos)).append(", critical path (*) : ");
+        for (int i = 0; i < criticalPath.size(); i++) {
+            text.append(i == 0 ? "" : " -> ").append(criticalPath.get(i).getName());
+        }
+        if (!lazyBeans.isEmpty()) {
+            text.append(", lazy : ").append(lazyBeans);
+        }
+        return text.append('\n').toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * 빈 하나를 만든 기록 (시간은 초기화를 시작한 시점 기준)
+     */
+    public static class Step {
+
+        private final String name;
+        private final String[] dependencies;
+        private final long startNanos;
+        private final long endNanos;
+        private final String thread;
+
+        Step(String name, String[] dependencies, long startNanos, long endNanos, String thread) {
+            this.name = name;
+            this.dependencies = dependencies;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.thread = thread;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String[] getDependencies() {
+            return dependencies.clone();
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        public long getDurationNanos() {
+            return endNanos - startNanos;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+    }
+}
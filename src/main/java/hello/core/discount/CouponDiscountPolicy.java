@@ -0,0 +1,67 @@
+package hello.core.discount;
+
+import hello.core.item.Item;
+import hello.core.member.Member;
+
+import java.util.Map;
+
+/**
+ * 원래 정책의 할인에 쿠폰 할인을 더하는 정책
+ *
+ * 쿠폰 코드는 파라미터로 받지 않고 PricingContext.current() 에서 꺼냄 (요청마다 다름)
+ * -> 싱글톤 빈 하나를 모든 요청이 같이 써도 필드에 요청 값을 넣지 않으므로 StatefulService 같은 문제가 없음
+ * 할인 금액의 합은 가격을 넘지 않음, 모르는 쿠폰은 할인 없음
+ *
+ * 요청마다 할인이 달라지므로 MemoizingDiscountPolicy 로 감싸면 안 됨 (원래 정책 쪽을 감싸는 건 괜찮음)
+ */
+public class CouponDiscountPolicy implements DiscountPolicy {
+
+    private final DiscountPolicy delegate;
+    private final Map<String, Integer> coupons; // 쿠폰 코드 -> 할인 금액
+
+    public CouponDiscountPolicy(DiscountPolicy delegate, Map<String, Integer> coupons) {
+        this.delegate = delegate;
+        this.coupons = Map.copyOf(coupons);
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        return withCoupon(delegate.discount(member, price), price);
+    }
+
+    @Override
+    public int discount(Member member, String itemName, int price) {
+        return withCoupon(delegate.discount(member, itemName, price), price);
+    }
+
+    @Override
+    public int discountItem(Member member, Item item, int price) {
+        return withCoupon(delegate.discountItem(member, item, price), price);
+    }
+
+    /**
+     * 원래 정책이 교체되는 정책이면 지금 버전에 고정한 쿠폰 정책을 새로 만듦
+     */
+    @Override
+    public DiscountPolicy current() {
+        DiscountPolicy current = delegate.current();
+        return current == delegate ? this : new CouponDiscountPolicy(current, coupons);
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    private int withCoupon(int discount, int price) {
+        String coupon = PricingContext.current().getCoupon();
+        if (coupon == null) {
+            return discount;
+        }
+        Integer amount = coupons.get(coupon);
+        if (amount == null) {
+            return discount;
+        }
+        return Math.max(discount, Math.min(price, discount + amount));
+    }
+}
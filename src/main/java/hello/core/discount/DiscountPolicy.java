@@ -1,5 +1,6 @@
 package hello.core.discount;
 
+import hello.core.item.Item;
 import hello.core.member.Member;
 
 public interface DiscountPolicy {
@@ -8,4 +9,38 @@ public interface DiscountPolicy {
      * @return 할인 대상 금액
      */
     int discount(Member member, int price);
+
+    /**
+     * 상품별로 할인이 달라지는 정책은 이 메소드를 재정의함
+     *
+     * @return 할인 대상 금액
+     */
+    default int discount(Member member, String itemName, int price) {
+        return discount(member, price);
+    }
+
+    /**
+     * 카탈로그 상품으로 할인 (상품 ID 로 바로 찾을 수 있는 정책은 이 메소드를 재정의해서 상품 이름을 해싱하지 않음)
+     * 기본 구현은 상품 이름으로 계산함
+     *
+     * @return 할인 대상 금액
+     */
+    default int discountItem(Member member, Item item, int price) {
+        return discount(member, item.getName(), price);
+    }
+
+    /**
+     * 실행 중에 교체될 수 있는 정책은 지금 이 순간의 버전을 반환함
+     * 주문 하나를 계산하는 동안 정책이 바뀌어도 같은 버전으로 끝까지 계산하려면 이걸 꺼내서 씀
+     */
+    default DiscountPolicy current() {
+        return this;
+    }
+
+    /**
+     * @return 정책 버전 (교체되지 않는 정책은 0)
+     */
+    default long version() {
+        return 0L;
+    }
 }
@@ -0,0 +1,86 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+
+/**
+ * 할인 규칙 1개 : (등급 x 가격대 x 상품) 에 해당하면 정률 + 정액 할인
+ * grade, itemName 이 null 이면 모든 등급 / 모든 상품에 해당함
+ */
+public class DiscountRule {
+
+    public static final int NO_MAX_PRICE = Integer.MAX_VALUE;
+
+    /**
+     * @param minPrice 가격대 시작 (포함)
+     * @param maxPrice 가격대 끝 (미포함), 끝이 없으면 NO_MAX_PRICE
+     */
+    public DiscountRule(Grade grade, int minPrice, int maxPrice, String itemName, int discountPercent, int discountFixAmount) {
+        if (minPrice < 0 || maxPrice <= minPrice) {
+            throw new IllegalArgumentException("invalid price band: " + minPrice + "-" + maxPrice);
+        }
+        this.grade = grade;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.itemName = itemName;
+        this.discountPercent = discountPercent;
+        this.discountFixAmount = discountFixAmount;
+    }
+
+    public static DiscountRule rate(Grade grade, int discountPercent) {
+        return new DiscountRule(grade, 0, NO_MAX_PRICE, null, discountPercent, 0);
+    }
+
+    public static DiscountRule fix(Grade grade, int discountFixAmount) {
+        return new DiscountRule(grade, 0, NO_MAX_PRICE, null, 0, discountFixAmount);
+    }
+
+    public Grade getGrade() {
+        return grade;
+    }
+
+    public int getMinPrice() {
+        return minPrice;
+    }
+
+    public int getMaxPrice() {
+        return maxPrice;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public int getDiscountFixAmount() {
+        return discountFixAmount;
+    }
+
+    /**
+     * 상품을 지정한 규칙이 등급만 지정한 규칙보다 우선함
+     */
+    int specificity() {
+        return (itemName != null ? 2 : 0) + (grade != null ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "DiscountRule{" +
+                "grade=" + grade +
+                ", minPrice=" + minPrice +
+                ", maxPrice=" + maxPrice +
+                ", itemName='" + itemName + '\'' +
+                ", discountPercent=" + discountPercent +
+                ", discountFixAmount=" + discountFixAmount +
+                '}';
+    }
+
+    private final Grade grade;
+    private final int minPrice;
+    private final int maxPrice;
+    private final String itemName;
+    private final int discountPercent;
+    private final int discountFixAmount;
+}
@@ -0,0 +1,163 @@
+package hello.core.discount;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * 할인 규칙 파일 (DiscountRules 형식) 이 바뀌면 다시 컴파일해서 ReloadableDiscountPolicy 에 새 버전으로 올림
+ *
+ * 감시는 데몬 스레드 하나가 WatchService 로 함
+ * 파일을 그 자리에서 덮어쓰면 먼저 빈 파일이 되고 (truncate) 그 다음에 내용이 써지므로, 쓰는 도중의 파일을 읽지 않도록
+ * - 변경 이벤트가 오면 파일 크기와 수정 시각이 quietMillis 동안 그대로일 때까지 기다렸다가 읽음 (debounce)
+ * - 그래도 빈 파일을 읽었으면 (규칙 0 개) 올리지 않음 -> 할인을 모두 없애려면 "* 0-* * rate 0%" 처럼 규칙을 써야 함
+ * 규칙 파일에 오류가 있거나 비어 있으면 지금 버전을 그대로 유지하고, 감시 스레드는 실패를 onFailure 로 알림
+ * 임시 파일에 다 쓴 뒤 이름을 바꿔서 교체하는 방법이 여전히 가장 안전함
+ */
+public class DiscountRuleFileWatcher implements AutoCloseable {
+
+    private final Path rulesFile;
+    private final ReloadableDiscountPolicy policy;
+    private final long quietMillis;
+    private final Consumer<? super RuntimeException> onFailure;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private volatile RuntimeException lastFailure;
+
+    public DiscountRuleFileWatcher(Path rulesFile, ReloadableDiscountPolicy policy) {
+        this(rulesFile, policy, 200, failure -> { });
+    }
+
+    /**
+     * @param quietMillis 파일이 이 시간 동안 바뀌지 않아야 다시 읽음
+     * @param onFailure 감시 스레드에서 다시 읽기에 실패했을 때 호출됨 (지금 버전은 그대로)
+     */
+    public DiscountRuleFileWatcher(Path rulesFile, ReloadableDiscountPolicy policy, long quietMillis,
+                                   Consumer<? super RuntimeException> onFailure) {
+        this.rulesFile = rulesFile.toAbsolutePath();
+        this.policy = policy;
+        this.quietMillis = quietMillis;
+        this.onFailure = onFailure;
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.rulesFile.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (Files.exists(this.rulesFile)) {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                // 생성자가 실패하면 close() 를 부를 수 없으므로 여기서 닫음
+                try {
+                    watchService.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        }
+        this.thread = new Thread(this::watch, "discount-rule-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 규칙 파일을 지금 바로 다시 읽어서 올림
+     *
+     * @return 새로 올라간 버전
+     * @throws IllegalArgumentException 규칙 파일에 오류가 있음 (지금 버전은 그대로)
+     * @throws IllegalStateException 규칙 파일이 비어 있음 (지금 버전은 그대로)
+     * @throws UncheckedIOException 규칙 파일을 읽을 수 없음 (지금 버전은 그대로)
+     */
+    public long reload() {
+        List<DiscountRule> rules = DiscountRules.load(rulesFile);
+        if (rules.isEmpty()) {
+            throw new IllegalStateException("discount rules file has no rules (keep version " + policy.version() + "): " + rulesFile);
+        }
+        return policy.publish(RuleTableDiscountPolicy.compile(rules));
+    }
+
+    /**
+     * @return 감시 스레드에서 마지막으로 실패한 다시 읽기 (없으면 null)
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                if (changed(watchService.take())) {
+                    awaitQuiet();
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        lastFailure = e;
+                        onFailure.accept(e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close() 로 종료
+        }
+    }
+
+    private boolean changed(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (rulesFile.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    // quietMillis 동안 이벤트가 없고 크기, 수정 시각도 그대로일 때까지 기다림
+    private void awaitQuiet() throws InterruptedException {
+        while (true) {
+            long[] before = fileState();
+            WatchKey key = watchService.poll(quietMillis, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                changed(key);
+                continue;
+            }
+            if (Arrays.equals(before, fileState())) {
+                return;
+            }
+        }
+    }
+
+    private long[] fileState() {
+        try {
+            return new long[]{Files.size(rulesFile), Files.getLastModifiedTime(rulesFile).toMillis()};
+        } catch (IOException e) {
+            return new long[]{-1, -1}; // 이름을 바꾸는 중이라 잠깐 없을 수 있음
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        thread.interrupt();
+    }
+}
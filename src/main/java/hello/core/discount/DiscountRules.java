@@ -0,0 +1,87 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 할인 규칙 파일 읽기
+ *
+ * 한 줄에 규칙 1개, # 뒤는 주석, * 는 전체
+ * [등급] [최소가격]-[최대가격] [상품명] rate [정률]% | fix [정액]
+ *
+ * VIP   0-*          *      rate 10%
+ * VIP   50000-*      itemA  fix 5000
+ * BASIC 100000-*     *      rate 5%
+ */
+public class DiscountRules {
+
+    private DiscountRules() {
+    }
+
+    public static List<DiscountRule> load(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<DiscountRule> parse(Reader reader) throws IOException {
+        List<DiscountRule> rules = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                rules.add(parseRule(line.split("\\s+")));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid discount rule at line " + lineNumber + ": " + line, e);
+            }
+        }
+        return rules;
+    }
+
+    private static DiscountRule parseRule(String[] tokens) {
+        if (tokens.length != 5) {
+            throw new IllegalArgumentException("expected 5 columns but was " + tokens.length);
+        }
+        Grade grade = "*".equals(tokens[0]) ? null : Grade.valueOf(tokens[0]);
+
+        String[] band = tokens[1].split("-", 2);
+        if (band.length != 2) {
+            throw new IllegalArgumentException("price band must look like min-max: " + tokens[1]);
+        }
+        int minPrice = Integer.parseInt(band[0]);
+        int maxPrice = "*".equals(band[1]) ? DiscountRule.NO_MAX_PRICE : Integer.parseInt(band[1]);
+
+        String itemName = "*".equals(tokens[2]) ? null : tokens[2];
+
+        switch (tokens[3]) {
+            case "rate":
+                String percent = tokens[4].endsWith("%") ? tokens[4].substring(0, tokens[4].length() - 1) : tokens[4];
+                return new DiscountRule(grade, minPrice, maxPrice, itemName, Integer.parseInt(percent), 0);
+            case "fix":
+                return new DiscountRule(grade, minPrice, maxPrice, itemName, 0, Integer.parseInt(tokens[4]));
+            default:
+                throw new IllegalArgumentException("unknown discount type: " + tokens[3]);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 할인 정책 앞에 두는 계산 결과 캐시 (memoization)
+ *
+ * 실제 주문은 카탈로그 가격 몇 개가 같은 등급으로 계속 반복됨
+ * -> (정책 버전, 상품, 등급, 가격) 이 같으면 할인 금액도 같으므로 한 번 계산한 값을 표에 들고 있다가 꺼내 씀
+ *
+ * 표는 (상품, 등급) 마다 long 배열 하나 (direct-mapped, 크기 고정)
+ * - 칸 하나에 (가격, 할인 금액) 을 long 하나로 묶어서 저장 -> 락 없이 읽고 써도 반쯤 쓰인 값을 읽을 일이 없음
+ * - 같은 칸에 다른 가격이 들어오면 그냥 덮어씀 (표가 커지지 않음)
+ * - 상품 수가 maxItems 를 넘으면 넘친 상품은 캐시하지 않고 바로 계산함
+ *
+ * 정책 버전 (DiscountPolicy.version) 이 바뀌면 표를 통째로 새로 만듦 (ReloadableDiscountPolicy.publish 하면 자동으로 비워짐)
+ * 버전이 없는 정책을 다른 방법으로 바꿨다면 invalidate 를 호출해야 함
+ * 할인 금액이 (정책 버전, 상품, 등급, 가격) 외의 것 (ex. 회원 ID, 현재 시각, PricingContext 의 쿠폰) 에 따라 달라지는 정책에는 쓰면 안 됨
+ */
+public class MemoizingDiscountPolicy implements DiscountPolicy {
+
+    private static final Grade[] GRADES = Grade.values();
+    private static final int NO_GRADE = GRADES.length; // 등급이 없는 회원
+    private static final long EMPTY = 0L;              // ~가격 이 0 인 칸 = 가격 -1 은 캐시하지 않음
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle TABLE;
+
+    static {
+        try {
+            TABLE = MethodHandles.lookup().findVarHandle(MemoizingDiscountPolicy.class, "table", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final DiscountPolicy delegate;
+    private final int capacity;
+    private final int maxItems;
+
+    private volatile Table table;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    public MemoizingDiscountPolicy(DiscountPolicy delegate) {
+        this(delegate, 64, 4096);
+    }
+
+    /**
+     * 상품 하나가 차지하는 메모리 = (등급 수 + 1) x capacity x 8 byte
+     *
+     * @param capacity (상품, 등급) 마다 캐시할 가격 수 (2의 거듭제곱으로 올림)
+     * @param maxItems 캐시할 최대 상품 수
+     */
+    public MemoizingDiscountPolicy(DiscountPolicy delegate, int capacity, int maxItems) {
+        if (capacity <= 0 || maxItems < 0) {
+            throw new IllegalArgumentException("capacity: " + capacity + ", maxItems: " + maxItems);
+        }
+        this.delegate = delegate;
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(Math.min(capacity - 1, 1 << 29)) << 1;
+        this.maxItems = maxItems;
+        DiscountPolicy current = delegate.current();
+        this.table = new Table(current, current.version());
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        return current().discount(member, price);
+    }
+
+    @Override
+    public int discount(Member member, String itemName, int price) {
+        return current().discount(member, itemName, price);
+    }
+
+    /**
+     * 원래 정책의 지금 버전에 고정된 캐시
+     * 주문 하나를 계산하는 동안 정책이 바뀌어도 같은 버전의 표로 끝까지 계산됨
+     */
+    @Override
+    public DiscountPolicy current() {
+        Table current = table;
+        DiscountPolicy policy = delegate.current();
+        long version = policy.version();
+        if (version == current.version && current.policy == policy) {
+            return current;
+        }
+        if (version < current.version) {
+            return policy; // 표가 이미 더 새 버전으로 바뀜 -> 이전 버전을 들고 있던 호출은 캐시 없이 계산
+        }
+        Table next = new Table(policy, version);
+        Table witness = (Table) TABLE.compareAndExchange(this, current, next);
+        if (witness == current) {
+            invalidationCount.increment();
+            return next;
+        }
+        return witness.version == version && witness.policy == policy ? witness : policy;
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    /**
+     * 캐시를 비움 (버전이 없는 원래 정책의 내용을 바꿨을 때)
+     */
+    public void invalidate() {
+        DiscountPolicy policy = delegate.current();
+        table = new Table(policy, policy.version());
+        invalidationCount.increment();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+
+    /**
+     * @return 캐시 적중률 (조회가 없었으면 0)
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoizingDiscountPolicy{" +
+                "delegate=" + delegate +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", invalidationCount=" + getInvalidationCount() +
+                '}';
+    }
+
+    /**
+     * 정책 버전 하나의 캐시 표
+     */
+    private final class Table implements DiscountPolicy {
+        private final DiscountPolicy policy;
+        private final long version;
+        private final long[][] noItemSlots = new long[GRADES.length + 1][];         // [등급][칸]
+        private final ConcurrentHashMap<String, long[][]> itemSlots = new ConcurrentHashMap<>();
+
+        Table(DiscountPolicy policy, long version) {
+            this.policy = policy;
+            this.version = version;
+            for (int grade = 0; grade < noItemSlots.length; grade++) {
+                noItemSlots[grade] = new long[capacity];
+            }
+        }
+
+        @Override
+        public int discount(Member member, int price) {
+            long[] slots = noItemSlots[gradeIndex(member)];
+            int index = index(price);
+            long slot = (long) SLOTS.getOpaque(slots, index);
+            if (slot != EMPTY && (int) ~(slot >>> 32) == price) {
+                hitCount.increment();
+                return (int) slot;
+            }
+            int discount = policy.discount(member, price);
+            store(slots, index, price, discount);
+            return discount;
+        }
+
+        @Override
+        public int discount(Member member, String itemName, int price) {
+            long[][] slotsByGrade = itemName == null ? noItemSlots : slotsOf(itemName);
+            if (slotsByGrade == null) {
+                missCount.increment();
+                return policy.discount(member, itemName, price);
+            }
+            long[] slots = slotsByGrade[gradeIndex(member)];
+            int index = index(price);
+            long slot = (long) SLOTS.getOpaque(slots, index);
+            if (slot != EMPTY && (int) ~(slot >>> 32) == price) {
+                hitCount.increment();
+                return (int) slot;
+            }
+            int discount = policy.discount(member, itemName, price);
+            store(slots, index, price, discount);
+            return discount;
+        }
+
+        @Override
+        public long version() {
+            return version;
+        }
+
+        // 상품 수가 maxItems 를 넘으면 null (캐시하지 않음)
+        private long[][] slotsOf(String itemName) {
+            long[][] slots = itemSlots.get(itemName);
+            if (slots != null || itemSlots.size() >= maxItems) {
+                return slots;
+            }
+            return itemSlots.computeIfAbsent(itemName, name -> {
+                long[][] created = new long[GRADES.length + 1][];
+                for (int grade = 0; grade < created.length; grade++) {
+                    created[grade] = new long[capacity];
+                }
+                return created;
+            });
+        }
+
+        private void store(long[] slots, int index, int price, int discount) {
+            missCount.increment();
+            if (price != -1) {
+                SLOTS.setOpaque(slots, index, (long) ~price << 32 | (discount & 0xFFFFFFFFL));
+            }
+        }
+
+        private int index(int price) {
+            int hash = price * 0x9E3779B9; // 피보나치 해싱 : 1,000 원 단위 가격도 고르게 흩어짐
+            return (hash ^ hash >>> 16) & (capacity - 1);
+        }
+    }
+
+    private static int gradeIndex(Member member) {
+        Grade grade = member.getGrade();
+        return grade == null ? NO_GRADE : grade.ordinal();
+    }
+}
@@ -0,0 +1,94 @@
+package hello.core.discount;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 요청 1건 동안만 보이는 가격 계산 정보 (통화, 캠페인, 쿠폰)
+ *
+ * StatefulService 처럼 싱글톤 빈의 필드에 요청마다 값을 넣으면 다른 요청이 덮어씀
+ * 그렇다고 createOrder -> discount 까지 파라미터로 계속 넘기면 DiscountPolicy 의 모든 메소드 모양을 바꿔야 함
+ * -> run / call (context, 할 일) 로 묶은 동안만 PricingContext.current() 로 꺼내 쓸 수 있게 함
+ *
+ * - 묶은 범위를 벗어나면 (예외가 나도) 바로 이전 값으로 되돌림, 바깥 범위가 없으면 null 로 되돌림
+ *   -> 스레드 풀 스레드에 다음 요청의 context 가 남지 않음 (가상 스레드는 끝나면 ThreadLocal 도 같이 사라짐)
+ *   -> remove 하지 않고 null 로 두므로 스레드마다 ThreadLocal 항목은 처음 한 번만 만들어짐 (이후 묶을 때 할당 없음)
+ * - 스레드마다 따로 보이고 락이 없음 (가상 스레드도 스레드마다 따로)
+ * - 다른 스레드로 넘어가는 작업 (CompletableFuture, executor) 은 넘기기 전에 current() 를 꺼내서 그쪽에서 다시 묶어야 함
+ *   (AsyncOrderServiceImpl, OrderProcessor, OrderPipeline 이 이렇게 함)
+ * - 묶지 않았으면 current() 는 NONE
+ *
+ * ScopedValue (JEP 446) 의 where(...).run / call 과 같은 모양 (Java 21 에서는 preview 라서 ThreadLocal 로 구현함)
+ * 값을 바꾸는 set 이 없고 run / call 로만 묶으므로 ThreadLocal 을 직접 쓸 때처럼 remove 를 잊어서 남는 일이 없음
+ */
+public final class PricingContext {
+
+    public static final PricingContext NONE = new PricingContext("KRW", null, null);
+
+    private static final ThreadLocal<PricingContext> CURRENT = new ThreadLocal<>(); // 묶지 않았으면 null
+
+    private final String currency;
+    private final String campaign;
+    private final String coupon;
+
+    public PricingContext(String currency, String campaign, String coupon) {
+        this.currency = Objects.requireNonNull(currency, "currency");
+        this.campaign = campaign;
+        this.coupon = coupon;
+    }
+
+    /**
+     * 지금 스레드에 묶인 정보 (묶지 않았으면 NONE)
+     */
+    public static PricingContext current() {
+        PricingContext current = CURRENT.get();
+        return current == null ? NONE : current;
+    }
+
+    /**
+     * action 을 실행하는 동안만 context 를 묶음 (끝나면 이전 값으로 되돌림)
+     */
+    public static <T> T call(PricingContext context, Supplier<T> action) {
+        PricingContext previous = CURRENT.get();
+        CURRENT.set(Objects.requireNonNull(context, "context"));
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void run(PricingContext context, Runnable action) {
+        call(context, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return 캠페인 이름 (없으면 null)
+     */
+    public String getCampaign() {
+        return campaign;
+    }
+
+    /**
+     * @return 쿠폰 코드 (없으면 null)
+     */
+    public String getCoupon() {
+        return coupon;
+    }
+
+    @Override
+    public String toString() {
+        return "PricingContext{" +
+                "currency='" + currency + '\'' +
+                ", campaign='" + campaign + '\'' +
+                ", coupon='" + coupon + '\'' +
+                '}';
+    }
+}
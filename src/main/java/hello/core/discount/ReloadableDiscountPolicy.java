@@ -0,0 +1,93 @@
+package hello.core.discount;
+
+import hello.core.item.Item;
+import hello.core.member.Member;
+
+/**
+ * 컨테이너를 재시작하지 않고 할인 정책을 바꿔 끼울 수 있는 정책
+ *
+ * 지금 정책은 volatile 참조 하나로만 들고 있음
+ * - discount : 참조를 한 번 읽고 그 정책으로 계산 (락 없음)
+ * - publish : 새 정책을 다음 버전으로 감싸서 참조를 한 번에 바꿈
+ * 이미 current() 로 이전 버전을 꺼내간 주문은 이전 버전으로 끝까지 계산됨
+ */
+public class ReloadableDiscountPolicy implements DiscountPolicy {
+
+    private volatile Version current;
+
+    public ReloadableDiscountPolicy(DiscountPolicy initialPolicy) {
+        this.current = new Version(initialPolicy, 1L);
+    }
+
+    /**
+     * @return 새로 적용된 버전
+     */
+    public synchronized long publish(DiscountPolicy policy) {
+        Version next = new Version(policy, current.version + 1);
+        current = next;
+        return next.version;
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        return current.discount(member, price);
+    }
+
+    @Override
+    public int discount(Member member, String itemName, int price) {
+        return current.discount(member, itemName, price);
+    }
+
+    @Override
+    public int discountItem(Member member, Item item, int price) {
+        return current.discountItem(member, item, price);
+    }
+
+    @Override
+    public DiscountPolicy current() {
+        return current;
+    }
+
+    @Override
+    public long version() {
+        return current.version;
+    }
+
+    /**
+     * 특정 버전에 고정된 정책
+     */
+    static final class Version implements DiscountPolicy {
+        private final DiscountPolicy policy;
+        private final long version;
+
+        Version(DiscountPolicy policy, long version) {
+            this.policy = policy;
+            this.version = version;
+        }
+
+        @Override
+        public int discount(Member member, int price) {
+            return policy.discount(member, price);
+        }
+
+        @Override
+        public int discount(Member member, String itemName, int price) {
+            return policy.discount(member, itemName, price);
+        }
+
+        @Override
+        public int discountItem(Member member, Item item, int price) {
+            return policy.discountItem(member, item, price);
+        }
+
+        @Override
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public String toString() {
+            return "Version{" + "policy=" + policy + ", version=" + version + '}';
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package hello.core.discount;
+
+import hello.core.item.Item;
+import hello.core.item.ItemRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 할인 규칙 목록을 미리 (상품 x 등급 x 가격대) 표로 컴파일해두고, 주문마다 표에서 바로 꺼내는 할인 정책
+ *
+ * RateDiscountPolicy, FixDiscountPolicy 같은 정책을 규칙 수만큼 이어 붙이면 주문마다 규칙 수만큼 if 문과 가상 호출이 생김
+ * 여기서는 규칙이 몇 개든 discount 는 배열 조회 몇 번 + 곱셈 1번
+ *
+ * 가격대 : 규칙에 나온 가격 경계의 최대공약수를 버킷 크기로 잡아서 price / 버킷크기 로 바로 찾음
+ *        (경계가 너무 촘촘해서 버킷이 MAX_PRICE_BUCKETS 를 넘으면 이진 탐색으로 찾음)
+ * 규칙이 겹치면 상품을 지정한 규칙 > 등급을 지정한 규칙 > 전체 규칙, 같은 수준이면 나중 규칙이 이김
+ * withCatalog 로 상품 카탈로그에 묶으면 카탈로그 상품은 상품 ID 로 바로 상품 열을 찾음 (상품 이름을 해싱하지 않음)
+ */
+public class RuleTableDiscountPolicy implements DiscountPolicy {
+
+    static final int MAX_PRICE_BUCKETS = 1 << 16;
+    private static final int OTHER_ITEMS = 0;
+    private static final Grade[] GRADES = Grade.values();
+
+    private final Map<String, Integer> itemColumns;
+    private final int[] bandStarts;       // 가격대 시작 가격 (오름차순, 첫 번째는 0)
+    private final int bucketWidth;        // 0 이면 이진 탐색
+    private final int[] bandByBucket;
+    private final int bandCount;
+    private final int[] discountPercents; // [상품][등급][가격대]
+    private final int[] discountFixAmounts;
+    private final ItemRepository catalog;  // withCatalog 로 묶은 카탈로그 (없으면 null)
+    private final int[] itemColumnsById;   // [상품 ID] -> 상품 열
+
+    private RuleTableDiscountPolicy(Map<String, Integer> itemColumns, int[] bandStarts, int bucketWidth, int[] bandByBucket,
+                                    int[] discountPercents, int[] discountFixAmounts, ItemRepository catalog, int[] itemColumnsById) {
+        this.itemColumns = itemColumns;
+        this.bandStarts = bandStarts;
+        this.bucketWidth = bucketWidth;
+        this.bandByBucket = bandByBucket;
+        this.bandCount = bandStarts.length;
+        this.discountPercents = discountPercents;
+        this.discountFixAmounts = discountFixAmounts;
+        this.catalog = catalog;
+        this.itemColumnsById = itemColumnsById;
+    }
+
+    public static RuleTableDiscountPolicy compile(List<DiscountRule> rules) {
+        Map<String, Integer> itemColumns = new HashMap<>();
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        for (DiscountRule rule : rules) {
+            if (rule.getDiscountPercent() < 0 || rule.getDiscountPercent() > 100) {
+                throw new IllegalArgumentException("invalid discount percent: " + rule);
+            }
+            if (rule.getItemName() != null) {
+                itemColumns.putIfAbsent(rule.getItemName(), itemColumns.size() + 1);
+            }
+            boundaries.add(rule.getMinPrice());
+            if (rule.getMaxPrice() != DiscountRule.NO_MAX_PRICE) {
+                boundaries.add(rule.getMaxPrice());
+            }
+        }
+        int[] bandStarts = boundaries.stream().mapToInt(Integer::intValue).toArray();
+
+        int itemCount = itemColumns.size() + 1;
+        int bandCount = bandStarts.length;
+        int[] discountPercents = new int[itemCount * GRADES.length * bandCount];
+        int[] discountFixAmounts = new int[discountPercents.length];
+
+        // 덜 구체적인 규칙부터 채우고, 더 구체적인 규칙이 덮어씀 (정렬은 stable 이라 같은 수준이면 나중 규칙이 덮어씀)
+        List<DiscountRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingInt(DiscountRule::specificity));
+        for (DiscountRule rule : ordered) {
+            int firstBand = Arrays.binarySearch(bandStarts, rule.getMinPrice());
+            int endBand = rule.getMaxPrice() == DiscountRule.NO_MAX_PRICE
+                    ? bandCount
+                    : Arrays.binarySearch(bandStarts, rule.getMaxPrice());
+            for (int item = 0; item < itemCount; item++) {
+                if (rule.getItemName() != null && itemColumns.get(rule.getItemName()) != item) {
+                    continue;
+                }
+                for (Grade grade : GRADES) {
+                    if (rule.getGrade() != null && rule.getGrade() != grade) {
+                        continue;
+                    }
+                    int row = (item * GRADES.length + grade.ordinal()) * bandCount;
+                    for (int band = firstBand; band < endBand; band++) {
+                        discountPercents[row + band] = rule.getDiscountPercent();
+                        discountFixAmounts[row + band] = rule.getDiscountFixAmount();
+                    }
+                }
+            }
+        }
+
+        int bucketWidth = 0;
+        int[] bandByBucket = null;
+        int gcd = 0;
+        for (int start : bandStarts) {
+            gcd = gcd(gcd, start);
+        }
+        if (gcd == 0) {
+            bucketWidth = Integer.MAX_VALUE; // 경계가 0 하나뿐 -> 가격대도 하나
+            bandByBucket = new int[1];
+        } else if (bandStarts[bandCount - 1] / gcd < MAX_PRICE_BUCKETS) {
+            bucketWidth = gcd;
+            bandByBucket = new int[bandStarts[bandCount - 1] / gcd + 1];
+            for (int band = 0; band < bandCount; band++) {
+                int end = band + 1 < bandCount ? bandStarts[band + 1] / gcd : bandByBucket.length;
+                Arrays.fill(bandByBucket, bandStarts[band] / gcd, end, band);
+            }
+        }
+        return new RuleTableDiscountPolicy(itemColumns, bandStarts, bucketWidth, bandByBucket,
+                discountPercents, discountFixAmounts, null, new int[0]);
+    }
+
+    /**
+     * 같은 표를 쓰면서 catalog 의 상품 ID -> 상품 열을 미리 찾아둔 정책
+     * 다른 카탈로그의 상품이 들어오면 상품 이름으로 찾음
+     */
+    public RuleTableDiscountPolicy withCatalog(ItemRepository catalog) {
+        int[] columns = new int[catalog.size()];
+        for (int itemId = 0; itemId < columns.length; itemId++) {
+            columns[itemId] = itemColumns.getOrDefault(catalog.findById(itemId).getName(), OTHER_ITEMS);
+        }
+        return new RuleTableDiscountPolicy(itemColumns, bandStarts, bucketWidth, bandByBucket,
+                discountPercents, discountFixAmounts, catalog, columns);
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        return discount(OTHER_ITEMS, member, price);
+    }
+
+    @Override
+    public int discount(Member member, String itemName, int price) {
+        Integer item = itemName == null ? null : itemColumns.get(itemName);
+        return discount(item == null ? OTHER_ITEMS : item, member, price);
+    }
+
+    @Override
+    public int discountItem(Member member, Item item, int price) {
+        int itemId = item.getId();
+        if (itemId >= 0 && itemId < itemColumnsById.length && catalog.findById(itemId) == item) {
+            return discount(itemColumnsById[itemId], member, price);
+        }
+        return discount(member, item.getName(), price);
+    }
+
+    public int getBandCount() {
+        return bandCount;
+    }
+
+    private int discount(int item, Member member, int price) {
+        Grade grade = member.getGrade();
+        if (grade == null) {
+            return 0; // 등급이 없는 회원은 할인 없음 (RateDiscountPolicy 와 같음)
+        }
+        int cell = (item * GRADES.length + grade.ordinal()) * bandCount + band(price);
+        return Math.toIntExact((long) price * discountPercents[cell] / 100 + discountFixAmounts[cell]); // price * % 는 int 를 넘을 수 있음
+    }
+
+    private int band(int price) {
+        if (bandCount == 1) {
+            return 0;
+        }
+        int nonNegative = Math.max(price, 0);
+        if (bucketWidth != 0) {
+            return bandByBucket[Math.min(nonNegative / bucketWidth, bandByBucket.length - 1)];
+        }
+        int found = Arrays.binarySearch(bandStarts, nonNegative);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
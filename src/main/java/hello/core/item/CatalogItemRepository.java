@@ -0,0 +1,99 @@
+package hello.core.item;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 불러올 때 한 번 만들고 바뀌지 않는 상품 카탈로그 (락 없이 여러 스레드에서 조회)
+ *
+ * 상품 이름을 정렬해서 정렬된 순서를 그대로 상품 ID 로 씀 -> 같은 카탈로그를 다시 불러오면 같은 ID 가 붙음
+ * - ID -> 상품 : 배열 조회 한 번
+ * - 이름 -> ID : HashMap 조회 (주문을 받는 입구에서 한 번만 하는 일)
+ *
+ * ex) CatalogItemRepository.load(items.csv) : 한 줄에 상품 1개 "name,price" (첫 줄이 "name," 으로 시작하면 헤더로 보고 건너뜀)
+ */
+public class CatalogItemRepository implements ItemRepository {
+
+    private final Item[] items;              // 인덱스 = 상품 ID
+    private final Map<String, Integer> ids;  // 상품 이름 -> 상품 ID
+
+    private CatalogItemRepository(Item[] items) {
+        this.items = items;
+        this.ids = new HashMap<>(items.length * 4 / 3 + 1);
+        for (Item item : items) {
+            ids.put(item.getName(), item.getId());
+        }
+    }
+
+    /**
+     * @param prices 상품 이름 -> 카탈로그 가격
+     */
+    public static CatalogItemRepository of(Map<String, Integer> prices) {
+        String[] names = prices.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        Item[] items = new Item[names.length];
+        for (int id = 0; id < names.length; id++) {
+            int price = prices.get(names[id]);
+            if (price < 0) {
+                throw new IllegalArgumentException("invalid price of " + names[id] + ": " + price);
+            }
+            items[id] = new Item(id, names[id], price);
+        }
+        return new CatalogItemRepository(items);
+    }
+
+    public static CatalogItemRepository load(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, Integer> prices = new LinkedHashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || (i == 0 && line.startsWith("name,"))) {
+                continue;
+            }
+            int comma = line.lastIndexOf(',');
+            if (comma <= 0) {
+                throw new IllegalArgumentException("invalid item at line " + (i + 1) + ": " + line);
+            }
+            String name = line.substring(0, comma).strip();
+            int price;
+            try {
+                price = Integer.parseInt(line.substring(comma + 1).strip());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid item at line " + (i + 1) + ": " + line, e);
+            }
+            if (prices.putIfAbsent(name, price) != null) {
+                throw new IllegalArgumentException("duplicate item at line " + (i + 1) + ": " + name);
+            }
+        }
+        return of(prices);
+    }
+
+    @Override
+    public int findId(String itemName) {
+        Integer itemId = itemName == null ? null : ids.get(itemName);
+        return itemId == null ? NO_ITEM : itemId;
+    }
+
+    @Override
+    public Item findById(int itemId) {
+        return itemId >= 0 && itemId < items.length ? items[itemId] : null;
+    }
+
+    @Override
+    public int size() {
+        return items.length;
+    }
+}
@@ -0,0 +1,62 @@
+package hello.core.item;
+
+import java.util.Objects;
+
+/**
+ * 카탈로그 상품 (바꿀 수 없음)
+ *
+ * id 는 카탈로그 안에서만 의미가 있는 0 부터 시작하는 번호 (ItemRepository 가 불러올 때 붙임)
+ */
+public final class Item {
+
+    private final int id;
+    private final String name;
+    private final int price;
+
+    public Item(int id, String name, int price) {
+        this.id = id;
+        this.name = Objects.requireNonNull(name, "name");
+        this.price = price;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 카탈로그 가격
+     */
+    public int getPrice() {
+        return price;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Item)) {
+            return false;
+        }
+        Item other = (Item) o;
+        return id == other.id && price == other.price && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, price);
+    }
+
+    @Override
+    public String toString() {
+        return "Item{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", price=" + price +
+                '}';
+    }
+}
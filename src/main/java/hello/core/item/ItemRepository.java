@@ -0,0 +1,27 @@
+package hello.core.item;
+
+/**
+ * 상품 이름 <-> 상품 ID, 카탈로그 가격 조회
+ *
+ * 주문마다 상품 이름 (String) 을 들고 다니지 않도록 주문을 받는 입구에서 한 번만 이름을 ID 로 바꾸고
+ * 그 뒤로는 int ID 와 Item 만 씀
+ */
+public interface ItemRepository {
+
+    int NO_ITEM = -1;
+
+    /**
+     * @return 상품 ID (없으면 NO_ITEM)
+     */
+    int findId(String itemName);
+
+    /**
+     * @return 상품 (없으면 null)
+     */
+    Item findById(int itemId);
+
+    /**
+     * @return 상품 수 (상품 ID 는 0 ~ size - 1)
+     */
+    int size();
+}
@@ -0,0 +1,19 @@
+package hello.core.member;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 회원 저장소의 비동기 버전
+ *
+ * 조회가 느린 저장소 (파일, 샤드, 원격) 에서도 호출한 스레드는 기다리지 않고 future 만 받아감
+ * 결과를 받아서 이어서 할 일은 thenApply / thenCompose 로 붙이면 됨
+ */
+public interface AsyncMemberRepository {
+
+    CompletableFuture<Void> save(Member member);
+
+    /**
+     * @return 회원이 없으면 null 로 완료되는 future
+     */
+    CompletableFuture<Member> findById(long memberId);
+}
@@ -0,0 +1,169 @@
+package hello.core.member;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 기존 (blocking) 회원 저장소를 AsyncMemberRepository 로 감싸는 어댑터
+ *
+ * 조회 1건 = 가상 스레드 1개에서 원래 저장소 호출
+ * - 저장소 하나에 동시에 들어가는 호출은 maxConcurrency 개로 제한함 (느린 저장소에 요청이 한꺼번에 몰리지 않도록)
+ *   자리가 없으면 호출한 스레드를 막지 않고 대기열에 넣었다가 앞의 호출이 끝나면 이어서 실행함
+ * - 대기열에서 기다린 시간까지 포함해서 timeout 안에 끝나지 않으면 TimeoutException 으로 완료됨
+ *   (이미 시작한 원래 저장소 호출을 멈추지는 못함, 아직 시작 안 한 호출은 건너뜀)
+ */
+public class AsyncMemberRepositoryAdapter implements AsyncMemberRepository, AutoCloseable {
+
+    private final MemberRepository delegate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int maxConcurrency;
+    private final long timeoutNanos;
+    private final AtomicInteger running = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Call<?>> waiting = new ConcurrentLinkedQueue<>();
+
+    public AsyncMemberRepositoryAdapter(MemberRepository delegate, int maxConcurrency, long timeout, TimeUnit unit) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Member member) {
+        return call(() -> {
+            delegate.save(member);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Member> findById(long memberId) {
+        return call(() -> delegate.findById(memberId));
+    }
+
+    /**
+     * @return 지금 원래 저장소를 호출하고 있는 수
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return 자리가 나기를 기다리는 호출 수
+     */
+    public int getWaiting() {
+        return waiting.size();
+    }
+
+    /**
+     * 새 호출은 더 이상 받지 않고, 시작한 호출은 끝날 때까지 기다림
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> supplier) {
+        Call<T> call = new Call<>(supplier, new CompletableFuture<T>().orTimeout(timeoutNanos, TimeUnit.NANOSECONDS));
+        if (tryAcquire()) {
+            start(call);
+        } else {
+            waiting.add(call);
+            if (tryAcquire()) { // 넣는 사이에 자리가 났을 수 있음
+                startNextOrRelease();
+            }
+        }
+        return call.result;
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = running.get();
+            if (current >= maxConcurrency) {
+                return false;
+            }
+        } while (!running.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // 끝난 호출의 자리를 대기열의 다음 호출에 넘김
+    private void release() {
+        running.decrementAndGet();
+        if (!waiting.isEmpty() && tryAcquire()) {
+            startNextOrRelease();
+        }
+    }
+
+    private void startNextOrRelease() {
+        Call<?> next = waiting.poll();
+        if (next == null) {
+            running.decrementAndGet();
+            if (!waiting.isEmpty() && tryAcquire()) { // 자리를 돌려놓는 사이에 들어온 호출
+                startNextOrRelease();
+            }
+            return;
+        }
+        start(next);
+    }
+
+    private void start(Call<?> call) {
+        try {
+            executor.execute(call);
+        } catch (RejectedExecutionException e) { // close() 이후에 들어온 호출
+            call.result.completeExceptionally(e);
+            release();
+        }
+    }
+
+    /**
+     * 원래 저장소 호출 1건
+     */
+    private final class Call<T> implements Runnable {
+        private final Supplier<T> supplier;
+        private final CompletableFuture<T> result;
+
+        Call(Supplier<T> supplier, CompletableFuture<T> result) {
+            this.supplier = supplier;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) { // 기다리는 동안 timeout 이 지났으면 건너뜀
+                release();
+                return;
+            }
+            T value = null;
+            Throwable failure = null;
+            try {
+                value = supplier.get();
+            } catch (Throwable e) {
+                failure = e;
+            }
+            // 자리를 먼저 돌려주고 완료시킴 (이어 붙은 할인 계산 등이 이 스레드에서 도는 동안 저장소 자리를 잡고 있지 않도록)
+            release();
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
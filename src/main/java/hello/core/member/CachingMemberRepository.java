@@ -0,0 +1,241 @@
+package hello.core.member;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 느린 회원 저장소 앞에 두는 읽기 캐시 (read-through, write-through)
+ *
+ * 주문이 들어올 때마다 같은 VIP 회원 몇 명을 계속 조회하게 되므로, 자주 조회되는 회원은 메모리에 들고 있음
+ * - findById : 캐시에 없을 때만 원래 저장소에서 조회하고 캐시에 넣음
+ * - save : 원래 저장소에 저장한 뒤 캐시도 바로 갱신함 (같은 락 안에서)
+ * - 없는 회원도 "없음" 으로 캐시해서 (negative caching) 같은 ID 로 계속 원래 저장소까지 가지 않도록 함
+ *
+ * 교체 정책은 Segmented LRU
+ * - 처음 들어온 회원은 probation 구역, 한 번 더 조회되면 protected 구역으로 올라감
+ * - 꽉 차면 probation 구역에서 가장 오래 안 쓰인 회원부터 내보냄
+ * - 한 번만 조회되고 마는 회원이 많이 지나가도 (ex. 전체 회원 훑기) 자주 쓰는 회원은 protected 구역에 남아 있음
+ *
+ * 원래 저장소를 직접 수정하면 (이 캐시를 거치지 않고 save) 캐시가 알 수 없으므로 invalidate 를 호출해야 함
+ * -> 같은 원래 저장소 앞에 캐시를 여러 개 두지 말고, 모든 서비스가 캐시 하나를 같이 써야 함
+ * 메모리 저장소 (MemoryMemberRepository 등) 는 이미 HashMap 조회라서 감싸면 락, LRU 관리 비용만 늘어남
+ * -> DB, 원격 저장소처럼 조회가 느린 저장소만 감쌀 것
+ */
+public class CachingMemberRepository implements MemberRepository {
+
+    private static final Member NOT_FOUND = new Member(null, "NOT_FOUND", null);
+
+    private final MemberRepository delegate;
+    private final int maxSize;
+    private final int maxProtectedSize;
+    private final LinkedHashMap<Long, Member> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Member> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder negativeHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maxSize 캐시에 담을 최대 회원 수 ("없음" 으로 캐시한 ID 도 포함), 이 중 80% 를 protected 구역으로 씀
+     */
+    public CachingMemberRepository(MemberRepository delegate, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.maxProtectedSize = maxSize * 4 / 5;
+    }
+
+    /**
+     * 원래 저장소 저장과 캐시 갱신을 같은 락 안에서 함
+     * -> 같은 회원을 동시에 save 해도 원래 저장소에 마지막으로 저장된 회원과 캐시에 남는 회원이 어긋나지 않음
+     * 저장하는 동안은 캐시 조회도 기다리므로, 회원 정보가 자주 바뀌는 저장소라면 캐시로 감싸지 않는 편이 나음
+     */
+    @Override
+    public synchronized void save(Member member) {
+        delegate.save(member);
+        put(member.getId(), member, true);
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        Member cached;
+        synchronized (this) {
+            cached = get(memberId);
+        }
+        if (cached != null) {
+            return cached == NOT_FOUND ? null : cached;
+        }
+
+        // 원래 저장소 조회는 락 밖에서 (느린 조회가 다른 회원의 캐시 조회를 막지 않도록)
+        Member loaded = delegate.findById(memberId);
+        synchronized (this) {
+            put(memberId, loaded == null ? NOT_FOUND : loaded, false);
+        }
+        return loaded;
+    }
+
+    /**
+     * 캐시에 있는 회원은 캐시에서, 나머지는 원래 저장소에서 한 번에 조회
+     */
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        Map<Long, Member> members = new HashMap<>(memberIds.size() * 4 / 3 + 1);
+        List<Long> missing = new ArrayList<>();
+        synchronized (this) {
+            for (Long memberId : memberIds) {
+                Member cached = get(memberId);
+                if (cached == null) {
+                    missing.add(memberId);
+                } else if (cached != NOT_FOUND) {
+                    members.put(memberId, cached);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return members;
+        }
+
+        Map<Long, Member> loaded = delegate.findAllById(missing);
+        synchronized (this) {
+            for (Long memberId : missing) {
+                Member member = loaded.get(memberId);
+                put(memberId, member == null ? NOT_FOUND : member, false);
+            }
+        }
+        members.putAll(loaded);
+        return members;
+    }
+
+    /**
+     * 캐시를 거치지 않고 원래 저장소를 훑음
+     */
+    @Override
+    public void forEach(Consumer<? super Member> action) {
+        delegate.forEach(action);
+    }
+
+    /**
+     * 캐시에서 회원을 지움 (원래 저장소를 직접 수정한 경우)
+     */
+    public synchronized void invalidate(Long memberId) {
+        probation.remove(memberId);
+        protectedSegment.remove(memberId);
+    }
+
+    public synchronized int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    /**
+     * @return 캐시에서 바로 응답한 횟수 ("없음" 으로 캐시된 ID 포함)
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return 캐시에 "없음" 으로 들어 있어서 원래 저장소까지 가지 않은 횟수 (getHitCount 에 포함됨)
+     */
+    public long getNegativeHitCount() {
+        return negativeHitCount.sum();
+    }
+
+    /**
+     * @return 원래 저장소까지 조회한 횟수
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return 캐시가 꽉 차서 내보낸 횟수
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingMemberRepository{" +
+                "size=" + size() +
+                ", maxSize=" + maxSize +
+                ", hit=" + getHitCount() +
+                ", negativeHit=" + getNegativeHitCount() +
+                ", miss=" + getMissCount() +
+                ", eviction=" + getEvictionCount() +
+                '}';
+    }
+
+    // 아래는 모두 synchronized (this) 안에서 호출
+
+    private Member get(Long memberId) {
+        Member member = protectedSegment.get(memberId);
+        if (member == null) {
+            member = probation.remove(memberId);
+            if (member != null) {
+                promote(memberId, member);
+            }
+        }
+        if (member == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+            if (member == NOT_FOUND) {
+                negativeHitCount.increment();
+            }
+        }
+        return member;
+    }
+
+    /**
+     * @param overwrite false 면 이미 캐시에 있을 때 덮어쓰지 않음
+     *                  (원래 저장소를 조회하는 동안 save 된 새 회원 정보를 예전 조회 결과로 덮어쓰지 않도록)
+     */
+    private void put(Long memberId, Member member, boolean overwrite) {
+        if (protectedSegment.containsKey(memberId)) {
+            if (overwrite) {
+                protectedSegment.put(memberId, member);
+            }
+            return;
+        }
+        if (probation.containsKey(memberId)) {
+            if (overwrite) {
+                probation.put(memberId, member);
+            }
+            return;
+        }
+        probation.put(memberId, member);
+        evictOverflow();
+    }
+
+    private void promote(Long memberId, Member member) {
+        protectedSegment.put(memberId, member);
+        if (protectedSegment.size() > maxProtectedSize) {
+            // protected 구역에서 밀려난 회원은 바로 버리지 않고 probation 구역으로 내려보냄
+            Iterator<Map.Entry<Long, Member>> eldest = protectedSegment.entrySet().iterator();
+            Map.Entry<Long, Member> demoted = eldest.next();
+            eldest.remove();
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+        evictOverflow();
+    }
+
+    private void evictOverflow() {
+        Iterator<Long> eldest = probation.keySet().iterator();
+        while (probation.size() + protectedSegment.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictionCount.increment();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package hello.core.member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 회원 수천만 명을 힙에 올려도 GC 부담이 적도록 평평한 배열에만 저장하는 회원 저장소
+ *
+ * HashMap<Long, Member> 는 회원 1명마다 Long 키, HashMap.Node, Member, String 객체가 따로 생김
+ * 여기서는 회원 1명 = long 키 1개 + int 이름 위치 1개 + byte 등급 1개 + 이름 바이트
+ * - keys : primitive long 키를 쓰는 open addressing 테이블
+ * - grades : 등급 컬럼 (0 은 빈 슬롯)
+ * - nameOffsets : 이름 아레나 안의 위치 (-1 은 이름 없음)
+ * - nameArena : [varint 길이][UTF-8 바이트] 를 이어 붙인 바이트 배열
+ *
+ * Member 객체는 저장하지 않고, findById 를 호출할 때만 만들어서 반환함
+ * 따라서 조회한 Member 를 수정해도 다시 save 하기 전에는 저장소에 반영되지 않음
+ */
+public class CompactMemberRepository implements MemberRepository {
+
+    private static final byte EMPTY = 0;
+    private static final byte NO_GRADE = 1;
+    private static final Grade[] GRADES = Grade.values();
+    private static final int NO_NAME = -1;
+
+    private long[] keys;
+    private byte[] grades;
+    private int[] nameOffsets;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    private byte[] nameArena;
+    private int arenaSize;
+    private long garbageBytes; // 덮어쓰기로 더 이상 참조되지 않는 이름 바이트
+
+    public CompactMemberRepository() {
+        this(1024);
+    }
+
+    /**
+     * @param expectedMembers 미리 잡아둘 회원 수 (resize 를 줄이려면 크게 잡으면 됨)
+     */
+    public CompactMemberRepository(int expectedMembers) {
+        allocateTable(ConcurrentMemberRepository.powerOfTwo(Math.max(16, expectedMembers / 3 * 4 + 1)));
+        this.nameArena = new byte[Math.max(64, expectedMembers * 8)];
+    }
+
+    @Override
+    public void save(Member member) {
+        save(Objects.requireNonNull(member.getId(), "member id"), member.getName(), member.getGrade());
+    }
+
+    /**
+     * 컬럼에 바로 기록 (Member 를 거치지 않음)
+     */
+    @Override
+    public void save(MemberValue member) {
+        save(member.getId(), member.getName(), member.getGrade());
+    }
+
+    /**
+     * 락을 한 번만 잡고, 테이블도 한 번만 늘린 뒤에 저장
+     */
+    @Override
+    public synchronized void saveAll(List<? extends Member> members) {
+        int expectedSize = size + members.size();
+        if (expectedSize > threshold) {
+            resize(ConcurrentMemberRepository.powerOfTwo(expectedSize / 3 * 4 + 1));
+        }
+        for (Member member : members) {
+            put(Objects.requireNonNull(member.getId(), "member id"), member.getName(), member.getGrade());
+        }
+    }
+
+    private synchronized void save(long memberId, String name, Grade grade) {
+        put(memberId, name, grade);
+    }
+
+    private void put(long memberId, String name, Grade grade) {
+        int index = indexOf(memberId);
+        if (grades[index] == EMPTY) {
+            keys[index] = memberId;
+            size++;
+        } else {
+            garbageBytes += encodedNameLength(nameOffsets[index]);
+            nameOffsets[index] = NO_NAME;
+        }
+        int nameOffset = appendName(name);
+        grades[index] = encodeGrade(grade);
+        nameOffsets[index] = nameOffset;
+
+        if (size > threshold) {
+            resize();
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        if (memberId == null) {
+            return null;
+        }
+        return findById(memberId.longValue());
+    }
+
+    /**
+     * 박싱 없이 primitive long 으로 조회
+     */
+    @Override
+    public synchronized Member findById(long memberId) {
+        int index = indexOf(memberId);
+        byte grade = grades[index];
+        if (grade == EMPTY) {
+            return null;
+        }
+        return new Member(memberId, decodeName(nameOffsets[index]), decodeGrade(grade));
+    }
+
+    /**
+     * 컬럼에서 바로 MemberValue 를 만듦 (Member 를 만들었다가 옮겨 담지 않음)
+     */
+    @Override
+    public synchronized MemberValue findValueById(long memberId) {
+        int index = indexOf(memberId);
+        byte grade = grades[index];
+        if (grade == EMPTY) {
+            return null;
+        }
+        return new MemberValue(memberId, decodeName(nameOffsets[index]), decodeGrade(grade));
+    }
+
+    @Override
+    public synchronized Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        return MemberRepository.super.findAllById(memberIds); // 락을 한 번만 잡고 한꺼번에 조회
+    }
+
+    @Override
+    public synchronized void forEach(Consumer<? super Member> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (grades[i] != EMPTY) {
+                action.accept(new Member(keys[i], decodeName(nameOffsets[i]), decodeGrade(grades[i])));
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 배열과 이름 아레나가 차지하는 바이트 수 (객체 헤더 제외)
+     */
+    public synchronized long footprintBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES + Byte.BYTES) + nameArena.length;
+    }
+
+    // memberId 가 있는 슬롯, 없으면 들어갈 빈 슬롯
+    private int indexOf(long memberId) {
+        int index = (int) ConcurrentMemberRepository.hash(memberId) & mask;
+        while (grades[index] != EMPTY && keys[index] != memberId) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void allocateTable(int capacity) {
+        keys = new long[capacity];
+        grades = new byte[capacity];
+        nameOffsets = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    private void resize() {
+        resize(keys.length << 1);
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        byte[] oldGrades = grades;
+        int[] oldNameOffsets = nameOffsets;
+        allocateTable(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldGrades[i] != EMPTY) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                grades[index] = oldGrades[i];
+                nameOffsets[index] = oldNameOffsets[i];
+            }
+        }
+    }
+
+    private static byte encodeGrade(Grade grade) {
+        return grade == null ? NO_GRADE : (byte) (grade.ordinal() + 2);
+    }
+
+    private static Grade decodeGrade(byte grade) {
+        return grade == NO_GRADE ? null : GRADES[grade - 2];
+    }
+
+    private int appendName(String name) {
+        if (name == null) {
+            return NO_NAME;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        ensureArenaCapacity(5 + bytes.length);
+        int offset = arenaSize;
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            nameArena[arenaSize++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        nameArena[arenaSize++] = (byte) length;
+        System.arraycopy(bytes, 0, nameArena, arenaSize, bytes.length);
+        arenaSize += bytes.length;
+        return offset;
+    }
+
+    private String decodeName(int offset) {
+        if (offset == NO_NAME) {
+            return null;
+        }
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = nameArena[offset++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return new String(nameArena, offset, length, StandardCharsets.UTF_8);
+    }
+
+    private int encodedNameLength(int offset) {
+        if (offset == NO_NAME) {
+            return 0;
+        }
+        int start = offset;
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = nameArena[offset++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return offset - start + length;
+    }
+
+    private void ensureArenaCapacity(int extra) {
+        if (arenaSize + extra <= nameArena.length) {
+            return;
+        }
+        // 덮어쓴 이름이 절반 이상이면 늘리기 전에 먼저 압축
+        if (garbageBytes * 2 > arenaSize) {
+            compactArena();
+            if (arenaSize + extra <= nameArena.length) {
+                return;
+            }
+        }
+        long newLength = Math.max((long) nameArena.length << 1, (long) arenaSize + extra);
+        if (newLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("name arena is full: " + arenaSize + " bytes");
+        }
+        nameArena = Arrays.copyOf(nameArena, (int) newLength);
+    }
+
+    private void compactArena() {
+        byte[] compacted = new byte[nameArena.length];
+        int compactedSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int offset = nameOffsets[i];
+            if (grades[i] != EMPTY && offset != NO_NAME) {
+                int length = encodedNameLength(offset);
+                System.arraycopy(nameArena, offset, compacted, compactedSize, length);
+                nameOffsets[i] = compactedSize;
+                compactedSize += length;
+            }
+        }
+        nameArena = compacted;
+        arenaSize = compactedSize;
+        garbageBytes = 0;
+    }
+}
@@ -0,0 +1,410 @@
+package hello.core.member;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 여러 요청 스레드가 동시에 join / createOrder 를 호출해도 안전한 회원 저장소
+ *
+ * 조회 (findById) : 락 없이 읽음 (lock-free)
+ * 저장 (save) : 회원 ID 해시로 나눈 스트라이프 (stripe) 단위로만 락을 잡음
+ *
+ * MemoryMemberRepository 와 달리 저장소가 static 이 아니라 인스턴스마다 따로 존재함
+ * 따라서 스프링 컨테이너가 싱글톤으로 관리해줘야 memberService, orderService 가 같은 저장소를 공유함
+ *
+ * 스냅샷 (snapshot) : 지금 이 순간의 회원을 파일로 저장하고, 재시작할 때 loadSnapshot 으로 바로 읽어 들임
+ * 스냅샷을 쓰는 동안에도 save 는 멈추지 않음 (copy-on-write)
+ * - 모든 스트라이프의 락을 잡고 지금 테이블에 "얼림 (frozen)" 표시만 한 뒤 바로 락을 풂
+ * - 얼린 테이블에 쓰려는 save 는 그 스트라이프의 테이블을 복사해서 복사본에 씀 (스트라이프마다 스냅샷 1번에 복사 1번)
+ * - 스냅샷은 얼린 테이블을 락 없이 읽어서 파일로 씀
+ * 조회한 Member 객체를 save 없이 직접 바꾸면 (setGrade 등) 스냅샷에 바뀐 값이 들어갈 수도 있음
+ */
+public class ConcurrentMemberRepository implements MemberRepository {
+
+    private static final VarHandle MEMBERS = MethodHandles.arrayElementVarHandle(Member[].class);
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final Object snapshotLock = new Object();
+
+    public ConcurrentMemberRepository() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ConcurrentMemberRepository(int concurrencyLevel) {
+        int stripeCount = powerOfTwo(Math.max(1, concurrencyLevel));
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        long memberId = Objects.requireNonNull(member.getId(), "member id");
+        long hash = hash(memberId);
+        stripes[stripeIndex(hash)].put(memberId, hash, member);
+    }
+
+    /**
+     * 회원을 스트라이프별로 나눈 뒤, 스트라이프마다 락을 한 번만 잡고 테이블도 한 번만 늘려서 저장
+     */
+    @Override
+    public void saveAll(List<? extends Member> members) {
+        int count = members.size();
+        long[] hashes = new long[count];
+        int[] stripeStarts = new int[stripes.length + 1];
+        for (int i = 0; i < count; i++) {
+            hashes[i] = hash(Objects.requireNonNull(members.get(i).getId(), "member id"));
+            stripeStarts[stripeIndex(hashes[i]) + 1]++;
+        }
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            stripeStarts[stripe + 1] += stripeStarts[stripe];
+        }
+        int[] byStripe = new int[count]; // 스트라이프 순으로 정렬한 members 위치 (counting sort)
+        int[] next = Arrays.copyOf(stripeStarts, stripes.length);
+        for (int i = 0; i < count; i++) {
+            byStripe[next[stripeIndex(hashes[i])]++] = i;
+        }
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            if (stripeStarts[stripe] < stripeStarts[stripe + 1]) {
+                stripes[stripe].putAll(members, hashes, byStripe, stripeStarts[stripe], stripeStarts[stripe + 1]);
+            }
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        if (memberId == null) {
+            return null;
+        }
+        return findById(memberId.longValue());
+    }
+
+    /**
+     * 박싱 없이 primitive long 으로 조회
+     */
+    @Override
+    public Member findById(long memberId) {
+        long hash = hash(memberId);
+        return stripes[stripeIndex(hash)].get(memberId, hash);
+    }
+
+    /**
+     * 락 없이 훑음 (훑는 도중에 저장된 회원은 보일 수도 있고 안 보일 수도 있음)
+     */
+    @Override
+    public void forEach(Consumer<? super Member> action) {
+        for (Stripe stripe : stripes) {
+            stripe.table.forEach(action);
+        }
+    }
+
+    /**
+     * 지금 이 순간의 회원을 스냅샷 파일로 저장 (쓰는 동안에도 save 는 계속됨)
+     *
+     * @return 스냅샷에 담긴 회원 수
+     */
+    public long snapshot(Path file) {
+        synchronized (snapshotLock) { // 스냅샷끼리는 차례대로 (다른 스냅샷이 읽는 테이블의 얼림을 풀지 않도록)
+            Table[] frozen = new Table[stripes.length];
+            long count = freeze(frozen);
+            try (MemberSnapshot.Writer writer = new MemberSnapshot.Writer(file, count)) {
+                for (Table table : frozen) {
+                    for (int i = 0; i < table.members.length; i++) {
+                        Member member = table.members[i];
+                        if (member != null) {
+                            writer.write(table.keys[i], member.getName(), member.getGrade());
+                        }
+                    }
+                }
+                writer.commit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                for (int i = 0; i < stripes.length; i++) {
+                    stripes[i].thaw(frozen[i]);
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 스냅샷 파일로 저장소를 만듦
+     * - 스트라이프마다 테이블을 (회원 수 / 스트라이프 수) 에 맞는 크기로 한 번만 만듦
+     * - 메모리 매핑한 파일에서 레코드를 하나씩 읽어서 바로 테이블에 넣음 (회원 List 를 따로 만들지 않으므로 힙은 회원 + 테이블만큼)
+     * - 아직 다른 스레드에 공개되지 않은 저장소라서 락 없이 채움
+     */
+    public static ConcurrentMemberRepository loadSnapshot(Path file) {
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        MemberSnapshot.read(file, new MemberSnapshot.Loader() {
+            @Override
+            public void expect(long count) {
+                long perStripe = count / repository.stripes.length;
+                int expectedSize = (int) Math.min(perStripe + perStripe / 8 + 16, 1 << 29); // 해시가 고르지 않은 스트라이프도 늘리지 않도록 조금 넉넉하게
+                for (Stripe stripe : repository.stripes) {
+                    stripe.presize(expectedSize);
+                }
+            }
+
+            @Override
+            public void load(Member member) {
+                long memberId = Objects.requireNonNull(member.getId(), "member id");
+                long hash = hash(memberId);
+                repository.stripes[repository.stripeIndex(hash)].load(memberId, hash, member);
+            }
+        });
+        for (Stripe stripe : repository.stripes) { // 락 없이 바꾼 size 가 이후에 락을 잡는 스레드에 보이도록
+            stripe.lock.lock();
+            stripe.lock.unlock();
+        }
+        return repository;
+    }
+
+    // 모든 스트라이프의 락을 차례대로 (항상 같은 순서로) 잡은 상태에서 테이블을 얼림 -> 모든 스트라이프가 같은 순간의 상태
+    private long freeze(Table[] frozen) {
+        int locked = 0;
+        try {
+            for (; locked < stripes.length; locked++) {
+                stripes[locked].lock.lock();
+            }
+            long count = 0;
+            for (int i = 0; i < stripes.length; i++) {
+                frozen[i] = stripes[i].freeze();
+                count += stripes[i].size;
+            }
+            return count;
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[i].lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private int stripeIndex(long hash) {
+        return (int) (hash >>> 32) & stripeMask;
+    }
+
+    // murmur3 fmix64 : 연속된 회원 ID 도 스트라이프와 슬롯에 고르게 흩어지도록 섞음
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    static int powerOfTwo(int value) {
+        int highestOneBit = Integer.highestOneBit(value);
+        return highestOneBit == value ? value : highestOneBit << 1;
+    }
+
+    /**
+     * 스트라이프 하나 = 자기만의 락과 open addressing 테이블
+     * 쓰기는 스트라이프의 락으로 스트라이프 안에서만 직렬화되고, 읽기는 volatile table 참조만 따라감
+     * (스냅샷이 모든 스트라이프의 락을 반복문으로 잡을 수 있도록 synchronized 대신 ReentrantLock)
+     */
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Table table = new Table(INITIAL_STRIPE_CAPACITY);
+        private int size; // lock 을 잡은 상태에서만 변경
+
+        Member get(long memberId, long hash) {
+            return table.get(memberId, hash);
+        }
+
+        void put(long memberId, long hash, Member member) {
+            lock.lock();
+            try {
+                Table current = writableTable();
+                if (current.put(memberId, hash, member)) {
+                    size++;
+                    if (size > current.threshold) {
+                        // 새 테이블을 다 채운 뒤에 volatile 참조를 바꾸므로, 읽는 쪽은 항상 완성된 테이블만 봄
+                        table = current.resize();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void putAll(List<? extends Member> members, long[] hashes, int[] order, int from, int to) {
+            lock.lock();
+            try {
+                int expectedSize = size + (to - from);
+                if (expectedSize > table.threshold) {
+                    table = table.resize(powerOfTwo(expectedSize / 3 * 4 + 1)); // 얼린 테이블은 읽기만 함
+                }
+                Table current = writableTable();
+                for (int i = from; i < to; i++) {
+                    Member member = members.get(order[i]);
+                    if (current.put(member.getId(), hashes[order[i]], member)) {
+                        size++;
+                    }
+                }
+                if (size > current.threshold) {
+                    table = current.resize();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 아래 둘은 loadSnapshot 에서 저장소를 공개하기 전에 (한 스레드에서) 만 호출
+        void presize(int expectedSize) {
+            table = new Table(powerOfTwo(expectedSize / 3 * 4 + 1));
+        }
+
+        void load(long memberId, long hash, Member member) {
+            Table current = table;
+            if (current.put(memberId, hash, member)) {
+                size++;
+                if (size > current.threshold) {
+                    table = current.resize();
+                }
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // lock 을 잡은 상태에서 호출
+        Table freeze() {
+            table.frozen = true;
+            return table;
+        }
+
+        void thaw(Table frozen) {
+            lock.lock();
+            try {
+                if (frozen != null && table == frozen) { // 스냅샷 동안 아무도 쓰지 않은 테이블은 다시 그대로 씀
+                    frozen.frozen = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 스냅샷이 읽고 있는 테이블이면 복사본을 만들어서 거기에 씀 (copy-on-write)
+        private Table writableTable() {
+            Table current = table;
+            if (current.frozen) {
+                current = current.copy();
+                table = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 슬롯이 비어있는지는 members[i] == null 로 판단함 (회원 ID 0 도 저장 가능)
+     * 쓰기 : keys[i] 를 먼저 쓰고 members[i] 를 release 로 씀
+     * 읽기 : members[i] 를 acquire 로 읽은 뒤 keys[i] 를 읽음 -> 회원이 보이면 키도 반드시 보임
+     */
+    private static final class Table {
+        final long[] keys;
+        final Member[] members;
+        final int mask;
+        final int threshold;
+        boolean frozen; // 스냅샷이 읽는 중 (스트라이프 락 안에서만 읽고 씀)
+
+        Table(int capacity) {
+            this(new long[capacity], new Member[capacity]);
+        }
+
+        private Table(long[] keys, Member[] members) {
+            this.keys = keys;
+            this.members = members;
+            this.mask = keys.length - 1;
+            this.threshold = keys.length / 4 * 3;
+        }
+
+        Table copy() {
+            return new Table(keys.clone(), members.clone());
+        }
+
+        Member get(long memberId, long hash) {
+            int index = (int) hash & mask;
+            while (true) {
+                Member member = (Member) MEMBERS.getAcquire(members, index);
+                if (member == null) {
+                    return null;
+                }
+                if (keys[index] == memberId) {
+                    return member;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        /**
+         * @return 새로운 회원 ID 가 추가되었으면 true, 기존 회원을 덮어썼으면 false
+         */
+        boolean put(long memberId, long hash, Member member) {
+            int index = (int) hash & mask;
+            while (true) {
+                if (members[index] == null) {
+                    keys[index] = memberId;
+                    MEMBERS.setRelease(members, index, member);
+                    return true;
+                }
+                if (keys[index] == memberId) {
+                    MEMBERS.setRelease(members, index, member);
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        void forEach(Consumer<? super Member> action) {
+            for (int i = 0; i < members.length; i++) {
+                Member member = (Member) MEMBERS.getAcquire(members, i);
+                if (member != null) {
+                    action.accept(member);
+                }
+            }
+        }
+
+        Table resize() {
+            return resize(keys.length << 1);
+        }
+
+        Table resize(int capacity) {
+            Table resized = new Table(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                Member member = members[i];
+                if (member != null) {
+                    resized.put(keys[i], hash(keys[i]), member);
+                }
+            }
+            return resized;
+        }
+    }
+}
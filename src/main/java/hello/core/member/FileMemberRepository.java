@@ -0,0 +1,314 @@
+package hello.core.member;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 재시작해도 회원이 남아있는 파일 기반 회원 저장소
+ *
+ * members.log : 메모리 매핑된 append-only 로그, 저장할 때마다 레코드 1개를 뒤에 붙임
+ *  [int payload 길이][int CRC32][long id][byte 등급][int 이름 길이][UTF-8 이름]
+ * members.idx : 회원 ID 순으로 정렬한 (id, 로그 위치) 쌍, checkpoint / close 할 때 새로 씀
+ *  [long magic][long 인덱스가 포함하는 로그 길이][int 개수][(long id, long 위치) ...]
+ *
+ * 시작할 때는 인덱스 파일만 읽고, 그 이후에 붙은 로그 레코드의 헤더만 훑어서 인덱스를 복구함 (Member 객체를 만들지 않음)
+ * 마지막 레코드가 중간에 잘려 있으면 (길이나 CRC 가 맞지 않으면) 그 위치에서 로그를 잘라냄
+ */
+public class FileMemberRepository implements MemberRepository, AutoCloseable {
+
+    static final String LOG_FILE = "members.log";
+    static final String INDEX_FILE = "members.idx";
+
+    private static final long INDEX_MAGIC = 0x4d454d4944583031L; // MEMIDX01
+    private static final int INDEX_HEADER_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Integer.BYTES;
+    private static final int MIN_PAYLOAD_BYTES = Long.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final int MAX_PAYLOAD_BYTES = 1 << 20;
+    private static final int MIN_MAPPED_BYTES = 1 << 20;
+    private static final byte NO_GRADE = -1;
+    private static final int NO_NAME = -1;
+    private static final long NOT_FOUND = -1L;
+    private static final Grade[] GRADES = Grade.values();
+
+    private final Path indexPath;
+    private final FileChannel logChannel;
+    private final LongLongHashMap index = new LongLongHashMap(1024);
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer log;
+    private long writePosition;
+    private boolean closed;
+
+    public FileMemberRepository(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            this.indexPath = directory.resolve(INDEX_FILE);
+            this.logChannel = FileChannel.open(directory.resolve(LOG_FILE), READ, WRITE, CREATE);
+            this.writePosition = recover(loadIndex(logChannel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void save(Member member) {
+        ensureOpen();
+        long memberId = Objects.requireNonNull(member.getId(), "member id");
+        byte[] name = member.getName() == null ? null : member.getName().getBytes(StandardCharsets.UTF_8);
+        int payloadBytes = MIN_PAYLOAD_BYTES + (name == null ? 0 : name.length);
+        if (payloadBytes > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("member name is too long: " + name.length + " bytes");
+        }
+        ensureMapped(writePosition + RECORD_HEADER_BYTES + payloadBytes);
+
+        int position = (int) writePosition;
+        int payload = position + RECORD_HEADER_BYTES;
+        log.putLong(payload, memberId);
+        log.put(payload + Long.BYTES, member.getGrade() == null ? NO_GRADE : (byte) member.getGrade().ordinal());
+        log.putInt(payload + Long.BYTES + Byte.BYTES, name == null ? NO_NAME : name.length);
+        if (name != null) {
+            log.duplicate().position(payload + MIN_PAYLOAD_BYTES).put(name);
+        }
+        log.putInt(position + Integer.BYTES, checksum(log, payload, payloadBytes));
+        log.putInt(position, payloadBytes);
+
+        index.put(memberId, writePosition);
+        writePosition += RECORD_HEADER_BYTES + payloadBytes;
+    }
+
+    /**
+     * 락을 한 번만 잡고 저장
+     */
+    @Override
+    public synchronized void saveAll(List<? extends Member> members) {
+        for (Member member : members) {
+            save(member);
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        if (memberId == null) {
+            return null;
+        }
+        return findById(memberId.longValue());
+    }
+
+    /**
+     * 박싱 없이 primitive long 으로 조회
+     */
+    @Override
+    public synchronized Member findById(long memberId) {
+        ensureOpen();
+        long position = index.get(memberId, NOT_FOUND);
+        if (position == NOT_FOUND) {
+            return null;
+        }
+        int payload = (int) position + RECORD_HEADER_BYTES;
+        byte grade = log.get(payload + Long.BYTES);
+        int nameLength = log.getInt(payload + Long.BYTES + Byte.BYTES);
+        String name = null;
+        if (nameLength != NO_NAME) {
+            byte[] bytes = new byte[nameLength];
+            log.duplicate().position(payload + MIN_PAYLOAD_BYTES).get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Member(memberId, name, grade == NO_GRADE ? null : GRADES[grade]);
+    }
+
+    @Override
+    public synchronized Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        return MemberRepository.super.findAllById(memberIds); // 락을 한 번만 잡고 한꺼번에 조회
+    }
+
+    @Override
+    public synchronized void forEach(Consumer<? super Member> action) {
+        ensureOpen();
+        index.forEach((memberId, position) -> action.accept(findById(memberId)));
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * 로그를 디스크에 내리고, 현재 인덱스를 인덱스 파일로 씀
+     * 다음 시작 때는 이 시점 이후에 붙은 레코드만 훑으면 됨
+     */
+    public synchronized void checkpoint() {
+        ensureOpen();
+        log.force();
+        writeIndex();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        checkpoint();
+        try {
+            logChannel.truncate(writePosition); // 미리 늘려둔 매핑 영역을 잘라냄
+            logChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        closed = true;
+    }
+
+    /**
+     * @return 인덱스 파일이 포함하는 로그 길이 (인덱스 파일이 없거나 깨졌으면 0 부터 다시 훑음)
+     */
+    private long loadIndex(long logSize) throws IOException {
+        if (!Files.exists(indexPath)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, READ)) {
+            long indexSize = channel.size();
+            if (indexSize < INDEX_HEADER_BYTES) {
+                return 0;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, indexSize);
+            long magic = buffer.getLong();
+            long coveredLogBytes = buffer.getLong();
+            int count = buffer.getInt();
+            if (magic != INDEX_MAGIC || coveredLogBytes > logSize
+                    || indexSize != INDEX_HEADER_BYTES + (long) count * INDEX_ENTRY_BYTES) {
+                return 0;
+            }
+            for (int i = 0; i < count; i++) {
+                index.put(buffer.getLong(), buffer.getLong());
+            }
+            return coveredLogBytes;
+        }
+    }
+
+    /**
+     * 인덱스 이후의 레코드를 훑어서 인덱스에 반영하고, 잘린 마지막 레코드는 버림
+     *
+     * @return 다음 레코드를 쓸 위치
+     */
+    private long recover(long from) throws IOException {
+        long logSize = logChannel.size();
+        long position = from;
+        if (logSize > from) {
+            if (logSize > Integer.MAX_VALUE) {
+                throw new IllegalStateException("log file is too large to map: " + logSize + " bytes");
+            }
+            MappedByteBuffer existing = logChannel.map(FileChannel.MapMode.READ_ONLY, 0, logSize);
+            long next;
+            while ((next = validRecordEnd(existing, position, logSize)) > 0) {
+                index.put(existing.getLong((int) position + RECORD_HEADER_BYTES), position);
+                position = next;
+            }
+        }
+        if (position < logSize) {
+            logChannel.truncate(position);
+        }
+        log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(MIN_MAPPED_BYTES, position * 2));
+        return position;
+    }
+
+    /**
+     * @return 온전한 레코드면 레코드가 끝나는 위치, 잘렸거나 깨졌으면 -1
+     */
+    private long validRecordEnd(ByteBuffer buffer, long position, long limit) {
+        if (position + RECORD_HEADER_BYTES > limit) {
+            return -1;
+        }
+        int payloadBytes = buffer.getInt((int) position);
+        if (payloadBytes < MIN_PAYLOAD_BYTES || payloadBytes > MAX_PAYLOAD_BYTES
+                || position + RECORD_HEADER_BYTES + payloadBytes > limit) {
+            return -1;
+        }
+        int expected = buffer.getInt((int) position + Integer.BYTES);
+        if (checksum(buffer, (int) position + RECORD_HEADER_BYTES, payloadBytes) != expected) {
+            return -1;
+        }
+        return position + RECORD_HEADER_BYTES + payloadBytes;
+    }
+
+    private int checksum(ByteBuffer buffer, int offset, int length) {
+        crc.reset();
+        crc.update(buffer.duplicate().position(offset).limit(offset + length));
+        return (int) crc.getValue();
+    }
+
+    private void ensureMapped(long required) {
+        if (required <= log.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("log file is full: " + writePosition + " bytes");
+        }
+        long mappedBytes = Math.min(Integer.MAX_VALUE, Math.max((long) log.capacity() << 1, required));
+        try {
+            log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, mappedBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 정렬된 인덱스를 임시 파일에 다 쓴 뒤에 교체하므로, 중간에 죽어도 이전 인덱스 파일은 그대로 남음
+    private void writeIndex() {
+        long[] memberIds = new long[index.size()];
+        int[] count = {0};
+        index.forEach((memberId, position) -> memberIds[count[0]++] = memberId);
+        Arrays.sort(memberIds);
+
+        Path tempPath = indexPath.resolveSibling(INDEX_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+            buffer.putLong(INDEX_MAGIC).putLong(writePosition).putInt(memberIds.length);
+            for (long memberId : memberIds) {
+                if (buffer.remaining() < INDEX_ENTRY_BYTES) {
+                    writeFully(channel, buffer);
+                }
+                buffer.putLong(memberId).putLong(index.get(memberId, NOT_FOUND));
+            }
+            writeFully(channel, buffer);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.move(tempPath, indexPath, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("repository is closed");
+        }
+    }
+}
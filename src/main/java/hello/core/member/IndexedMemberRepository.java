@@ -0,0 +1,180 @@
+package hello.core.member;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 등급 / 이름 접두사로도 조회할 수 있도록 회원 저장소 앞에 보조 인덱스를 두는 저장소
+ *
+ * - 등급 인덱스 : 등급마다 회원 ID 비트맵 (MemberIdBitmap) 하나
+ * - 이름 인덱스 : (이름, 회원 ID) 를 이름순으로 정렬한 배열 (MemberNameIndex)
+ * 인덱스는 save 할 때마다 바로 갱신함
+ * -> 조회한 회원을 setGrade 로 바꾼 뒤 다시 save 해도 (같은 Member 객체라서 예전 등급을 몰라도) 다른 등급의 비트맵에서 빠짐
+ *
+ * 이름이 바뀐 회원의 예전 이름 항목은 바로 지우지 않고 조회할 때 걸러냄 (쌓이면 save 도중에 인덱스를 다시 만듦)
+ * 원래 저장소를 직접 수정하면 (이 저장소를 거치지 않고 save) rebuildIndexes 를 호출해야 함
+ */
+public class IndexedMemberRepository implements MemberRepository {
+
+    private static final Grade[] GRADES = Grade.values();
+    private static final int MIN_STALE_NAMES_TO_REBUILD = 1024;
+
+    private final MemberRepository delegate;
+    private final MemberIdBitmap[] gradeIndex = new MemberIdBitmap[GRADES.length];
+    private final MemberNameIndex nameIndex = new MemberNameIndex();
+    private long staleNames;
+
+    /**
+     * @param delegate forEach 를 지원해야 함 (이미 저장된 회원으로 인덱스를 만듦)
+     */
+    public IndexedMemberRepository(MemberRepository delegate) {
+        this.delegate = delegate;
+        rebuildIndexes();
+    }
+
+    @Override
+    public synchronized void save(Member member) {
+        long memberId = Objects.requireNonNull(member.getId(), "member id");
+        Member old = delegate.findById(memberId);
+        delegate.save(member);
+        index(member, old);
+    }
+
+    /**
+     * 원래 저장소에는 saveAll 로 한 번에 저장하고, 인덱스는 락을 한 번만 잡고 갱신
+     */
+    @Override
+    public synchronized void saveAll(List<? extends Member> members) {
+        Member[] olds = new Member[members.size()];
+        for (int i = 0; i < olds.length; i++) {
+            olds[i] = delegate.findById(Objects.requireNonNull(members.get(i).getId(), "member id").longValue());
+        }
+        delegate.saveAll(members);
+        for (int i = 0; i < olds.length; i++) {
+            index(members.get(i), olds[i]);
+        }
+    }
+
+    private void index(Member member, Member old) {
+        long memberId = member.getId();
+        for (Grade grade : GRADES) {
+            if (grade == member.getGrade()) {
+                gradeIndex[grade.ordinal()].add(memberId);
+            } else {
+                gradeIndex[grade.ordinal()].remove(memberId);
+            }
+        }
+
+        String name = member.getName();
+        if (old != null && old != member && old.getName() != null && !old.getName().equals(name)) {
+            staleNames++;
+        }
+        if (name != null) {
+            nameIndex.add(name, memberId);
+        }
+        if (staleNames > Math.max(MIN_STALE_NAMES_TO_REBUILD, nameIndex.size() / 2)) {
+            rebuildIndexes();
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return delegate.findById(memberId);
+    }
+
+    @Override
+    public Member findById(long memberId) {
+        return delegate.findById(memberId);
+    }
+
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        return delegate.findAllById(memberIds);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Member> action) {
+        delegate.forEach(action);
+    }
+
+    /**
+     * @return 회원 ID 오름차순
+     */
+    @Override
+    public List<Member> findByGrade(Grade grade) {
+        if (grade == null) {
+            return MemberRepository.super.findByGrade(null);
+        }
+        long[] memberIds;
+        synchronized (this) {
+            memberIds = gradeIndex[grade.ordinal()].toArray();
+        }
+        List<Member> members = new ArrayList<>(memberIds.length);
+        for (long memberId : memberIds) {
+            Member member = delegate.findById(memberId);
+            if (member != null && member.getGrade() == grade) { // 인덱스를 읽은 뒤에 등급이 바뀐 회원은 제외
+                members.add(member);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * @return 이름순 (같은 이름이면 회원 ID 순)
+     */
+    @Override
+    public List<Member> findByNamePrefix(String prefix) {
+        Objects.requireNonNull(prefix, "prefix");
+        List<String> names = new ArrayList<>();
+        List<Long> memberIds = new ArrayList<>();
+        synchronized (this) {
+            nameIndex.forEachWithPrefix(prefix, (name, memberId) -> {
+                names.add(name);
+                memberIds.add(memberId);
+            });
+        }
+        List<Member> members = new ArrayList<>(memberIds.size());
+        for (int i = 0; i < memberIds.size(); i++) {
+            Member member = delegate.findById(memberIds.get(i).longValue());
+            if (member != null && names.get(i).equals(member.getName())) { // 예전 이름 항목은 제외
+                members.add(member);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * 회원을 하나씩 조회하지 않고 등급 인덱스만으로 셈
+     */
+    public synchronized long countByGrade(Grade grade) {
+        return gradeIndex[grade.ordinal()].cardinality();
+    }
+
+    /**
+     * 원래 저장소를 전부 훑어서 인덱스를 처음부터 다시 만듦
+     */
+    public synchronized void rebuildIndexes() {
+        for (Grade grade : GRADES) {
+            gradeIndex[grade.ordinal()] = new MemberIdBitmap();
+        }
+        nameIndex.clear();
+        staleNames = 0;
+        delegate.forEach(member -> {
+            if (member.getGrade() != null) {
+                gradeIndex[member.getGrade().ordinal()].add(member.getId());
+            }
+            if (member.getName() != null) {
+                nameIndex.add(member.getName(), member.getId());
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedMemberRepository{" + delegate + '}';
+    }
+}
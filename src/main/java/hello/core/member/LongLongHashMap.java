@@ -0,0 +1,84 @@
+package hello.core.member;
+
+/**
+ * 박싱 없는 long -> long 해시 테이블 (open addressing, linear probing)
+ * 동기화는 사용하는 쪽에서 책임짐
+ */
+class LongLongHashMap {
+
+    interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    LongLongHashMap(int expectedSize) {
+        allocate(ConcurrentMemberRepository.powerOfTwo(Math.max(16, expectedSize / 3 * 4 + 1)));
+    }
+
+    long get(long key, long missingValue) {
+        int index = indexOf(key);
+        return used[index] ? values[index] : missingValue;
+    }
+
+    void put(long key, long value) {
+        int index = indexOf(key);
+        if (!used[index]) {
+            used[index] = true;
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+        if (size > threshold) {
+            resize();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int indexOf(long key) {
+        int index = (int) ConcurrentMemberRepository.hash(key) & mask;
+        while (used[index] && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = indexOf(oldKeys[i]);
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package hello.core.member;
+
+import java.util.Arrays;
+
+/**
+ * 회원 ID 집합 (Roaring bitmap 방식)
+ *
+ * ID 의 상위 48 비트로 컨테이너를 나누고, 컨테이너 안에는 하위 16 비트만 저장함
+ * - 원소가 4096 개 이하인 컨테이너 : 정렬된 char 배열 (원소 1개당 2 바이트)
+ * - 그보다 많은 컨테이너 : 65536 비트 비트맵 (8 KB 고정)
+ * -> 드문드문한 ID 도, 촘촘한 ID 도 원소 1개당 2 바이트 이하로 저장됨
+ *
+ * 동기화하지 않으므로 IndexedMemberRepository 의 락 안에서만 씀
+ */
+final class MemberIdBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+
+    private long[] keys = new long[4];
+    private Container[] containers = new Container[4];
+    private int containerCount;
+    private long cardinality;
+
+    /**
+     * @return 새로 추가되었으면 true
+     */
+    boolean add(long id) {
+        long key = id >> 16;
+        int index = Arrays.binarySearch(keys, 0, containerCount, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        if (!container.add((char) id)) {
+            return false;
+        }
+        if (container instanceof ArrayContainer && container.cardinality() > ARRAY_MAX) {
+            containers[index] = ((ArrayContainer) container).toBitmap();
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * @return 있어서 지웠으면 true
+     */
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(keys, 0, containerCount, id >> 16);
+        if (index < 0 || !containers[index].remove((char) id)) {
+            return false;
+        }
+        Container container = containers[index];
+        if (container.cardinality() == 0) {
+            removeContainer(index);
+        } else if (container instanceof BitmapContainer && container.cardinality() <= ARRAY_MAX) {
+            containers[index] = ((BitmapContainer) container).toArray();
+        }
+        cardinality--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, 0, containerCount, id >> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * @return 오름차순 ID 배열
+     */
+    long[] toArray() {
+        long[] ids = new long[Math.toIntExact(cardinality)];
+        int size = 0;
+        for (int i = 0; i < containerCount; i++) {
+            size = containers[i].copyTo(keys[i] << 16, ids, size);
+        }
+        return ids;
+    }
+
+    /**
+     * @return 컨테이너가 차지하는 대략적인 바이트 수
+     */
+    long sizeInBytes() {
+        long bytes = keys.length * 8L;
+        for (int i = 0; i < containerCount; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private void insertContainer(int index, long key, Container container) {
+        if (containerCount == keys.length) {
+            keys = Arrays.copyOf(keys, containerCount * 2);
+            containers = Arrays.copyOf(containers, containerCount * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        containerCount++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, containerCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, containerCount - index - 1);
+        containers[--containerCount] = null;
+    }
+
+    private interface Container {
+        boolean add(char low);
+        boolean remove(char low);
+        boolean contains(char low);
+        int cardinality();
+        int copyTo(long high, long[] ids, int offset);
+        long sizeInBytes();
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        public boolean add(char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(size * 2, ARRAY_MAX + 1));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = low;
+            size++;
+            return true;
+        }
+
+        @Override
+        public boolean remove(char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            if (size > 0 && size < values.length / 4) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        @Override
+        public int copyTo(long high, long[] ids, int offset) {
+            for (int i = 0; i < size; i++) {
+                ids[offset++] = high | values[i];
+            }
+            return offset;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return values.length * 2L;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        @Override
+        public boolean add(char low) {
+            long before = words[low >>> 6];
+            long after = before | (1L << low);
+            words[low >>> 6] = after;
+            if (before == after) {
+                return false;
+            }
+            cardinality++;
+            return true;
+        }
+
+        @Override
+        public boolean remove(char low) {
+            long before = words[low >>> 6];
+            long after = before & ~(1L << low);
+            words[low >>> 6] = after;
+            if (before == after) {
+                return false;
+            }
+            cardinality--;
+            return true;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int copyTo(long high, long[] ids, int offset) {
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    ids[offset++] = high | ((long) word << 6) | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+            return offset;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return words.length * 8L;
+        }
+
+        ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[cardinality];
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    array.values[array.size++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return array;
+        }
+    }
+}
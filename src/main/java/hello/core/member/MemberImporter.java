@@ -0,0 +1,315 @@
+package hello.core.member;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * 회원 CSV 파일을 회원 저장소로 한꺼번에 가져오는 도구 (MemberService.join 을 1건씩 부르지 않음)
+ *
+ * 파일 형식 : 한 줄에 회원 1명 "id,name,grade" (UTF-8, 첫 줄이 숫자로 시작하지 않으면 헤더로 보고 건너뜀)
+ *  - name, grade 가 비어 있으면 null, grade 는 Grade 이름 (BASIC, VIP)
+ *  - name 에는 쉼표를 쓸 수 없음 (따옴표 처리 안 함)
+ *
+ * 파일을 chunkBytes 크기의 조각으로 나눠서 조각마다 fork-join 작업 하나가 메모리 매핑해서 파싱함
+ * - 조각 경계가 줄 중간이면 그 줄은 앞 조각이 끝까지 읽음 (조각은 "시작하는" 줄만 맡음)
+ * - 파싱한 회원은 batchSize 명씩 MemberRepository.saveAll 로 저장 -> 작업마다 들고 있는 Member 는 batchSize 명뿐
+ * 배치를 저장할 때마다 Progress 로 지금까지 가져온 회원 수를 알려줌 (여러 작업 스레드에서 동시에 호출될 수 있음)
+ *
+ * ex) java hello.core.member.MemberImporter members.csv
+ */
+public class MemberImporter {
+
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final MemberRepository repository;
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+    private final int batchSize;
+
+    public MemberImporter(MemberRepository repository) {
+        this(repository, ForkJoinPool.commonPool(), 16 * 1024 * 1024, 8192);
+    }
+
+    public MemberImporter(MemberRepository repository, ForkJoinPool pool, int chunkBytes, int batchSize) {
+        if (chunkBytes <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("chunkBytes: " + chunkBytes + ", batchSize: " + batchSize);
+        }
+        this.repository = repository;
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+        this.batchSize = batchSize;
+    }
+
+    public Result importCsv(Path file) {
+        return importCsv(file, (rows, bytes, totalBytes) -> { });
+    }
+
+    public Result importCsv(Path file, Progress progress) {
+        long startNanos = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            long size = channel.size();
+            Counters counters = new Counters(size, progress);
+            List<ChunkTask> tasks = new ArrayList<>();
+            for (long start = 0; start < size; start += chunkBytes) {
+                tasks.add(new ChunkTask(channel, size, start, Math.min(size, start + chunkBytes), counters));
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+            return new Result(counters.rows.get(), size, System.nanoTime() - startNanos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 진행 상황을 받는 쪽
+     */
+    @FunctionalInterface
+    public interface Progress {
+        void onProgress(long rows, long bytes, long totalBytes);
+    }
+
+    /**
+     * 가져오기 결과
+     */
+    public static final class Result {
+        private final long rows;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        Result(long rows, long bytes, long elapsedNanos) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rows * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d members (%d bytes) in %d ms, %.0f members/s", rows, bytes, getElapsedMillis(), getRowsPerSecond());
+        }
+    }
+
+    private static final class Counters {
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+        final long totalBytes;
+        final Progress progress;
+
+        Counters(long totalBytes, Progress progress) {
+            this.totalBytes = totalBytes;
+            this.progress = progress;
+        }
+    }
+
+    /**
+     * 조각 하나 : [start, end) 에서 시작하는 줄을 모두 파싱해서 저장
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private final FileChannel channel;
+        private final long fileSize;
+        private final long start;
+        private final long end;
+        private final Counters counters;
+        private boolean mappedToEnd;
+
+        ChunkTask(FileChannel channel, long fileSize, long start, long end, Counters counters) {
+            this.channel = channel;
+            this.fileSize = fileSize;
+            this.start = start;
+            this.end = end;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void compute() {
+            // 앞 조각에서 시작한 줄의 나머지를 건너뛸 수 있도록 한 바이트 앞부터, 마지막 줄을 끝까지 읽을 수 있도록 한 줄 더 매핑
+            long mapStart = start == 0 ? 0 : start - 1;
+            long mapEnd = Math.min(fileSize, end + MAX_LINE_BYTES);
+            mappedToEnd = mapEnd == fileSize;
+            MappedByteBuffer buffer;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int limit = buffer.limit();
+            int chunkEnd = (int) (end - mapStart);
+            int position = 0;
+            if (start != 0) {
+                position = skipLine(buffer, 0, limit); // 앞 바이트가 '\n' 이면 바로 다음 위치
+            } else if (limit > 0 && !isDigit(buffer.get(0)) && buffer.get(0) != '-') {
+                position = skipLine(buffer, 0, limit); // 헤더
+            }
+
+            List<Member> batch = new ArrayList<>(batchSize);
+            int batchStart = position;
+            while (position < chunkEnd) {
+                int lineEnd = lineEnd(buffer, position, limit);
+                if (lineEnd > position && !(lineEnd == position + 1 && buffer.get(position) == '\r')) {
+                    batch.add(parse(buffer, position, lineEnd, mapStart));
+                }
+                position = lineEnd + 1;
+                if (batch.size() == batchSize) {
+                    flush(batch, position - batchStart);
+                    batchStart = position;
+                }
+            }
+            flush(batch, Math.min(position, chunkEnd) - batchStart);
+        }
+
+        private void flush(List<Member> batch, long bytes) {
+            if (!batch.isEmpty()) {
+                repository.saveAll(batch);
+            }
+            long rows = counters.rows.addAndGet(batch.size());
+            long read = counters.bytes.addAndGet(Math.max(0, bytes));
+            batch.clear();
+            counters.progress.onProgress(rows, Math.min(read, counters.totalBytes), counters.totalBytes);
+        }
+
+        // 줄 끝 ('\n' 위치, 없으면 파일 끝) 을 찾음
+        private int lineEnd(MappedByteBuffer buffer, int from, int limit) {
+            for (int i = from; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    return i;
+                }
+            }
+            if (!mappedToEnd) {
+                throw new IllegalArgumentException("member line is longer than " + MAX_LINE_BYTES + " bytes at byte " + (start + from));
+            }
+            return limit;
+        }
+
+        private int skipLine(MappedByteBuffer buffer, int from, int limit) {
+            return Math.min(lineEnd(buffer, from, limit) + 1, limit);
+        }
+    }
+
+    // "id,name,grade" (끝의 '\r' 은 무시)
+    private static Member parse(MappedByteBuffer buffer, int from, int to, long fileOffset) {
+        if (buffer.get(to - 1) == '\r') {
+            to--;
+        }
+        int firstComma = indexOf(buffer, ',', from, to);
+        int secondComma = firstComma < 0 ? -1 : indexOf(buffer, ',', firstComma + 1, to);
+        if (secondComma < 0 || firstComma == from) {
+            throw invalid(buffer, from, to, fileOffset);
+        }
+
+        boolean negative = buffer.get(from) == '-';
+        long id = 0;
+        for (int i = negative ? from + 1 : from; i < firstComma; i++) {
+            byte b = buffer.get(i);
+            if (!isDigit(b)) {
+                throw invalid(buffer, from, to, fileOffset);
+            }
+            id = id * 10 + (b - '0');
+        }
+        if (negative) {
+            id = -id;
+        }
+
+        String name = null;
+        int nameLength = secondComma - firstComma - 1;
+        if (nameLength > 0) {
+            byte[] bytes = new byte[nameLength];
+            buffer.get(firstComma + 1, bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Grade grade;
+        if (matches(buffer, secondComma + 1, to, "VIP")) {
+            grade = Grade.VIP;
+        } else if (matches(buffer, secondComma + 1, to, "BASIC")) {
+            grade = Grade.BASIC;
+        } else if (secondComma + 1 == to) {
+            grade = null;
+        } else {
+            throw invalid(buffer, from, to, fileOffset);
+        }
+        return new Member(id, name, grade);
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, char target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(MappedByteBuffer buffer, int from, int to, String ascii) {
+        if (to - from != ascii.length()) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length(); i++) {
+            if (buffer.get(from + i) != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static IllegalArgumentException invalid(MappedByteBuffer buffer, int from, int to, long fileOffset) {
+        byte[] line = new byte[Math.min(to - from, 200)];
+        buffer.get(from, line);
+        return new IllegalArgumentException("invalid member at byte " + (fileOffset + from) + ": "
+                + new String(line, StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("usage: java hello.core.member.MemberImporter <members.csv>");
+            return;
+        }
+        CompactMemberRepository repository = new CompactMemberRepository();
+        long[] nextReport = {1_000_000};
+        Result result = new MemberImporter(repository).importCsv(Path.of(args[0]), (rows, bytes, totalBytes) -> {
+            synchronized (nextReport) {
+                if (rows >= nextReport[0]) {
+                    System.out.printf("%,d members (%d%%)%n", rows, bytes * 100 / Math.max(1, totalBytes));
+                    nextReport[0] = rows + 1_000_000;
+                }
+            }
+        });
+        System.out.println(result);
+        System.out.println("repository: " + repository.size() + " members, " + repository.footprintBytes() + " bytes");
+    }
+}
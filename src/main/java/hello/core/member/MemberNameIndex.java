@@ -0,0 +1,139 @@
+package hello.core.member;
+
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+/**
+ * (이름, 회원 ID) 를 이름순으로 정렬해 둔 이름 접두사 인덱스
+ *
+ * 대부분은 정렬된 배열 (names, ids) 에 두고, 새로 들어온 항목은 작은 TreeSet 에 모았다가 한꺼번에 병합함
+ * -> 회원 수천만 명이어도 항목 1개당 객체는 이름 String 하나뿐 (TreeMap 처럼 항목마다 노드 객체가 생기지 않음)
+ * -> 접두사 조회는 배열에서 이진 탐색 한 번 + 연속된 구간 읽기
+ *
+ * 항목을 지우지는 않음 (이름이 바뀐 회원의 예전 항목은 조회할 때 걸러내고, rebuild 로 정리함)
+ * 동기화하지 않으므로 IndexedMemberRepository 의 락 안에서만 씀
+ */
+final class MemberNameIndex {
+
+    private static final int MIN_PENDING = 1024;
+
+    private String[] names = new String[0];
+    private long[] ids = new long[0];
+    private int size;
+    private final NavigableSet<Entry> pending = new TreeSet<>();
+
+    /**
+     * @return 새로 추가되었으면 true (이미 같은 항목이 있으면 false)
+     */
+    boolean add(String name, long id) {
+        if (find(name, id) >= 0 || !pending.add(new Entry(name, id))) {
+            return false;
+        }
+        if (pending.size() > Math.max(MIN_PENDING, size >>> 4)) {
+            merge();
+        }
+        return true;
+    }
+
+    /**
+     * 이름이 prefix 로 시작하는 항목을 이름순 (같은 이름이면 ID 순) 으로 넘겨줌
+     */
+    void forEachWithPrefix(String prefix, BiConsumer<String, Long> action) {
+        int index = find(prefix, Long.MIN_VALUE);
+        index = index >= 0 ? index : -index - 1;
+        Iterator<Entry> buffered = pending.tailSet(new Entry(prefix, Long.MIN_VALUE), true).iterator();
+        Entry next = buffered.hasNext() ? buffered.next() : null;
+        while (true) {
+            boolean fromArray = index < size && names[index].startsWith(prefix);
+            boolean fromPending = next != null && next.name.startsWith(prefix);
+            if (!fromArray && !fromPending) {
+                return;
+            }
+            if (fromArray && (!fromPending || compare(names[index], ids[index], next.name, next.id) < 0)) {
+                action.accept(names[index], ids[index]);
+                index++;
+            } else {
+                action.accept(next.name, next.id);
+                next = buffered.hasNext() ? buffered.next() : null;
+            }
+        }
+    }
+
+    int size() {
+        return size + pending.size();
+    }
+
+    void clear() {
+        names = new String[0];
+        ids = new long[0];
+        size = 0;
+        pending.clear();
+    }
+
+    /**
+     * 버퍼에 모인 항목을 정렬된 배열에 병합 (배열 전체를 한 번 복사)
+     */
+    private void merge() {
+        int total = size + pending.size();
+        String[] mergedNames = new String[total];
+        long[] mergedIds = new long[total];
+        int index = 0;
+        int count = 0;
+        for (Entry entry : pending) {
+            while (index < size && compare(names[index], ids[index], entry.name, entry.id) < 0) {
+                mergedNames[count] = names[index];
+                mergedIds[count++] = ids[index++];
+            }
+            mergedNames[count] = entry.name;
+            mergedIds[count++] = entry.id;
+        }
+        System.arraycopy(names, index, mergedNames, count, size - index);
+        System.arraycopy(ids, index, mergedIds, count, size - index);
+        names = mergedNames;
+        ids = mergedIds;
+        size = total;
+        pending.clear();
+    }
+
+    /**
+     * 정렬된 배열에서 (name, id) 를 이진 탐색 (Arrays.binarySearch 와 같은 반환값)
+     */
+    private int find(String name, long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = compare(names[mid], ids[mid], name, id);
+            if (compared < 0) {
+                low = mid + 1;
+            } else if (compared > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int compare(String name1, long id1, String name2, long id2) {
+        int compared = name1.compareTo(name2);
+        return compared != 0 ? compared : Long.compare(id1, id2);
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final String name;
+        final long id;
+
+        Entry(String name, long id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return compare(name, id, other.name, other.id);
+        }
+    }
+}
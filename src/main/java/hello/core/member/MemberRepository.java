@@ -1,7 +1,100 @@
 package hello.core.member;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 public interface MemberRepository {
 
     void save(Member member);
     Member findById(Long memberId);
+
+    /**
+     * primitive long 으로 조회 (주문마다 Long 을 박싱하지 않도록)
+     * 기본 구현은 박싱해서 findById(Long) 을 호출하고, long 키를 쓰는 저장소는 박싱 없이 조회하도록 재정의함
+     */
+    default Member findById(long memberId) {
+        return findById(Long.valueOf(memberId));
+    }
+
+    /**
+     * 여러 회원을 한 번에 저장 (대량 가져오기)
+     * 기본 구현은 save 를 반복 호출하고, 락을 쓰는 저장소는 테이블 크기를 미리 늘린 뒤 락을 한 번만 잡도록 재정의함
+     */
+    default void saveAll(List<? extends Member> members) {
+        for (Member member : members) {
+            save(member);
+        }
+    }
+
+    /**
+     * 바꿀 수 없는 회원으로 저장
+     * 기본 구현은 Member 로 바꿔서 save 하고, 컬럼으로 저장하는 저장소는 바로 저장하도록 재정의함
+     */
+    default void save(MemberValue member) {
+        save(member.toMember());
+    }
+
+    /**
+     * 바꿀 수 없는 회원으로 조회 (여러 스레드에 복사 없이 넘길 수 있음)
+     * 기본 구현은 findById 결과를 옮겨 담고, 컬럼으로 저장하는 저장소는 Member 를 거치지 않도록 재정의함
+     */
+    default MemberValue findValueById(long memberId) {
+        Member member = findById(memberId);
+        return member == null ? null : MemberValue.of(member);
+    }
+
+    /**
+     * 여러 회원을 한 번에 조회
+     * 기본 구현은 findById 를 반복 호출하고, 락을 쓰는 저장소는 락을 한 번만 잡도록 재정의함
+     *
+     * @return 회원 ID -> 회원 (없는 회원은 포함되지 않음)
+     */
+    default Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        Map<Long, Member> members = new HashMap<>(memberIds.size() * 4 / 3 + 1);
+        for (Long memberId : memberIds) {
+            Member member = findById(memberId);
+            if (member != null) {
+                members.put(memberId, member);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * 저장된 모든 회원을 하나씩 넘겨줌 (순서는 정해져 있지 않음)
+     * 샤드 재배치, findByGrade 처럼 전체를 훑어야 할 때 씀 -> 모든 저장소가 구현해야 함
+     */
+    void forEach(Consumer<? super Member> action);
+
+    /**
+     * 등급으로 조회 (순서는 정해져 있지 않음)
+     * 기본 구현은 forEach 로 전체를 훑고, IndexedMemberRepository 는 등급 인덱스로 조회함
+     */
+    default List<Member> findByGrade(Grade grade) {
+        List<Member> members = new ArrayList<>();
+        forEach(member -> {
+            if (member.getGrade() == grade) {
+                members.add(member);
+            }
+        });
+        return members;
+    }
+
+    /**
+     * 이름이 prefix 로 시작하는 회원 조회 (순서는 정해져 있지 않음)
+     * 기본 구현은 forEach 로 전체를 훑고, IndexedMemberRepository 는 이름 인덱스로 조회함
+     */
+    default List<Member> findByNamePrefix(String prefix) {
+        List<Member> members = new ArrayList<>();
+        forEach(member -> {
+            if (member.getName() != null && member.getName().startsWith(prefix)) {
+                members.add(member);
+            }
+        });
+        return members;
+    }
 }
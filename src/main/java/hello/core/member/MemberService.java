@@ -4,4 +4,16 @@ public interface MemberService {
 
     void join(Member member);
     Member findMember(Long memberId);
+
+    /**
+     * 바꿀 수 없는 회원으로 가입 / 조회 (기본 구현은 Member 로 바꿔서 처리)
+     */
+    default void join(MemberValue member) {
+        join(member.toMember());
+    }
+
+    default MemberValue findMemberValue(long memberId) {
+        Member member = findMember(memberId);
+        return member == null ? null : MemberValue.of(member);
+    }
 }
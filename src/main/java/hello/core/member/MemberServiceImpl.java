@@ -26,6 +26,16 @@ public class MemberServiceImpl implements MemberService {
         return memberRepository.findById(memberId);
     }
 
+    @Override
+    public void join(MemberValue member) {
+        memberRepository.save(member);
+    }
+
+    @Override
+    public MemberValue findMemberValue(long memberId) {
+        return memberRepository.findValueById(memberId);
+    }
+
     // 테스트 용도
     public MemberRepository getMemberRepository() {
         return memberRepository;
@@ -0,0 +1,145 @@
+package hello.core.member;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * 회원 저장소 하나를 localhost 소켓으로 열어 두는 샤드 서버 (RemoteMemberRepository 가 붙음)
+ *
+ * 요청 / 응답은 DataInputStream / DataOutputStream 으로 주고받음
+ * - SAVE id member     -> OK
+ * - FIND id            -> FOUND member | NONE
+ * - SCAN               -> (FOUND member)* NONE
+ * member = grade (없으면 -1) + name (없으면 hasName=false)
+ * 연결마다 가상 스레드 하나씩 사용하고, 한 연결에서는 요청을 하나씩 차례로 처리함
+ *
+ * ex) java hello.core.member.MemberShardServer 7001
+ */
+public class MemberShardServer implements AutoCloseable {
+
+    static final byte SAVE = 1;
+    static final byte FIND = 2;
+    static final byte SCAN = 3;
+
+    static final byte OK = 0;
+    static final byte FOUND = 1;
+    static final byte NONE = 2;
+
+    private static final Grade[] GRADES = Grade.values();
+
+    private final MemberRepository repository;
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+
+    /**
+     * @param port 0 이면 빈 포트를 골라 씀 (getPort 로 확인)
+     */
+    public MemberShardServer(MemberRepository repository, int port) throws IOException {
+        this.repository = repository;
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.acceptor = Thread.ofPlatform().daemon().name("member-shard-" + getPort()).start(this::acceptLoop);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7001;
+        try (MemberShardServer server = new MemberShardServer(new ConcurrentMemberRepository(), port)) {
+            System.out.println("member shard listening on " + server.serverSocket.getLocalSocketAddress());
+            server.acceptor.join();
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                // 서버를 닫음
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return; // 클라이언트가 연결을 닫음
+                }
+                handle(op, in, out);
+                out.flush();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // 연결이 끊어짐
+        }
+    }
+
+    private void handle(byte op, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case SAVE:
+                long id = in.readLong();
+                repository.save(readMember(id, in));
+                out.writeByte(OK);
+                break;
+            case FIND:
+                Member member = repository.findById(in.readLong());
+                if (member == null) {
+                    out.writeByte(NONE);
+                } else {
+                    out.writeByte(FOUND);
+                    writeMember(member, out);
+                }
+                break;
+            case SCAN:
+                repository.forEach(each -> {
+                    try {
+                        out.writeByte(FOUND);
+                        out.writeLong(each.getId());
+                        writeMember(each, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.writeByte(NONE);
+                break;
+            default:
+                throw new IOException("unknown op: " + op);
+        }
+    }
+
+    static void writeMember(Member member, DataOutputStream out) throws IOException {
+        out.writeByte(member.getGrade() == null ? -1 : member.getGrade().ordinal());
+        out.writeBoolean(member.getName() != null);
+        if (member.getName() != null) {
+            out.writeUTF(member.getName());
+        }
+    }
+
+    static Member readMember(long id, DataInputStream in) throws IOException {
+        byte grade = in.readByte();
+        String name = in.readBoolean() ? in.readUTF() : null;
+        return new Member(id, name, grade < 0 ? null : GRADES[grade]);
+    }
+}
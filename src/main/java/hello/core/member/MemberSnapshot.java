@@ -0,0 +1,187 @@
+package hello.core.member;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 회원 스냅샷 파일 (재시작할 때 CSV 를 다시 가져오지 않고 바로 읽어 들이는 용도)
+ *
+ *  [long magic][long 회원 수][(long id, byte 등급, int 이름 길이, UTF-8 이름) ...][int CRC32]
+ *  등급이 없으면 -1, 이름이 없으면 이름 길이 -1
+ *  CRC32 는 회원 레코드 전체에 대해 계산함
+ *
+ * 임시 파일에 다 쓴 뒤에 원래 이름으로 바꿔서 (ATOMIC_MOVE), 쓰다가 죽어도 예전 스냅샷이 남아 있음
+ */
+final class MemberSnapshot {
+
+    static final long MAGIC = 0x4d454d534e503031L; // MEMSNP01
+    private static final int HEADER_BYTES = Long.BYTES + Long.BYTES;
+    private static final int MIN_RECORD_BYTES = Long.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final byte NO_GRADE = -1;
+    private static final int NO_NAME = -1;
+    private static final Grade[] GRADES = Grade.values();
+
+    private MemberSnapshot() {
+    }
+
+    /**
+     * 회원 수를 미리 알고 쓰는 스냅샷 파일
+     */
+    static final class Writer implements AutoCloseable {
+        private final Path file;
+        private final Path temporary;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        private final CRC32 crc = new CRC32();
+        private final long expectedCount;
+        private long count;
+        private boolean committed;
+
+        Writer(Path file, long expectedCount) {
+            try {
+                this.file = file;
+                this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                this.channel = FileChannel.open(temporary, WRITE, CREATE, TRUNCATE_EXISTING);
+                this.expectedCount = expectedCount;
+                buffer.putLong(MAGIC).putLong(expectedCount);
+                write(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(long memberId, String name, Grade grade) throws IOException {
+            byte[] bytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+            int recordBytes = MIN_RECORD_BYTES + (bytes == null ? 0 : bytes.length);
+            if (buffer.remaining() < recordBytes) {
+                write(true);
+            }
+            if (buffer.remaining() < recordBytes) {
+                throw new IllegalArgumentException("member name is too long: " + bytes.length + " bytes");
+            }
+            buffer.putLong(memberId);
+            buffer.put(grade == null ? NO_GRADE : (byte) grade.ordinal());
+            buffer.putInt(bytes == null ? NO_NAME : bytes.length);
+            if (bytes != null) {
+                buffer.put(bytes);
+            }
+            count++;
+        }
+
+        /**
+         * 남은 레코드와 CRC 를 쓰고 디스크에 내린 뒤 원래 이름으로 바꿈
+         */
+        void commit() throws IOException {
+            if (count != expectedCount) {
+                throw new IllegalStateException("expected " + expectedCount + " members, but wrote " + count);
+            }
+            write(true);
+            buffer.putInt((int) crc.getValue());
+            write(false);
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        private void write(boolean records) throws IOException {
+            buffer.flip();
+            if (records) {
+                crc.update(buffer.duplicate());
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 읽어 들인 회원을 받는 쪽 (회원을 List 로 모으지 않고 매핑한 파일에서 바로 넘김)
+     */
+    interface Loader {
+        /**
+         * 회원을 넘기기 전에 한 번 호출됨 (테이블을 최종 크기로 미리 만들 수 있도록)
+         */
+        void expect(long count);
+
+        void load(Member member);
+    }
+
+    /**
+     * 파일 전체를 메모리 매핑해서 CRC 를 확인한 뒤, 레코드를 하나씩 Member 로 만들어서 loader 로 넘김
+     * 힙에는 Member 만 남음 (파일 크기만큼의 중간 List 나 버퍼를 만들지 않음)
+     * CRC 나 회원 수가 맞지 않으면 IllegalStateException (회원 수는 다 넘긴 뒤에 확인하므로, loader 쪽은 버려야 함)
+     *
+     * @return 읽어 들인 회원 수
+     */
+    static long read(Path file, Loader loader) {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("member snapshot is larger than 2 GB: " + file);
+            }
+            if (size < HEADER_BYTES + Integer.BYTES) {
+                throw new IllegalStateException("not a member snapshot: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getLong(0) != MAGIC) {
+                throw new IllegalStateException("not a member snapshot: " + file);
+            }
+            long count = buffer.getLong(Long.BYTES);
+            int end = (int) size - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_BYTES, end - HEADER_BYTES));
+            if ((int) crc.getValue() != buffer.getInt(end)) {
+                throw new IllegalStateException("member snapshot is corrupted (CRC mismatch): " + file);
+            }
+
+            loader.expect(count);
+            long loaded = 0;
+            int position = HEADER_BYTES;
+            while (position < end) {
+                long memberId = buffer.getLong(position);
+                byte grade = buffer.get(position + Long.BYTES);
+                int nameLength = buffer.getInt(position + Long.BYTES + Byte.BYTES);
+                position += MIN_RECORD_BYTES;
+                String name = null;
+                if (nameLength != NO_NAME) {
+                    byte[] bytes = new byte[nameLength];
+                    buffer.get(position, bytes);
+                    name = new String(bytes, StandardCharsets.UTF_8);
+                    position += nameLength;
+                }
+                loader.load(new Member(memberId, name, grade == NO_GRADE ? null : GRADES[grade]));
+                loaded++;
+            }
+            if (loaded != count) {
+                throw new IllegalStateException("member snapshot should have " + count + " members, but has " + loaded);
+            }
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
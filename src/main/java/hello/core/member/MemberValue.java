@@ -0,0 +1,84 @@
+package hello.core.member;
+
+import java.util.Objects;
+
+/**
+ * 바꿀 수 없는 (immutable) 회원
+ *
+ * Member 는 setter 가 있어서 캐시, 저장소, 파이프라인처럼 여러 스레드가 같이 보는 곳에 넘기려면 복사해야 함
+ * MemberValue 는 모든 필드가 final 이라 만든 뒤에는 복사 없이, 락 없이 어느 스레드에 넘겨도 됨
+ * (final 필드는 생성자가 끝나면 다른 스레드에서도 초기화된 값으로 보이는 것이 보장됨)
+ *
+ * ID 는 primitive long (Long 박싱 객체가 따로 생기지 않음)
+ * -> 회원 하나 만들 때 할당량 48 byte (Member + Long) -> 32 byte (ValueTypeBenchmark, -prof gc)
+ * 값을 바꾸려면 withName / withGrade 로 새 객체를 만듦
+ */
+public final class MemberValue {
+
+    private final long id;
+    private final String name;
+    private final Grade grade;
+
+    public MemberValue(long id, String name, Grade grade) {
+        this.id = id;
+        this.name = name;
+        this.grade = grade;
+    }
+
+    public static MemberValue of(Member member) {
+        return new MemberValue(Objects.requireNonNull(member.getId(), "member id"), member.getName(), member.getGrade());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Grade getGrade() {
+        return grade;
+    }
+
+    public MemberValue withName(String name) {
+        return new MemberValue(id, name, grade);
+    }
+
+    public MemberValue withGrade(Grade grade) {
+        return new MemberValue(id, name, grade);
+    }
+
+    /**
+     * Member 를 받는 곳 (ex. DiscountPolicy) 에 넘길 때 쓰는 복사본
+     */
+    public Member toMember() {
+        return new Member(id, name, grade);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MemberValue)) {
+            return false;
+        }
+        MemberValue other = (MemberValue) o;
+        return id == other.id && Objects.equals(name, other.name) && grade == other.grade;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, grade);
+    }
+
+    @Override
+    public String toString() {
+        return "MemberValue{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", grade=" + grade +
+                '}';
+    }
+}
@@ -0,0 +1,172 @@
+package hello.core.member;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * 다른 프로세스에 떠 있는 MemberShardServer 의 회원 저장소를 쓰는 클라이언트
+ *
+ * 연결은 풀에 모아 두고 요청마다 하나씩 빌려 씀 (동시에 요청하는 스레드 수만큼 연결이 생김)
+ * 통신 중 오류가 나면 그 연결은 버리고 UncheckedIOException 을 던짐
+ */
+public class RemoteMemberRepository implements MemberRepository, AutoCloseable {
+
+    private final InetAddress host;
+    private final int port;
+    private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    public RemoteMemberRepository(int port) {
+        this(InetAddress.getLoopbackAddress(), port);
+    }
+
+    public RemoteMemberRepository(InetAddress host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public void save(Member member) {
+        long memberId = Objects.requireNonNull(member.getId(), "member id");
+        Connection connection = borrow();
+        try {
+            connection.out.writeByte(MemberShardServer.SAVE);
+            connection.out.writeLong(memberId);
+            MemberShardServer.writeMember(member, connection.out);
+            connection.out.flush();
+            expect(connection.in.readByte(), MemberShardServer.OK);
+        } catch (IOException e) {
+            throw discard(connection, e);
+        }
+        release(connection);
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        if (memberId == null) {
+            return null;
+        }
+        return findById(memberId.longValue());
+    }
+
+    @Override
+    public Member findById(long memberId) {
+        Connection connection = borrow();
+        Member member;
+        try {
+            connection.out.writeByte(MemberShardServer.FIND);
+            connection.out.writeLong(memberId);
+            connection.out.flush();
+            byte status = connection.in.readByte();
+            member = status == MemberShardServer.FOUND ? MemberShardServer.readMember(memberId, connection.in) : null;
+            if (member == null) {
+                expect(status, MemberShardServer.NONE);
+            }
+        } catch (IOException e) {
+            throw discard(connection, e);
+        }
+        release(connection);
+        return member;
+    }
+
+    /**
+     * 서버의 회원을 모두 받아 오면서 넘겨줌 (action 이 오래 걸리면 그동안 연결을 잡고 있음)
+     */
+    @Override
+    public void forEach(Consumer<? super Member> action) {
+        Connection connection = borrow();
+        try {
+            connection.out.writeByte(MemberShardServer.SCAN);
+            connection.out.flush();
+            byte status;
+            while ((status = connection.in.readByte()) == MemberShardServer.FOUND) {
+                long memberId = connection.in.readLong();
+                action.accept(MemberShardServer.readMember(memberId, connection.in));
+            }
+            expect(status, MemberShardServer.NONE);
+        } catch (IOException e) {
+            throw discard(connection, e);
+        } catch (RuntimeException e) {
+            discard(connection, null); // 응답을 끝까지 읽지 않았으므로 다시 쓸 수 없음
+            throw e;
+        }
+        release(connection);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteMemberRepository{" + host.getHostAddress() + ":" + port + '}';
+    }
+
+    private Connection borrow() {
+        if (closed) {
+            throw new IllegalStateException("repository is closed");
+        }
+        Connection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        try {
+            return new Connection(new Socket(host, port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot connect to member shard " + host.getHostAddress() + ":" + port, e);
+        }
+    }
+
+    private void release(Connection connection) {
+        idle.offer(connection);
+        if (closed && idle.remove(connection)) {
+            connection.close(); // close 와 엇갈려 들어온 연결
+        }
+    }
+
+    private UncheckedIOException discard(Connection connection, IOException e) {
+        connection.close();
+        return e == null ? null : new UncheckedIOException(e);
+    }
+
+    private static void expect(byte status, byte expected) throws IOException {
+        if (status != expected) {
+            throw new IOException("unexpected response: " + status);
+        }
+    }
+
+    private static final class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            socket.setTcpNoDelay(true);
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // 이미 끊어진 연결
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package hello.core.member;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 회원 ID 로 여러 샤드 (MemberRepository) 에 나눠서 저장하는 회원 저장소
+ *
+ * 샤드는 같은 JVM 안의 저장소 (ex. ConcurrentMemberRepository) 일 수도 있고,
+ * 다른 프로세스에서 떠 있는 MemberShardServer 에 붙은 RemoteMemberRepository 일 수도 있음
+ *
+ * 어느 샤드에 저장할지는 consistent hashing 으로 정함
+ * - 샤드마다 해시 링 위에 VIRTUAL_NODES 개의 점을 찍고, 회원 ID 의 해시에서 시계 방향으로 처음 만나는 점의 샤드에 저장
+ * - 샤드를 추가 / 제거하면 그 샤드와 관련된 회원 (약 1/N) 만 옮겨짐
+ *
+ * 조회는 락 없이 volatile 링만 읽고, 저장은 회원 ID 별 스트라이프 락만 잡음 (전체 락 없음)
+ * 재배치 중에는 새 샤드에서 먼저 찾고, 없으면 이전 샤드에서 찾음
+ * 재배치가 끝나도 이전 샤드에 남은 회원은 지우지 않음 (MemberRepository 에 삭제가 없으므로), 라우팅되지 않을 뿐임
+ * -> 나중에 다시 그 샤드로 돌아오는 회원 (ex. 추가한 샤드를 다시 뺌) 이 있으므로, 옮길 때는 옮겨 갈 샤드에 남아 있던 예전 회원을 덮어씀
+ */
+public class ShardedMemberRepository implements MemberRepository {
+
+    static final int VIRTUAL_NODES = 128;
+    private static final int STRIPES = 256;
+    private static final long ROUTING_SEED = 0x9E3779B97F4A7C15L; // 샤드 안의 해시 테이블과 같은 해시가 되지 않도록
+
+    private volatile Ring ring;
+    private final Object[] stripes = new Object[STRIPES];
+
+    /**
+     * @param shards 샤드 이름 -> 샤드 (이름으로 링 위의 위치가 정해지므로, 다시 띄울 때도 같은 이름을 써야 함)
+     */
+    public ShardedMemberRepository(Map<String, ? extends MemberRepository> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("at least one shard is required");
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.ring = new Ring(new LinkedHashMap<>(shards), null);
+    }
+
+    @Override
+    public void save(Member member) {
+        long memberId = Objects.requireNonNull(member.getId(), "member id");
+        synchronized (stripe(memberId)) {
+            Ring current = ring; // 락 안에서 링을 읽어야 재배치 중인 회원과 엇갈리지 않음
+            current.shardFor(memberId).save(member);
+            if (current.previous != null) {
+                current.savedDuringRebalance.add(memberId);
+            }
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        if (memberId == null) {
+            return null;
+        }
+        return findById(memberId.longValue());
+    }
+
+    @Override
+    public Member findById(long memberId) {
+        Ring current = ring;
+        Member member = current.shardFor(memberId).findById(memberId);
+        if (member == null && current.previous != null) {
+            member = current.previous.shardFor(memberId).findById(memberId);
+        }
+        return member;
+    }
+
+    /**
+     * 샤드별로 묶어서 샤드마다 한 번씩 조회
+     */
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        Ring current = ring;
+        if (current.previous != null) {
+            return MemberRepository.super.findAllById(memberIds);
+        }
+        Map<MemberRepository, List<Long>> byShard = new HashMap<>();
+        for (Long memberId : memberIds) {
+            if (memberId != null) {
+                byShard.computeIfAbsent(current.shardFor(memberId), shard -> new ArrayList<>()).add(memberId);
+            }
+        }
+        Map<Long, Member> members = new HashMap<>(memberIds.size() * 4 / 3 + 1);
+        for (Map.Entry<MemberRepository, List<Long>> entry : byShard.entrySet()) {
+            members.putAll(entry.getKey().findAllById(entry.getValue()));
+        }
+        return members;
+    }
+
+    /**
+     * 샤드마다 자기가 담당하는 회원만 넘겨줌 (재배치 후 이전 샤드에 남은 회원은 제외)
+     */
+    @Override
+    public void forEach(Consumer<? super Member> action) {
+        Ring current = ring;
+        for (MemberRepository shard : current.shards.values()) {
+            shard.forEach(member -> {
+                if (current.shardFor(member.getId()) == shard) {
+                    action.accept(member);
+                }
+            });
+        }
+    }
+
+    /**
+     * 샤드를 추가하고, 새 샤드가 담당하게 된 회원을 옮김
+     *
+     * @return 옮긴 회원 수
+     */
+    public synchronized int addShard(String name, MemberRepository shard) {
+        Ring before = settled();
+        if (before.shards.containsKey(name)) {
+            throw new IllegalArgumentException("shard already exists: " + name);
+        }
+        Map<String, MemberRepository> shards = new LinkedHashMap<>(before.shards);
+        shards.put(name, shard);
+        return rebalance(before, shards, new ArrayList<>(before.shards.values()));
+    }
+
+    /**
+     * 샤드를 빼고, 그 샤드의 회원을 새로 담당하게 된 샤드로 옮김
+     *
+     * @return 옮긴 회원 수
+     */
+    public synchronized int removeShard(String name) {
+        Ring before = settled();
+        MemberRepository removed = before.shards.get(name);
+        if (removed == null) {
+            throw new IllegalArgumentException("no such shard: " + name);
+        }
+        if (before.shards.size() == 1) {
+            throw new IllegalStateException("cannot remove the last shard");
+        }
+        Map<String, MemberRepository> shards = new LinkedHashMap<>(before.shards);
+        shards.remove(name);
+        return rebalance(before, shards, List.of(removed));
+    }
+
+    /**
+     * 회원을 옮기다 실패한 재배치 (ex. 원격 샤드 연결이 끊김) 를 이어서 함
+     * 실패해도 이전 링이 붙어 있으므로 조회는 이전 샤드까지 찾아가고 회원을 잃지 않음, 다만 이어서 하기 전까지는 샤드를 추가 / 제거할 수 없음
+     *
+     * @return 옮긴 회원 수 (끝나지 않은 재배치가 없으면 0)
+     */
+    public synchronized int resumeRebalance() {
+        Ring current = ring;
+        if (current.previous == null) {
+            return 0;
+        }
+        return migrate(current, new ArrayList<>(current.previous.shards.values()));
+    }
+
+    public List<String> getShardNames() {
+        return new ArrayList<>(ring.shards.keySet());
+    }
+
+    /**
+     * @return 지금 이 회원을 담당하는 샤드 이름
+     */
+    public String shardNameFor(long memberId) {
+        Ring current = ring;
+        return current.names[current.ownerIndex(memberId)];
+    }
+
+    /**
+     * 1. 새 링을 (이전 링과 함께) 올림 -> 이후 저장은 새 샤드로, 조회는 새 샤드 -> 이전 샤드 순서로
+     * 2. sources 의 회원 중 담당 샤드가 바뀐 회원을 새 샤드로 복사
+     *    - 새 샤드에 있던 회원은 덮어씀 (예전 재배치에서 남은 회원일 수 있으므로)
+     *    - 다만 새 링이 올라간 뒤에 저장된 회원은 새 샤드 쪽이 최신이므로 건너뜀
+     *    -> 저장과 같은 스트라이프 락 안에서 복사하므로, 복사하는 동안 저장된 회원과 엇갈리지 않음
+     * 3. 이전 링을 뗌
+     * 2 에서 예외가 나면 새 링 + 이전 링을 그대로 둔 채로 던짐 (resumeRebalance 로 이어서 함)
+     */
+    private int rebalance(Ring before, Map<String, MemberRepository> shards, List<MemberRepository> sources) {
+        Ring after = new Ring(shards, before);
+        ring = after;
+        return migrate(after, sources);
+    }
+
+    private int migrate(Ring after, List<MemberRepository> sources) {
+        Ring before = after.previous;
+        int moved = 0;
+        for (MemberRepository source : sources) {
+            // 옮길 회원을 먼저 모아 둠 (source.forEach 가 source 의 락을 잡은 채로 스트라이프 락을 기다리지 않도록)
+            List<Member> leaving = new ArrayList<>();
+            source.forEach(member -> {
+                long memberId = member.getId();
+                if (after.shardFor(memberId) != source && before.shardFor(memberId) == source) {
+                    leaving.add(member);
+                }
+            });
+            for (Member member : leaving) {
+                long memberId = member.getId();
+                MemberRepository target = after.shardFor(memberId);
+                synchronized (stripe(memberId)) {
+                    if (!after.savedDuringRebalance.contains(memberId)) {
+                        Member latest = source.findById(memberId);
+                        target.save(latest != null ? latest : member);
+                        moved++;
+                    }
+                }
+            }
+        }
+
+        ring = new Ring(after.shards, null);
+        return moved;
+    }
+
+    // 링은 한 단계 이전까지만 기억하므로, 끝나지 않은 재배치 위에 또 재배치하면 그 전 샤드의 회원을 찾을 수 없게 됨
+    private Ring settled() {
+        Ring current = ring;
+        if (current.previous != null) {
+            throw new IllegalStateException("previous rebalance did not finish, call resumeRebalance first");
+        }
+        return current;
+    }
+
+    private Object stripe(long memberId) {
+        return stripes[(int) ConcurrentMemberRepository.hash(memberId) & (STRIPES - 1)];
+    }
+
+    static long routingHash(long memberId) {
+        return ConcurrentMemberRepository.hash(memberId ^ ROUTING_SEED);
+    }
+
+    /**
+     * 해시 링 (불변), tokens 는 오름차순이고 owners[i] 는 tokens[i] 를 가진 샤드
+     */
+    private static final class Ring {
+        final Map<String, MemberRepository> shards;
+        final String[] names;
+        final MemberRepository[] owners;
+        final long[] tokens;
+        final int[] ownerIndexes;
+        final Ring previous;
+        final Set<Long> savedDuringRebalance; // 재배치 중인 링에서 저장된 회원 ID (재배치 중에만 씀)
+
+        Ring(Map<String, MemberRepository> shards, Ring previous) {
+            this.shards = shards;
+            this.names = shards.keySet().toArray(new String[0]);
+            this.owners = shards.values().toArray(new MemberRepository[0]);
+            this.previous = previous;
+            this.savedDuringRebalance = previous == null ? Set.of() : ConcurrentHashMap.newKeySet();
+
+            long[] points = new long[names.length * VIRTUAL_NODES];
+            int[] pointOwners = new int[points.length];
+            int count = 0;
+            for (int shard = 0; shard < names.length; shard++) {
+                long seed = (long) names[shard].hashCode() << 32;
+                for (int node = 0; node < VIRTUAL_NODES; node++) {
+                    points[count] = ConcurrentMemberRepository.hash(seed | node);
+                    pointOwners[count++] = shard;
+                }
+            }
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> points[a] != points[b]
+                    ? Long.compare(points[a], points[b])
+                    : names[pointOwners[a]].compareTo(names[pointOwners[b]])); // 해시가 같으면 이름순 (샤드 추가 순서와 무관하게)
+            this.tokens = new long[count];
+            this.ownerIndexes = new int[count];
+            for (int i = 0; i < count; i++) {
+                tokens[i] = points[order[i]];
+                ownerIndexes[i] = pointOwners[order[i]];
+            }
+        }
+
+        int ownerIndex(long memberId) {
+            int found = Arrays.binarySearch(tokens, routingHash(memberId));
+            int index = found >= 0 ? found : -found - 1;
+            return ownerIndexes[index == tokens.length ? 0 : index];
+        }
+
+        MemberRepository shardFor(long memberId) {
+            return owners[ownerIndex(memberId)];
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package hello.core.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 인터페이스의 모든 메소드 호출 시간을 재는 동적 프록시
+ *
+ * Timer 이름은 "이름.메소드명" (ex. memberRepository.findById, 오버로딩된 메소드는 같은 Timer 를 씀)
+ * 같은 인터페이스 타입을 돌려주는 메소드 (ex. DiscountPolicy.current) 는 돌려준 객체도 같은 이름으로 감싸서 돌려줌
+ * -> OrderServiceImpl 이 current() 로 꺼낸 정책의 discount 호출도 discountPolicy.discount 로 기록됨
+ */
+public class InstrumentedProxy<T> implements InvocationHandler {
+
+    private final Class<T> type;
+    private final T target;
+    private final MeterRegistry registry;
+    private final String name;
+    private final Map<Method, Timer> timers = new HashMap<>();
+    private final T proxy;
+    private volatile Returned returned; // 마지막으로 감싼 반환 객체 (같은 객체를 계속 돌려주면 다시 감싸지 않음)
+
+    private InstrumentedProxy(Class<T> type, T target, MeterRegistry registry, String name) {
+        this.type = type;
+        this.target = target;
+        this.registry = registry;
+        this.name = name;
+        for (Method method : type.getMethods()) {
+            timers.put(method, registry.timer(name + "." + method.getName()));
+        }
+        this.proxy = type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, this));
+    }
+
+    public static <T> T wrap(Class<T> type, T target, MeterRegistry registry, String name) {
+        return new InstrumentedProxy<>(type, target, registry, name).proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Timer timer = timers.get(method);
+        if (timer == null) { // Object 의 메소드 (toString, equals, hashCode)
+            return method.invoke(target, args);
+        }
+
+        boolean error = false;
+        long start = System.nanoTime();
+        try {
+            return wrapReturned(method, method.invoke(target, args));
+        } catch (InvocationTargetException e) {
+            error = true;
+            throw e.getCause();
+        } finally {
+            timer.record(System.nanoTime() - start, error);
+        }
+    }
+
+    private Object wrapReturned(Method method, Object result) {
+        if (result == null || method.getReturnType() != type) {
+            return result;
+        }
+        if (result == target) {
+            return proxy;
+        }
+        Returned last = returned;
+        if (last == null || last.result != result) {
+            last = new Returned(result, wrap(type, type.cast(result), registry, name));
+            returned = last;
+        }
+        return last.proxy;
+    }
+
+    private static final class Returned {
+        private final Object result;
+        private final Object proxy;
+
+        private Returned(Object result, Object proxy) {
+            this.result = result;
+            this.proxy = proxy;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package hello.core.metrics;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이름별 Timer 모음 + 텍스트 / JSON 으로 꺼내기
+ *
+ * 켜고 끄는 것은 AppConfig 에서 함 (-Dmetrics.enabled=true 일 때만 서비스, 저장소를 InstrumentedProxy 로 감쌈)
+ * 꺼져 있으면 원래 객체를 그대로 쓰므로 비용이 전혀 없음
+ */
+public class MeterRegistry {
+
+    private final Map<String, Timer> timers = new ConcurrentSkipListMap<>(); // 이름순으로 출력
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    /**
+     * @return 한 줄에 Timer 하나씩
+     */
+    public String scrape() {
+        StringBuilder text = new StringBuilder();
+        for (Timer timer : timers.values()) {
+            text.append(timer).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return {"orderService.createOrder":{"count":..,"errors":..,"p99Nanos":..}, ...}
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        for (Timer timer : timers.values()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(timer.getName().replace("\\", "\\\\").replace("\"", "\\\"")).append("\":")
+                    .append(timer.toJson());
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * period 마다 out 으로 scrape() 결과를 출력 (데몬 스레드, 반환된 객체를 shutdown 하면 멈춤)
+     */
+    public ScheduledExecutorService dumpEvery(long period, TimeUnit unit, PrintStream out) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.print(scrape()), period, period, unit);
+        return scheduler;
+    }
+}
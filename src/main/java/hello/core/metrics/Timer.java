@@ -0,0 +1,74 @@
+package hello.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메소드 하나의 호출 횟수, 오류 횟수, 지연 시간 분포
+ */
+public class Timer {
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder errorCount = new LongAdder();
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param error 예외로 끝난 호출이면 true (지연 시간도 같이 기록함)
+     */
+    public void record(long nanos, boolean error) {
+        histogram.record(nanos);
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * ex) orderService.createOrder count=1200 errors=0 mean=1.2us p50=0.9us p99=8.1us p99.9=40.2us max=120.5us
+     */
+    @Override
+    public String toString() {
+        return name +
+                " count=" + getCount() +
+                " errors=" + getErrorCount() +
+                " mean=" + micros(histogram.getMean()) +
+                " p50=" + micros(histogram.getValueAtPercentile(50)) +
+                " p99=" + micros(histogram.getValueAtPercentile(99)) +
+                " p99.9=" + micros(histogram.getValueAtPercentile(99.9)) +
+                " max=" + micros(histogram.getMax());
+    }
+
+    String toJson() {
+        return "{\"count\":" + getCount() +
+                ",\"errors\":" + getErrorCount() +
+                ",\"meanNanos\":" + Math.round(histogram.getMean()) +
+                ",\"p50Nanos\":" + histogram.getValueAtPercentile(50) +
+                ",\"p99Nanos\":" + histogram.getValueAtPercentile(99) +
+                ",\"p999Nanos\":" + histogram.getValueAtPercentile(99.9) +
+                ",\"maxNanos\":" + histogram.getMax() +
+                "}";
+    }
+
+    private static String micros(double nanos) {
+        return String.format("%.1fus", nanos / TimeUnit.MICROSECONDS.toNanos(1));
+    }
+}
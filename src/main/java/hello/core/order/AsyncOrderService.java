@@ -0,0 +1,19 @@
+package hello.core.order;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 주문 서비스의 비동기 버전 (회원 조회를 기다리는 동안 호출한 스레드를 막지 않음)
+ */
+public interface AsyncOrderService {
+
+    CompletableFuture<Order> createOrder(long memberId, String itemName, int itemPrice);
+
+    /**
+     * 여러 주문을 한꺼번에 생성 (서로 다른 회원은 동시에 조회함)
+     *
+     * @return 요청 순서대로 담긴 주문들로 완료되는 future, 하나라도 실패하면 그 예외로 완료됨
+     */
+    CompletableFuture<List<Order>> createOrders(List<OrderRequest> requests);
+}
@@ -0,0 +1,65 @@
+package hello.core.order;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.PricingContext;
+import hello.core.member.AsyncMemberRepository;
+import hello.core.member.Member;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 회원 조회 future 에 할인 계산을 이어 붙이는 주문 서비스
+ *
+ * 할인 계산은 회원 조회가 끝난 스레드에서 바로 이어서 실행됨 (thenApply)
+ * 할인 정책 버전은 주문을 받은 순간의 버전으로 고정함 (회원을 기다리는 동안 정책이 바뀌어도 같은 버전으로 계산)
+ * PricingContext 도 주문을 받은 스레드에서 꺼내 두었다가 할인을 계산하는 스레드에서 다시 묶음
+ */
+public class AsyncOrderServiceImpl implements AsyncOrderService {
+
+    private final AsyncMemberRepository memberRepository;
+    private final DiscountPolicy discountPolicy;
+
+    public AsyncOrderServiceImpl(AsyncMemberRepository memberRepository, DiscountPolicy discountPolicy) {
+        this.memberRepository = memberRepository;
+        this.discountPolicy = discountPolicy;
+    }
+
+    @Override
+    public CompletableFuture<Order> createOrder(long memberId, String itemName, int itemPrice) {
+        DiscountPolicy policy = discountPolicy.current();
+        PricingContext context = PricingContext.current();
+        return memberRepository.findById(memberId)
+                .thenApply(member -> order(member, memberId, itemName, itemPrice, policy, context));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> createOrders(List<OrderRequest> requests) {
+        DiscountPolicy policy = discountPolicy.current();
+        PricingContext context = PricingContext.current();
+        Map<Long, CompletableFuture<Member>> members = new HashMap<>(requests.size() * 4 / 3 + 1);
+        List<CompletableFuture<Order>> orders = new ArrayList<>(requests.size());
+        for (OrderRequest request : requests) {
+            long memberId = request.getMemberId();
+            // 같은 회원은 한 번만 조회, 서로 다른 회원은 조회를 모두 먼저 내보내고 동시에 기다림
+            CompletableFuture<Member> member = members.computeIfAbsent(memberId, memberRepository::findById);
+            orders.add(member.thenApply(found -> order(found, memberId, request.getItemName(), request.getItemPrice(), policy, context)));
+        }
+        return CompletableFuture.allOf(orders.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    List<Order> result = new ArrayList<>(orders.size());
+                    for (CompletableFuture<Order> order : orders) {
+                        result.add(order.join());
+                    }
+                    return result;
+                });
+    }
+
+    private static Order order(Member member, long memberId, String itemName, int itemPrice, DiscountPolicy policy, PricingContext context) {
+        int discountPrice = PricingContext.call(context, () -> policy.discount(member, itemName, itemPrice));
+        return new Order(memberId, itemName, itemPrice, discountPrice, policy.version());
+    }
+}
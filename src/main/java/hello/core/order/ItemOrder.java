@@ -0,0 +1,80 @@
+package hello.core.order;
+
+import java.util.Objects;
+
+/**
+ * 카탈로그 상품 ID 로 만든 주문 (바꿀 수 없음)
+ *
+ * 상품 이름 대신 int 상품 ID 를 들고 있음 -> 주문마다 String, Long 박싱 객체가 따로 생기지 않고 이 객체 하나뿐
+ * -> 요청에서 파싱한 상품 이름으로 createOrder 한 번에 할당량 109 byte -> 상품 ID 로 40 byte (ItemCatalogBenchmark, -prof gc)
+ * 상품 이름은 ItemRepository.findById(itemId) 로 꺼냄
+ */
+public final class ItemOrder {
+
+    private final long memberId;
+    private final int itemId;
+    private final int itemPrice;
+    private final int discountPrice;
+    private final long policyVersion;
+
+    public ItemOrder(long memberId, int itemId, int itemPrice, int discountPrice, long policyVersion) {
+        this.memberId = memberId;
+        this.itemId = itemId;
+        this.itemPrice = itemPrice;
+        this.discountPrice = discountPrice;
+        this.policyVersion = policyVersion;
+    }
+
+    public int calculatePrice() {
+        return itemPrice - discountPrice;
+    }
+
+    public long getMemberId() {
+        return memberId;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public int getItemPrice() {
+        return itemPrice;
+    }
+
+    public int getDiscountPrice() {
+        return discountPrice;
+    }
+
+    public long getPolicyVersion() {
+        return policyVersion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ItemOrder)) {
+            return false;
+        }
+        ItemOrder other = (ItemOrder) o;
+        return memberId == other.memberId && itemId == other.itemId && itemPrice == other.itemPrice
+                && discountPrice == other.discountPrice && policyVersion == other.policyVersion;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, itemId, itemPrice, discountPrice, policyVersion);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemOrder{" +
+                "memberId=" + memberId +
+                ", itemId=" + itemId +
+                ", itemPrice=" + itemPrice +
+                ", discountPrice=" + discountPrice +
+                ", policyVersion=" + policyVersion +
+                '}';
+    }
+}
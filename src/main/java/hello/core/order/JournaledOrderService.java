@@ -0,0 +1,83 @@
+package hello.core.order;
+
+import hello.core.item.Item;
+import hello.core.item.ItemRepository;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 만든 주문을 OrderJournal 에 기록한 다음에 반환하는 주문 서비스
+ *
+ * 주문이 fsync 될 때까지 기다렸다가 반환하므로, 반환된 주문은 프로세스가 죽어도 남아 있음
+ * 여러 스레드에서 동시에 주문하면 저널이 모아서 한 번에 fsync 하므로, 주문마다 fsync 하는 것보다 처리량이 훨씬 높음
+ */
+public class JournaledOrderService implements OrderService {
+
+    private final OrderService delegate;
+    private final OrderJournal journal;
+    private final ItemRepository itemRepository;
+
+    /**
+     * 상품 카탈로그 없이 (상품 ID 로 주문하면 IllegalStateException)
+     */
+    public JournaledOrderService(OrderService delegate, OrderJournal journal) {
+        this(delegate, journal, null);
+    }
+
+    /**
+     * @param itemRepository delegate 와 같은 상품 카탈로그 (저널에는 상품 ID 대신 상품 이름을 기록하므로)
+     */
+    public JournaledOrderService(OrderService delegate, OrderJournal journal, ItemRepository itemRepository) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public Order createOrder(Long memberId, String itemName, int itemPrice) {
+        Order order = delegate.createOrder(memberId, itemName, itemPrice);
+        await(journal.append(order));
+        return order;
+    }
+
+    /**
+     * 저널에는 상품 이름으로 기록함 (다시 불러온 카탈로그의 상품 ID 가 달라져도 다시 읽을 수 있도록)
+     * 카탈로그를 먼저 확인하므로, 저널에 기록할 수 없는 주문은 만들지 않음
+     */
+    @Override
+    public ItemOrder createOrder(long memberId, int itemId) {
+        Item item = OrderServiceImpl.findItem(itemRepository, itemId);
+        ItemOrder order = delegate.createOrder(memberId, itemId);
+        await(journal.append(new Order(memberId, item.getName(), order.getItemPrice(), order.getDiscountPrice(), order.getPolicyVersion())));
+        return order;
+    }
+
+    /**
+     * 주문을 모두 저널에 넘긴 다음 한꺼번에 기다림 (대부분 한두 번의 fsync 로 끝남)
+     */
+    @Override
+    public Orders createOrders(List<OrderRequest> requests) {
+        Orders orders = delegate.createOrders(requests);
+        CompletableFuture<?>[] appended = new CompletableFuture<?>[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            appended[i] = journal.append(orders.get(i));
+        }
+        await(CompletableFuture.allOf(appended));
+        return orders;
+    }
+
+    private static void await(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException || cause instanceof IllegalStateException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+}
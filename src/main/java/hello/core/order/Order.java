@@ -10,10 +10,18 @@ public class Order {
     }
 
     public Order(Long memberId, String itemName, int itemPrice, int discountPrice) {
+        this(memberId, itemName, itemPrice, discountPrice, 0L);
+    }
+
+    /**
+     * @param policyVersion 할인 금액을 계산한 할인 정책 버전
+     */
+    public Order(Long memberId, String itemName, int itemPrice, int discountPrice, long policyVersion) {
         this.memberId = memberId;
         this.itemName = itemName;
         this.itemPrice = itemPrice;
         this.discountPrice = discountPrice;
+        this.policyVersion = policyVersion;
     }
 
     public Long getMemberId() {
@@ -48,6 +56,10 @@ public class Order {
         this.discountPrice = discountPrice;
     }
 
+    public long getPolicyVersion() {
+        return policyVersion;
+    }
+
     @Override
     public String toString() {
         return "Order{" +
@@ -55,6 +67,7 @@ public class Order {
                 ", itemName='" + itemName + '\'' +
                 ", itemPrice=" + itemPrice +
                 ", discountPrice=" + discountPrice +
+                ", policyVersion=" + policyVersion +
                 '}';
     }
 
@@ -62,4 +75,5 @@ public class Order {
     private String itemName;
     private int itemPrice;
     private int discountPrice;
+    private long policyVersion;
 }
@@ -0,0 +1,198 @@
+package hello.core.order;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * OrderExportWriter 로 내보낸 파일을 주문 1건씩 읽는 커서
+ *
+ * 파일을 메모리 매핑해서 매핑된 버퍼에서 바로 디코딩함 (힙으로 복사하지 않음)
+ * 블록을 넘어갈 때 그 블록의 컬럼을 primitive 배열로 풀어 두고, 상품명 String 은 사전에 처음 나올 때 한 번만 만듦
+ * -> next() / getXxx() 는 객체를 만들지 않음 (Order 가 필요할 때만 toOrder)
+ *
+ * ex) try (OrderExportReader reader = new OrderExportReader(file)) {
+ *         while (reader.next()) {
+ *             total += reader.getItemPrice();
+ *         }
+ *     }
+ */
+public class OrderExportReader implements AutoCloseable {
+
+    private static final long MAX_WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long nextBlock = Long.BYTES;
+    private final List<String> dictionary = new ArrayList<>();
+
+    private final long[] memberIds = new long[OrderExportWriter.BLOCK_ROWS];
+    private final int[] itemNames = new int[OrderExportWriter.BLOCK_ROWS];
+    private final int[] itemPrices = new int[OrderExportWriter.BLOCK_ROWS];
+    private final int[] discountPrices = new int[OrderExportWriter.BLOCK_ROWS];
+    private final long[] policyVersions = new long[OrderExportWriter.BLOCK_ROWS];
+    private int rows;
+    private int row = -1;
+
+    public OrderExportReader(Path file) {
+        try {
+            this.channel = FileChannel.open(file, READ);
+            this.fileSize = channel.size();
+            if (fileSize < Long.BYTES) {
+                throw new IllegalStateException("not an order export file: " + file);
+            }
+            map(0);
+            if (window.getLong(0) != OrderExportWriter.MAGIC) {
+                throw new IllegalStateException("not an order export file: " + file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 다음 주문으로 이동
+     *
+     * @return 더 읽을 주문이 없으면 false
+     */
+    public boolean next() {
+        if (++row < rows) {
+            return true;
+        }
+        if (nextBlock >= fileSize) {
+            row = rows;
+            return false;
+        }
+        readBlock();
+        row = 0;
+        return true;
+    }
+
+    public long getMemberId() {
+        return memberIds[row];
+    }
+
+    public String getItemName() {
+        int id = itemNames[row];
+        return id == 0 ? null : dictionary.get(id - 1);
+    }
+
+    public int getItemPrice() {
+        return itemPrices[row];
+    }
+
+    public int getDiscountPrice() {
+        return discountPrices[row];
+    }
+
+    public long getPolicyVersion() {
+        return policyVersions[row];
+    }
+
+    public Order toOrder() {
+        return new Order(getMemberId(), getItemName(), getItemPrice(), getDiscountPrice(), getPolicyVersion());
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readBlock() {
+        int position = windowOffset(nextBlock, Integer.BYTES);
+        int blockBytes = window.getInt(position);
+        if (nextBlock + Integer.BYTES + blockBytes > fileSize) {
+            throw new IllegalStateException("truncated block at " + nextBlock);
+        }
+        position = windowOffset(nextBlock, Integer.BYTES + blockBytes) + Integer.BYTES;
+        nextBlock += Integer.BYTES + blockBytes;
+
+        rows = window.getInt(position);
+        int newNames = window.getInt(position + Integer.BYTES);
+        window.position(position + Integer.BYTES * 2);
+        for (int i = 0; i < newNames; i++) {
+            byte[] bytes = new byte[(int) getVarlong()];
+            window.get(bytes);
+            dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        window.getInt();
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(getVarlong());
+            memberIds[i] = previous;
+        }
+        window.getInt();
+        for (int i = 0; i < rows; i++) {
+            itemNames[i] = (int) getVarlong();
+        }
+        window.getInt();
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(getVarlong());
+            itemPrices[i] = (int) previous;
+        }
+        window.getInt();
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(getVarlong());
+            discountPrices[i] = (int) previous;
+        }
+        window.getInt();
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(getVarlong());
+            policyVersions[i] = previous;
+        }
+    }
+
+    /**
+     * 파일 위치 [filePosition, filePosition + bytes) 가 매핑된 창 안에 들어오도록 하고, 창 안에서의 위치를 반환
+     */
+    private int windowOffset(long filePosition, int bytes) {
+        if (filePosition < windowStart || filePosition + bytes > windowStart + window.capacity()) {
+            map(filePosition);
+        }
+        return (int) (filePosition - windowStart);
+    }
+
+    private void map(long filePosition) {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, filePosition,
+                    Math.min(fileSize - filePosition, MAX_WINDOW_BYTES));
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            windowStart = filePosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long getVarlong() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = window.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
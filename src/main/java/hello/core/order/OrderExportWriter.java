@@ -0,0 +1,235 @@
+package hello.core.order;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 주문을 분석용 컬럼형 바이너리 파일로 내보냄 (OrderExportReader 로 읽음)
+ *
+ * 주문을 BLOCK_ROWS 개씩 모아서 블록 하나로 씀 (블록 안에서는 컬럼별로 모아서 저장)
+ *  파일 : [long magic] [블록]*
+ *  블록 : [int 블록 길이 (이 필드 제외)] [int 주문 수]
+ *         [int 새 상품명 수] [(varint 길이, UTF-8 바이트)]*   <- 이 블록에서 처음 나온 상품명만 사전에 추가
+ *         [int 바이트 수][회원 ID 컬럼] [int 바이트 수][상품명 컬럼] [int 바이트 수][상품 가격 컬럼]
+ *         [int 바이트 수][할인 금액 컬럼] [int 바이트 수][할인 정책 버전 컬럼]
+ * - 회원 ID, 가격, 할인 금액, 정책 버전 : 바로 앞 주문과의 차이를 zigzag varint 로 (비슷한 값이 이어지면 1 바이트)
+ * - 상품명 : 파일 전체에서 공유하는 사전의 번호를 varint 로 (0 은 null, 상품명 문자열은 파일에 한 번만 저장됨)
+ *
+ * 블록은 direct buffer 에 인코딩한 뒤 FileChannel 로 바로 씀 (힙 배열로 한 번 더 복사하지 않음)
+ * 스레드 안전하지 않음
+ */
+public class OrderExportWriter implements AutoCloseable {
+
+    static final long MAGIC = 0x4f5244434f4c3031L; // ORDCOL01
+    static final int BLOCK_ROWS = 4096;
+
+    private final FileChannel channel;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final String[] newNames = new String[BLOCK_ROWS];
+    private int newNameCount;
+
+    private final long[] memberIds = new long[BLOCK_ROWS];
+    private final int[] itemNames = new int[BLOCK_ROWS];
+    private final int[] itemPrices = new int[BLOCK_ROWS];
+    private final int[] discountPrices = new int[BLOCK_ROWS];
+    private final long[] policyVersions = new long[BLOCK_ROWS];
+    private int rows;
+    private long totalRows;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+    private boolean closed;
+
+    public OrderExportWriter(Path file) {
+        try {
+            this.channel = FileChannel.open(file, WRITE, CREATE, TRUNCATE_EXISTING);
+            buffer.putLong(MAGIC).flip();
+            writeBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(Order order) {
+        write(Objects.requireNonNull(order.getMemberId(), "member id"), order.getItemName(),
+                order.getItemPrice(), order.getDiscountPrice(), order.getPolicyVersion());
+    }
+
+    /**
+     * Order 객체 없이 주문 1건을 씀 (OrderRingBuffer 에서 바로 내보낼 때)
+     */
+    public void write(long memberId, String itemName, int itemPrice, int discountPrice, long policyVersion) {
+        if (closed) {
+            throw new IllegalStateException("writer is closed");
+        }
+        memberIds[rows] = memberId;
+        itemNames[rows] = nameId(itemName);
+        itemPrices[rows] = itemPrice;
+        discountPrices[rows] = discountPrice;
+        policyVersions[rows] = policyVersion;
+        if (++rows == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * @return 지금까지 쓴 주문 수
+     */
+    public long getRowCount() {
+        return totalRows + rows;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            flushBlock();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closed = true;
+        }
+    }
+
+    private int nameId(String itemName) {
+        if (itemName == null) {
+            return 0;
+        }
+        Integer id = dictionary.get(itemName);
+        if (id == null) {
+            id = dictionary.size() + 1;
+            dictionary.put(itemName, id);
+            newNames[newNameCount++] = itemName;
+        }
+        return id;
+    }
+
+    private void flushBlock() {
+        if (rows == 0) {
+            return;
+        }
+        buffer.clear();
+        ensureCapacity(Integer.BYTES * 3);
+        int start = buffer.position();
+        buffer.putInt(0); // 블록 길이는 마지막에 채움
+        buffer.putInt(rows);
+        buffer.putInt(newNameCount);
+        for (int i = 0; i < newNameCount; i++) {
+            byte[] bytes = newNames[i].getBytes(StandardCharsets.UTF_8);
+            ensureCapacity(5 + bytes.length);
+            putVarint(bytes.length);
+            buffer.put(bytes);
+            newNames[i] = null;
+        }
+
+        int lengthAt = beginColumn();
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            putVarlong(zigzag(memberIds[i] - previous));
+            previous = memberIds[i];
+        }
+        endColumn(lengthAt);
+
+        lengthAt = beginColumn();
+        for (int i = 0; i < rows; i++) {
+            putVarint(itemNames[i]);
+        }
+        endColumn(lengthAt);
+
+        lengthAt = beginColumn();
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            putVarlong(zigzag((long) itemPrices[i] - previous));
+            previous = itemPrices[i];
+        }
+        endColumn(lengthAt);
+
+        lengthAt = beginColumn();
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            putVarlong(zigzag((long) discountPrices[i] - previous));
+            previous = discountPrices[i];
+        }
+        endColumn(lengthAt);
+
+        lengthAt = beginColumn();
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            putVarlong(zigzag(policyVersions[i] - previous));
+            previous = policyVersions[i];
+        }
+        endColumn(lengthAt);
+
+        buffer.putInt(start, buffer.position() - start - Integer.BYTES);
+        buffer.flip();
+        try {
+            writeBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        newNameCount = 0;
+        totalRows += rows;
+        rows = 0;
+    }
+
+    /**
+     * 컬럼마다 varint 최대 길이 (10 바이트) x 주문 수만큼 미리 공간을 확보함
+     */
+    private int beginColumn() {
+        ensureCapacity(Integer.BYTES + 10 * rows);
+        int lengthAt = buffer.position();
+        buffer.putInt(0);
+        return lengthAt;
+    }
+
+    private void endColumn(int lengthAt) {
+        buffer.putInt(lengthAt, buffer.position() - lengthAt - Integer.BYTES);
+    }
+
+    private void writeBuffer() throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    private void putVarint(int value) {
+        putVarlong(value & 0xFFFFFFFFL);
+    }
+
+    private void putVarlong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,329 @@
+package hello.core.order;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 주문을 잃어버리지 않도록 파일 끝에 계속 붙여 쓰는 주문 저널 (append-only)
+ *
+ * 주문마다 fsync 하면 디스크 한 번 쓰는 시간 (수 ms) 마다 주문 1건밖에 처리하지 못하므로, group commit 으로 묶어서 씀
+ * - 여러 스레드가 append 한 주문은 큐에 쌓이고, 저널 스레드 하나가 모아서 한 번에 쓰고 fsync 함
+ * - 첫 주문이 들어온 뒤 maxDelay 동안 또는 maxBatch 건이 찰 때까지 모음 (maxDelay 가 0 이면 이미 쌓인 것만 모음)
+ * - append 가 돌려준 future 는 그 주문이 fsync 된 다음에 완료됨 (값은 저널 안에서의 순번)
+ *
+ * 레코드 : [int payload 길이][int CRC32][long 순번][long 회원 ID][int 상품 가격][int 할인 금액][long 정책 버전]
+ *          [int 상품명 길이 (null 이면 -1)][UTF-8 상품명]
+ * 시작할 때 처음부터 읽어서 다음 순번을 정하고, 마지막 레코드가 잘려 있으면 (길이나 CRC 가 맞지 않으면) 그 위치에서 잘라냄
+ */
+public class OrderJournal implements AutoCloseable {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES;
+    private static final int MIN_PAYLOAD_BYTES = Long.BYTES * 3 + Integer.BYTES * 3;
+    private static final int MAX_PAYLOAD_BYTES = 1 << 20;
+    private static final Pending CLOSE = new Pending(null, null);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private long nextSequence;
+    private volatile long committedBytes;
+    private volatile boolean closed;
+
+    private final LongAdder commitCount = new LongAdder();
+    private final LongAdder committedOrders = new LongAdder();
+
+    /**
+     * @param maxBatch 한 번에 fsync 할 최대 주문 수
+     * @param maxDelay 첫 주문이 들어온 뒤 다른 주문을 더 기다리는 최대 시간
+     */
+    public OrderJournal(Path file, int maxBatch, long maxDelay, TimeUnit unit) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be positive: " + maxBatch);
+        }
+        this.file = file;
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        try {
+            this.channel = FileChannel.open(file, READ, WRITE, CREATE);
+            Recovered recovered = read(channel, channel.size(), order -> { });
+            if (recovered.bytes < channel.size()) {
+                channel.truncate(recovered.bytes);
+                channel.force(true);
+            }
+            this.nextSequence = recovered.orders;
+            this.committedBytes = recovered.bytes;
+            channel.position(recovered.bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.committer = new Thread(this::commitLoop, "order-journal");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * @return 주문이 fsync 되면 완료되는 future (값은 저널 안에서의 순번, 0 부터)
+     */
+    public CompletableFuture<Long> append(Order order) {
+        Objects.requireNonNull(order.getMemberId(), "member id");
+        // 상품명 인코딩은 저널 스레드가 아니라 호출한 스레드에서 (저널 스레드는 쓰기 / fsync 만 하도록)
+        byte[] name = order.getItemName() == null ? null : order.getItemName().getBytes(StandardCharsets.UTF_8);
+        if (name != null && MIN_PAYLOAD_BYTES + name.length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("item name is too long: " + name.length + " bytes");
+        }
+        Pending pending = new Pending(order, name);
+        if (closed) {
+            pending.future.completeExceptionally(new IllegalStateException("journal is closed"));
+            return pending.future;
+        }
+        queue.add(pending);
+        return pending.future;
+    }
+
+    /**
+     * fsync 가 끝난 주문을 처음부터 순서대로 넘겨줌
+     *
+     * @return 넘겨준 주문 수
+     */
+    public long replay(Consumer<? super Order> action) {
+        try (FileChannel reader = FileChannel.open(file, READ)) {
+            return read(reader, committedBytes, action).orders;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return fsync 한 횟수
+     */
+    public long getCommitCount() {
+        return commitCount.sum();
+    }
+
+    /**
+     * @return 이번에 연 뒤로 fsync 된 주문 수
+     */
+    public long getCommittedOrders() {
+        return committedOrders.sum();
+    }
+
+    /**
+     * 이미 append 된 주문은 모두 쓴 뒤에 닫음
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(CLOSE);
+        try {
+            committer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commitLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        boolean closing = false;
+        while (!closing) {
+            try {
+                Pending first = queue.take();
+                long deadline = System.nanoTime() + maxDelayNanos;
+                closing = first == CLOSE;
+                if (!closing) {
+                    batch.add(first);
+                }
+                while (!closing && batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == CLOSE) {
+                        closing = true;
+                    } else {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                closing = true;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+        // close 와 엇갈려 들어온 주문
+        Pending late;
+        while ((late = queue.poll()) != null) {
+            if (late != CLOSE) {
+                late.future.completeExceptionally(new IllegalStateException("journal is closed"));
+            }
+        }
+    }
+
+    /**
+     * 모은 주문을 한 번에 쓰고 fsync 한 다음 future 를 완료함
+     */
+    private void commit(List<Pending> batch) {
+        long firstSequence = nextSequence;
+        try {
+            buffer.clear();
+            for (Pending pending : batch) {
+                encode(nextSequence++, pending.order, pending.name);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            nextSequence = firstSequence;
+            try {
+                channel.truncate(committedBytes); // 일부만 써진 레코드를 남기지 않음
+                channel.position(committedBytes);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            for (Pending pending : batch) {
+                pending.future.completeExceptionally(e instanceof IOException ? new UncheckedIOException((IOException) e) : e);
+            }
+            return;
+        }
+        committedBytes += buffer.limit();
+        commitCount.increment();
+        committedOrders.add(batch.size());
+        long sequence = firstSequence;
+        for (Pending pending : batch) {
+            pending.future.complete(sequence++);
+        }
+    }
+
+    private void encode(long sequence, Order order, byte[] name) {
+        int payloadBytes = MIN_PAYLOAD_BYTES + (name == null ? 0 : name.length);
+        ensureCapacity(HEADER_BYTES + payloadBytes);
+        int start = buffer.position();
+        buffer.putInt(payloadBytes);
+        buffer.putInt(0); // CRC 는 마지막에 채움
+        buffer.putLong(sequence);
+        buffer.putLong(order.getMemberId());
+        buffer.putInt(order.getItemPrice());
+        buffer.putInt(order.getDiscountPrice());
+        buffer.putLong(order.getPolicyVersion());
+        buffer.putInt(name == null ? -1 : name.length);
+        if (name != null) {
+            buffer.put(name);
+        }
+        crc.reset();
+        crc.update(buffer.duplicate().position(start + HEADER_BYTES).limit(buffer.position()));
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    /**
+     * [0, limit) 를 처음부터 읽으면서 온전한 레코드만 넘겨줌 (잘리거나 CRC 가 맞지 않는 레코드에서 멈춤)
+     */
+    private static Recovered read(FileChannel source, long limit, Consumer<? super Order> action) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(source.position(0)), 64 * 1024));
+        CRC32 crc = new CRC32();
+        long position = 0;
+        long orders = 0;
+        while (position + HEADER_BYTES <= limit) {
+            int payloadBytes;
+            int expectedCrc;
+            byte[] payload;
+            try {
+                payloadBytes = in.readInt();
+                expectedCrc = in.readInt();
+                if (payloadBytes < MIN_PAYLOAD_BYTES || payloadBytes > MAX_PAYLOAD_BYTES
+                        || position + HEADER_BYTES + payloadBytes > limit) {
+                    break;
+                }
+                payload = new byte[payloadBytes];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                break;
+            }
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.wrap(payload);
+            record.getLong(); // 순번 (레코드 위치와 같음)
+            long memberId = record.getLong();
+            int itemPrice = record.getInt();
+            int discountPrice = record.getInt();
+            long policyVersion = record.getLong();
+            int nameLength = record.getInt();
+            String itemName = nameLength < 0 ? null
+                    : new String(payload, record.position(), nameLength, StandardCharsets.UTF_8);
+            action.accept(new Order(memberId, itemName, itemPrice, discountPrice, policyVersion));
+            position += HEADER_BYTES + payloadBytes;
+            orders++;
+        }
+        return new Recovered(position, orders);
+    }
+
+    private static final class Recovered {
+        final long bytes;
+        final long orders;
+
+        Recovered(long bytes, long orders) {
+            this.bytes = bytes;
+            this.orders = orders;
+        }
+    }
+
+    private static final class Pending {
+        final Order order;
+        final byte[] name;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        Pending(Order order, byte[] name) {
+            this.order = order;
+            this.name = name;
+        }
+    }
+}
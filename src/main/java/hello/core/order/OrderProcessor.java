@@ -0,0 +1,102 @@
+package hello.core.order;
+
+import hello.core.discount.PricingContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 요청을 계속 받아서 처리하는 주문 처리기
+ *
+ * 요청 1건 = 스레드 1개 (가상 스레드) 에서 OrderService.createOrder 호출
+ * 동시에 처리 중인 요청은 maxInFlight 개로 제한함 (bounded admission)
+ * - 자리가 없으면 submit 을 호출한 쪽이 admissionTimeout 동안 기다림 (back-pressure)
+ * - 그래도 자리가 안 나면 RejectedExecutionException 으로 끝난 future 를 돌려줌
+ * submit 을 호출한 스레드의 PricingContext 를 요청을 처리하는 스레드에서 다시 묶음
+ */
+public class OrderProcessor implements AutoCloseable {
+
+    private final OrderService orderService;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Semaphore admission;
+    private final long admissionTimeoutNanos;
+
+    private OrderProcessor(OrderService orderService, ExecutorService executor, int maxInFlight, long admissionTimeoutNanos) {
+        this.orderService = orderService;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.admission = new Semaphore(maxInFlight);
+        this.admissionTimeoutNanos = admissionTimeoutNanos;
+    }
+
+    /**
+     * 요청마다 가상 스레드를 하나씩 띄움
+     */
+    public static OrderProcessor virtualThreads(OrderService orderService, int maxInFlight, long admissionTimeout, TimeUnit unit) {
+        return new OrderProcessor(orderService, Executors.newVirtualThreadPerTaskExecutor(), maxInFlight, unit.toNanos(admissionTimeout));
+    }
+
+    /**
+     * 비교용 : 고정된 개수의 플랫폼 스레드 풀
+     */
+    public static OrderProcessor platformThreads(OrderService orderService, int threads, int maxInFlight, long admissionTimeout, TimeUnit unit) {
+        return new OrderProcessor(orderService, Executors.newFixedThreadPool(threads), maxInFlight, unit.toNanos(admissionTimeout));
+    }
+
+    public CompletableFuture<Order> submit(OrderRequest request) {
+        try {
+            if (!admission.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("too many orders in flight"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Order> result = new CompletableFuture<>();
+        PricingContext context = PricingContext.current();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(orderService.createOrder(request.getMemberId(), request.getItemName(), request.getItemPrice(), context));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    admission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) { // close() 이후에 들어온 요청
+            admission.release();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * @return 지금 처리 중인 요청 수
+     */
+    public int inFlight() {
+        return maxInFlight - admission.availablePermits();
+    }
+
+    /**
+     * 새 요청은 더 이상 받지 않고, 처리 중인 요청은 끝날 때까지 기다림
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package hello.core.order;
+
+import java.util.Objects;
+
+/**
+ * 주문 요청 (createOrders 로 한꺼번에 주문할 때 1건)
+ */
+public class OrderRequest {
+
+    public OrderRequest(Long memberId, String itemName, int itemPrice) {
+        this.memberId = Objects.requireNonNull(memberId, "memberId");
+        this.itemName = itemName;
+        this.itemPrice = itemPrice;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getItemPrice() {
+        return itemPrice;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderRequest{" +
+                "memberId=" + memberId +
+                ", itemName='" + itemName + '\'' +
+                ", itemPrice=" + itemPrice +
+                '}';
+    }
+
+    private final Long memberId;
+    private final String itemName;
+    private final int itemPrice;
+}
@@ -0,0 +1,97 @@
+package hello.core.order;
+
+/**
+ * 주문을 Order 객체로 만들지 않고 미리 잡아둔 배열에 돌려가며 기록하는 링 버퍼
+ *
+ * createOrder(long, String, int, OrderRingBuffer) 가 주문을 여기에 쓰고 순번 (sequence) 을 돌려줌
+ * 주문 정보는 순번으로 꺼냄 (getMemberId(sequence) 등), Order 가 꼭 필요할 때만 get(sequence) 로 만듦
+ * 배열은 처음에 한 번만 잡으므로 주문마다 힙에 새로 할당되는 객체가 없음
+ *
+ * 용량 (capacity) 만큼 지나간 주문은 새 주문으로 덮어써짐 -> 그 전에 꺼내서 처리해야 함
+ * 스레드 하나에서만 쓰는 것을 전제로 함 (스레드마다 하나씩 두면 됨)
+ */
+public class OrderRingBuffer {
+
+    public OrderRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.memberIds = new long[capacity];
+        this.itemNames = new String[capacity];
+        this.itemPrices = new int[capacity];
+        this.discountPrices = new int[capacity];
+        this.policyVersions = new long[capacity];
+    }
+
+    /**
+     * @return 기록한 주문의 순번 (0 부터 1씩 증가)
+     */
+    public long add(long memberId, String itemName, int itemPrice, int discountPrice, long policyVersion) {
+        long sequence = next++;
+        int index = (int) sequence & mask;
+        memberIds[index] = memberId;
+        itemNames[index] = itemName;
+        itemPrices[index] = itemPrice;
+        discountPrices[index] = discountPrice;
+        policyVersions[index] = policyVersion;
+        return sequence;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return 다음에 기록될 주문의 순번 (= 지금까지 기록한 주문 수)
+     */
+    public long nextSequence() {
+        return next;
+    }
+
+    public long getMemberId(long sequence) {
+        return memberIds[index(sequence)];
+    }
+
+    public String getItemName(long sequence) {
+        return itemNames[index(sequence)];
+    }
+
+    public int getItemPrice(long sequence) {
+        return itemPrices[index(sequence)];
+    }
+
+    public int getDiscountPrice(long sequence) {
+        return discountPrices[index(sequence)];
+    }
+
+    public long getPolicyVersion(long sequence) {
+        return policyVersions[index(sequence)];
+    }
+
+    public int calculatePrice(long sequence) {
+        int index = index(sequence);
+        return itemPrices[index] - discountPrices[index];
+    }
+
+    public Order get(long sequence) {
+        int index = index(sequence);
+        return new Order(memberIds[index], itemNames[index], itemPrices[index], discountPrices[index], policyVersions[index]);
+    }
+
+    private int index(long sequence) {
+        if (sequence < 0 || sequence >= next || sequence < next - capacity()) {
+            throw new IndexOutOfBoundsException("order " + sequence + " is not in buffer [" +
+                    Math.max(0, next - capacity()) + ", " + next + ")");
+        }
+        return (int) sequence & mask;
+    }
+
+    private final int mask;
+    private final long[] memberIds;
+    private final String[] itemNames;
+    private final int[] itemPrices;
+    private final int[] discountPrices;
+    private final long[] policyVersions;
+    private long next;
+}
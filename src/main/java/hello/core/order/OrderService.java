@@ -1,5 +1,51 @@
 package hello.core.order;
 
+import hello.core.discount.PricingContext;
+
+import java.util.List;
+
 public interface OrderService {
     Order createOrder(Long memberId, String itemName, int itemPrice);
+
+    /**
+     * 주문을 계산하는 동안 context (통화, 캠페인, 쿠폰) 를 묶어서 할인 정책이 PricingContext.current() 로 꺼내 쓸 수 있게 함
+     */
+    default Order createOrder(Long memberId, String itemName, int itemPrice, PricingContext context) {
+        return PricingContext.call(context, () -> createOrder(memberId, itemName, itemPrice));
+    }
+
+    /**
+     * 카탈로그 상품 ID 로 주문 (가격은 카탈로그 가격)
+     * 상품 이름은 주문을 받는 입구에서 ItemRepository.findId 로 한 번만 ID 로 바꿔서 넘김
+     *
+     * @throws IllegalArgumentException 카탈로그에 없는 상품 ID
+     * @throws IllegalStateException 상품 카탈로그 없이 만든 주문 서비스
+     */
+    ItemOrder createOrder(long memberId, int itemId);
+
+    /**
+     * 주문을 Order 객체로 만들지 않고 orders 에 기록 (주문마다 새로 할당하는 객체가 없도록)
+     * 기본 구현은 createOrder 결과를 옮겨 적기만 함
+     *
+     * @return orders 에 기록된 주문의 순번
+     */
+    default long createOrder(long memberId, String itemName, int itemPrice, OrderRingBuffer orders) {
+        Order order = createOrder(Long.valueOf(memberId), itemName, itemPrice);
+        return orders.add(memberId, itemName, itemPrice, order.getDiscountPrice(), order.getPolicyVersion());
+    }
+
+    /**
+     * 바꿀 수 없는 주문으로 생성 (여러 스레드에 복사 없이 넘길 수 있음)
+     * 기본 구현은 createOrder 결과를 옮겨 담음
+     */
+    default OrderValue createOrderValue(long memberId, String itemName, int itemPrice) {
+        return OrderValue.of(createOrder(Long.valueOf(memberId), itemName, itemPrice));
+    }
+
+    /**
+     * 여러 주문을 한꺼번에 생성 (회원은 중복을 제거해서 한 번에 조회함)
+     *
+     * @return 요청 순서대로 담긴 주문들
+     */
+    Orders createOrders(List<OrderRequest> requests);
 }
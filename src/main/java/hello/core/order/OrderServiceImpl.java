@@ -1,9 +1,16 @@
 package hello.core.order;
 
 import hello.core.discount.DiscountPolicy;
+import hello.core.item.Item;
+import hello.core.item.ItemRepository;
 import hello.core.member.Member;
 import hello.core.member.MemberRepository;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 
 /**
  * 이 클래스를 배우가 하는 역할을 정의한 문서라고 하면
@@ -13,10 +20,19 @@ import hello.core.member.MemberRepository;
 public class OrderServiceImpl implements OrderService {
     private final MemberRepository memberRepository; // = new MemoryMemberRepository();
     private final DiscountPolicy discountPolicy; // 인터페이스에만 의존하도록 코드 변경을 했지만 NPE 발생
+    private final ItemRepository itemRepository;
 
+    /**
+     * 상품 카탈로그 없이 (상품 ID 로 주문하면 IllegalStateException)
+     */
     public OrderServiceImpl(MemberRepository memberRepository, DiscountPolicy discountPolicy) {
+        this(memberRepository, discountPolicy, null);
+    }
+
+    public OrderServiceImpl(MemberRepository memberRepository, DiscountPolicy discountPolicy, ItemRepository itemRepository) {
         this.memberRepository = memberRepository;
         this.discountPolicy = discountPolicy;
+        this.itemRepository = itemRepository;
     }
     // 이 문제를 해결하려면 누군가가 클라이언트인 OrderServiceImpl 에 DiscountPolicy 의 구현 객체를 대신 생성하고 주입해줘야 함
 
@@ -31,9 +47,72 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public Order createOrder(Long memberId, String itemName, int itemPrice) {
         Member member = memberRepository.findById(memberId);
-        int discountPrice = discountPolicy.discount(member, itemPrice);
+        DiscountPolicy policy = discountPolicy.current(); // 계산 도중에 정책이 바뀌어도 이 주문은 이 버전으로 계산
+        int discountPrice = policy.discount(member, itemName, itemPrice);
 
-        return new Order(memberId, itemName, itemPrice, discountPrice);
+        return new Order(memberId, itemName, itemPrice, discountPrice, policy.version());
+    }
+
+    /**
+     * 박싱, Order 생성 없이 주문 (회원 저장소가 findById(long) 을 할당 없이 구현하면 주문 1건당 할당 0 byte)
+     */
+    @Override
+    public long createOrder(long memberId, String itemName, int itemPrice, OrderRingBuffer orders) {
+        Member member = memberRepository.findById(memberId);
+        DiscountPolicy policy = discountPolicy.current();
+        int discountPrice = policy.discount(member, itemName, itemPrice);
+
+        return orders.add(memberId, itemName, itemPrice, discountPrice, policy.version());
+    }
+
+    /**
+     * Order, Long 박싱 없이 OrderValue 하나만 만듦
+     */
+    @Override
+    public OrderValue createOrderValue(long memberId, String itemName, int itemPrice) {
+        Member member = memberRepository.findById(memberId);
+        DiscountPolicy policy = discountPolicy.current();
+        int discountPrice = policy.discount(member, itemName, itemPrice);
+
+        return new OrderValue(memberId, itemName, itemPrice, discountPrice, policy.version());
+    }
+
+    /**
+     * 상품 이름 대신 상품 ID 로 주문 (상품 이름을 해싱하지 않고, 주문에 String 을 담지 않음)
+     */
+    @Override
+    public ItemOrder createOrder(long memberId, int itemId) {
+        Item item = findItem(itemRepository, itemId);
+        Member member = memberRepository.findById(memberId);
+        DiscountPolicy policy = discountPolicy.current();
+        int discountPrice = policy.discountItem(member, item, item.getPrice());
+
+        return new ItemOrder(memberId, itemId, item.getPrice(), discountPrice, policy.version());
+    }
+
+    @Override
+    public Orders createOrders(List<OrderRequest> requests) {
+        int size = requests.size();
+        Set<Long> memberIds = new HashSet<>(size * 4 / 3 + 1);
+        for (OrderRequest request : requests) {
+            memberIds.add(request.getMemberId());
+        }
+        Map<Long, Member> members = memberRepository.findAllById(memberIds); // 주문마다 조회하지 않고 한 번에 조회
+
+        DiscountPolicy policy = discountPolicy.current();
+        long[] orderMemberIds = new long[size];
+        String[] itemNames = new String[size];
+        int[] itemPrices = new int[size];
+        int[] discountPrices = new int[size];
+        for (int i = 0; i < size; i++) {
+            OrderRequest request = requests.get(i);
+            int itemPrice = request.getItemPrice();
+            orderMemberIds[i] = request.getMemberId();
+            itemNames[i] = request.getItemName();
+            itemPrices[i] = itemPrice;
+            discountPrices[i] = policy.discount(members.get(request.getMemberId()), request.getItemName(), itemPrice);
+        }
+        return new Orders(orderMemberIds, itemNames, itemPrices, discountPrices, policy.version());
     }
 
     // 테스트 용도
@@ -41,4 +120,18 @@ public class OrderServiceImpl implements OrderService {
         return memberRepository;
     }
 
+    /**
+     * 상품 ID 로 주문하는 곳에서 같이 씀 (카탈로그가 없거나 없는 상품이면 똑같이 실패하도록)
+     */
+    static Item findItem(ItemRepository itemRepository, int itemId) {
+        if (itemRepository == null) {
+            throw new IllegalStateException("item catalog is not configured");
+        }
+        Item item = itemRepository.findById(itemId);
+        if (item == null) {
+            throw new IllegalArgumentException("unknown item id: " + itemId);
+        }
+        return item;
+    }
+
 }
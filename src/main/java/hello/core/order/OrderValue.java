@@ -0,0 +1,89 @@
+package hello.core.order;
+
+import java.util.Objects;
+
+/**
+ * 바꿀 수 없는 (immutable) 주문
+ *
+ * 모든 필드가 final 이고 primitive 라서 (상품명 String 도 immutable) 만든 뒤에는 복사 없이, 락 없이 어느 스레드에 넘겨도 됨
+ * 회원 ID 도 primitive long 이라 Long 박싱 객체가 따로 생기지 않음
+ * -> createOrder 한 번에 할당량 64 byte -> createOrderValue 40 byte (ValueTypeBenchmark, -prof gc)
+ */
+public final class OrderValue {
+
+    private final long memberId;
+    private final String itemName;
+    private final int itemPrice;
+    private final int discountPrice;
+    private final long policyVersion;
+
+    public OrderValue(long memberId, String itemName, int itemPrice, int discountPrice, long policyVersion) {
+        this.memberId = memberId;
+        this.itemName = itemName;
+        this.itemPrice = itemPrice;
+        this.discountPrice = discountPrice;
+        this.policyVersion = policyVersion;
+    }
+
+    public static OrderValue of(Order order) {
+        return new OrderValue(Objects.requireNonNull(order.getMemberId(), "member id"), order.getItemName(),
+                order.getItemPrice(), order.getDiscountPrice(), order.getPolicyVersion());
+    }
+
+    public int calculatePrice() {
+        return itemPrice - discountPrice;
+    }
+
+    public long getMemberId() {
+        return memberId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getItemPrice() {
+        return itemPrice;
+    }
+
+    public int getDiscountPrice() {
+        return discountPrice;
+    }
+
+    public long getPolicyVersion() {
+        return policyVersion;
+    }
+
+    public Order toOrder() {
+        return new Order(memberId, itemName, itemPrice, discountPrice, policyVersion);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderValue)) {
+            return false;
+        }
+        OrderValue other = (OrderValue) o;
+        return memberId == other.memberId && itemPrice == other.itemPrice && discountPrice == other.discountPrice
+                && policyVersion == other.policyVersion && Objects.equals(itemName, other.itemName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, itemName, itemPrice, discountPrice, policyVersion);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderValue{" +
+                "memberId=" + memberId +
+                ", itemName='" + itemName + '\'' +
+                ", itemPrice=" + itemPrice +
+                ", discountPrice=" + discountPrice +
+                ", policyVersion=" + policyVersion +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+package hello.core.order;
+
+/**
+ * 한꺼번에 만든 주문들을 컬럼 (배열) 형태로 담은 결과
+ * 주문마다 Order 객체를 만들지 않고, 필요할 때만 get(i) 로 Order 를 꺼냄
+ */
+public class Orders {
+
+    /**
+     * @param policyVersion 모든 주문을 계산한 할인 정책 버전 (한 번에 만든 주문들은 같은 버전으로 계산함)
+     */
+    public Orders(long[] memberIds, String[] itemNames, int[] itemPrices, int[] discountPrices, long policyVersion) {
+        this.memberIds = memberIds;
+        this.itemNames = itemNames;
+        this.itemPrices = itemPrices;
+        this.discountPrices = discountPrices;
+        this.policyVersion = policyVersion;
+    }
+
+    public int size() {
+        return memberIds.length;
+    }
+
+    public long getMemberId(int index) {
+        return memberIds[index];
+    }
+
+    public String getItemName(int index) {
+        return itemNames[index];
+    }
+
+    public int getItemPrice(int index) {
+        return itemPrices[index];
+    }
+
+    public int getDiscountPrice(int index) {
+        return discountPrices[index];
+    }
+
+    public long getPolicyVersion() {
+        return policyVersion;
+    }
+
+    public int calculatePrice(int index) {
+        return itemPrices[index] - discountPrices[index];
+    }
+
+    public Order get(int index) {
+        return new Order(memberIds[index], itemNames[index], itemPrices[index], discountPrices[index], policyVersion);
+    }
+
+    private final long[] memberIds;
+    private final String[] itemNames;
+    private final int[] itemPrices;
+    private final int[] discountPrices;
+    private final long policyVersion;
+}
@@ -0,0 +1,82 @@
+package hello.core.order.pipeline;
+
+import hello.core.discount.PricingContext;
+import hello.core.member.Member;
+import hello.core.order.Order;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 링 버퍼의 칸 하나 (주문 1건이 파이프라인을 지나가는 동안의 상태)
+ *
+ * 칸은 미리 만들어 두고 계속 다시 씀 -> 주문마다 새로 만드는 객체가 없음
+ * 단계마다 자기 필드만 채움 : 생산자 (회원 ID, 상품, PricingContext) -> 회원 조회 (member) -> 할인 계산 (할인 금액, 정책 버전)
+ * OrderSink 는 onEvent 안에서만 읽어야 함 (반환한 뒤에는 다음 주문으로 덮어써짐)
+ */
+public final class OrderEvent {
+
+    long sequence;
+    long memberId;
+    String itemName;
+    int itemPrice;
+    PricingContext context;
+    Member member;
+    int discountPrice;
+    long policyVersion;
+    RuntimeException error;
+    CompletableFuture<Order> future;
+    long publishNanos;
+
+    OrderEvent() {
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getMemberId() {
+        return memberId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getItemPrice() {
+        return itemPrice;
+    }
+
+    /**
+     * @return 주문을 넣은 스레드에 묶여 있던 PricingContext (할인 계산 단계에서 다시 묶음)
+     */
+    public PricingContext getContext() {
+        return context;
+    }
+
+    /**
+     * @return 회원 조회 단계에서 찾은 회원 (없는 회원이면 null)
+     */
+    public Member getMember() {
+        return member;
+    }
+
+    public int getDiscountPrice() {
+        return discountPrice;
+    }
+
+    public long getPolicyVersion() {
+        return policyVersion;
+    }
+
+    public Order toOrder() {
+        return new Order(memberId, itemName, itemPrice, discountPrice, policyVersion);
+    }
+
+    void clear() {
+        itemName = null;
+        context = null;
+        member = null;
+        error = null;
+        future = null;
+    }
+}
@@ -0,0 +1,416 @@
+package hello.core.order.pipeline;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.PricingContext;
+import hello.core.member.MemberRepository;
+import hello.core.metrics.MeterRegistry;
+import hello.core.metrics.Timer;
+import hello.core.order.Order;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 주문 생성을 단계별로 나눠서 스레드마다 한 단계씩 처리하는 파이프라인 (Disruptor 방식)
+ *
+ *  생산자 (여러 스레드) -> 회원 조회 (MemberRepository) -> 할인 계산 (DiscountPolicy) -> 내보내기 (OrderSink)
+ *
+ * - 모든 단계가 미리 만들어 둔 링 버퍼 하나 (OrderEvent 배열) 를 같이 씀 -> 단계 사이에 큐나 주문마다 만드는 객체가 없음
+ * - 생산자는 순번을 getAndIncrement 로 받고 (락 없음), 칸을 채운 뒤 칸마다 있는 플래그로 공개함
+ * - 단계마다 스레드 하나, 순번 (Sequence) 하나 : 앞 단계의 순번까지 쌓인 주문을 한꺼번에 처리하고 (batching) 자기 순번을 한 번만 올림
+ *   -> 뒤처진 단계일수록 묶음이 커져서 따라잡음, 할인 정책 버전도 묶음마다 한 번만 읽음
+ * - 링 버퍼가 꽉 차면 생산자가 기다림 (마지막 단계가 칸을 비울 때까지)
+ * - 주문을 넣은 스레드의 PricingContext 를 칸에 담아 두었다가 할인 계산 단계에서 다시 묶음 (쿠폰 할인 등)
+ *
+ * 기다릴 때는 잠깐 바쁘게 돌다가 (spin) -> yield -> 짧게 park 함
+ * 단계별 처리 건수, 묶음 수, 처리 시간은 getStageStats 로,
+ * MeterRegistry 를 주면 단계별 묶음 처리 시간 (orderPipeline.resolve / price / sink) 과 주문별 전체 지연 시간 (orderPipeline.latency) 도 기록함
+ */
+public class OrderPipeline implements AutoCloseable {
+
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 1_000;
+
+    private final OrderEvent[] events;
+    private final int[] published; // 칸마다 마지막으로 공개된 바퀴 수 (순번 >>> shift)
+    private final int mask;
+    private final int shift;
+
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicInteger publishing = new AtomicInteger();
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    private final MemberRepository memberRepository;
+    private final DiscountPolicy discountPolicy;
+    private final OrderSink sink;
+    private final Timer latency;
+    private final Stage resolve;
+    private final Stage price;
+    private final Stage output;
+
+    public OrderPipeline(MemberRepository memberRepository, DiscountPolicy discountPolicy, OrderSink sink, int bufferSize) {
+        this(memberRepository, discountPolicy, sink, bufferSize, null);
+    }
+
+    /**
+     * @param bufferSize 링 버퍼 칸 수 (2 의 거듭제곱)
+     * @param registry   null 이 아니면 단계별 처리 시간과 주문별 지연 시간을 기록함
+     */
+    public OrderPipeline(MemberRepository memberRepository, DiscountPolicy discountPolicy, OrderSink sink,
+                         int bufferSize, MeterRegistry registry) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of two: " + bufferSize);
+        }
+        this.memberRepository = memberRepository;
+        this.discountPolicy = discountPolicy;
+        this.sink = sink;
+        this.events = new OrderEvent[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            events[i] = new OrderEvent();
+        }
+        this.published = new int[bufferSize];
+        Arrays.fill(published, -1);
+        this.mask = bufferSize - 1;
+        this.shift = Integer.numberOfTrailingZeros(bufferSize);
+        this.latency = registry == null ? null : registry.timer("orderPipeline.latency");
+
+        this.resolve = new Stage("resolve", registry) {
+            @Override
+            long available(long next) {
+                return highestPublished(next);
+            }
+
+            @Override
+            void process(long from, long to) {
+                resolveMembers(from, to);
+            }
+        };
+        this.price = new Stage("price", registry) {
+            @Override
+            long available(long next) {
+                return resolve.sequence.get();
+            }
+
+            @Override
+            void process(long from, long to) {
+                calculateDiscounts(from, to);
+            }
+        };
+        this.output = new Stage("sink", registry) {
+            @Override
+            long available(long next) {
+                return price.sequence.get();
+            }
+
+            @Override
+            void process(long from, long to) {
+                emit(from, to);
+            }
+        };
+        for (Stage stage : List.of(resolve, price, output)) {
+            stage.thread.start();
+        }
+    }
+
+    /**
+     * 주문을 넣고 바로 반환 (결과는 OrderSink 로만 나감)
+     *
+     * @return 주문의 순번
+     * @throws RejectedExecutionException 닫힌 파이프라인
+     */
+    public long publish(long memberId, String itemName, int itemPrice) {
+        return publish(memberId, itemName, itemPrice, null);
+    }
+
+    /**
+     * @return OrderSink 가 묶음을 끝낸 뒤 완료되는 future (완료는 sink 스레드에서 일어나므로, 이어 붙이는 작업은 가볍게)
+     */
+    public CompletableFuture<Order> submit(long memberId, String itemName, int itemPrice) {
+        CompletableFuture<Order> future = new CompletableFuture<>();
+        try {
+            publish(memberId, itemName, itemPrice, future);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return 회원 조회 -> 할인 계산 -> 내보내기 순서로 단계별 통계
+     */
+    public List<StageStats> getStageStats() {
+        List<StageStats> stats = new ArrayList<>(3);
+        for (Stage stage : List.of(resolve, price, output)) {
+            stats.add(new StageStats(stage.name, stage.events, stage.batches, stage.errors, stage.busyNanos));
+        }
+        return stats;
+    }
+
+    /**
+     * 새 주문은 받지 않고, 이미 들어온 주문을 모두 내보낸 뒤에 단계 스레드를 멈춤
+     */
+    @Override
+    public void close() {
+        if (!accepting) {
+            return;
+        }
+        accepting = false;
+        int tries = 0;
+        while (publishing.get() > 0 || output.sequence.get() < claimed.get()) {
+            tries = backOff(tries);
+        }
+        running = false;
+        for (Stage stage : List.of(resolve, price, output)) {
+            LockSupport.unpark(stage.thread);
+            try {
+                stage.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private long publish(long memberId, String itemName, int itemPrice, CompletableFuture<Order> future) {
+        publishing.incrementAndGet(); // close 가 이 생산자를 기다리도록 accepting 보다 먼저 올림
+        try {
+            if (!accepting) {
+                throw new RejectedExecutionException("pipeline is closed");
+            }
+            long sequence = claimed.incrementAndGet();
+            int tries = 0;
+            while (sequence - events.length > output.sequence.get()) { // 한 바퀴 전 주문이 아직 칸을 쓰고 있음
+                tries = backOff(tries);
+            }
+            OrderEvent event = events[(int) sequence & mask];
+            event.sequence = sequence;
+            event.memberId = memberId;
+            event.itemName = itemName;
+            event.itemPrice = itemPrice;
+            event.context = PricingContext.current();
+            event.future = future;
+            event.publishNanos = latency == null ? 0L : System.nanoTime();
+            PUBLISHED.setRelease(published, (int) sequence & mask, (int) (sequence >>> shift));
+            return sequence;
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return next 부터 빈틈 없이 공개된 마지막 순번 (next 가 아직 공개되지 않았으면 next - 1)
+     */
+    private long highestPublished(long next) {
+        long max = claimed.get();
+        long sequence = next;
+        while (sequence <= max && (int) PUBLISHED.getAcquire(published, (int) sequence & mask) == (int) (sequence >>> shift)) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    private void resolveMembers(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            OrderEvent event = events[(int) sequence & mask];
+            try {
+                event.member = memberRepository.findById(event.memberId);
+            } catch (RuntimeException e) {
+                event.error = e;
+                resolve.errors++;
+            }
+        }
+    }
+
+    private void calculateDiscounts(long from, long to) {
+        DiscountPolicy policy = discountPolicy.current(); // 묶음 안의 주문은 같은 버전으로 계산
+        long version = policy.version();
+        for (long sequence = from; sequence <= to; sequence++) {
+            OrderEvent event = events[(int) sequence & mask];
+            if (event.error != null) {
+                continue;
+            }
+            try {
+                event.discountPrice = event.context == PricingContext.NONE
+                        ? policy.discount(event.member, event.itemName, event.itemPrice)
+                        : PricingContext.call(event.context, () -> policy.discount(event.member, event.itemName, event.itemPrice));
+                event.policyVersion = version;
+            } catch (RuntimeException e) {
+                event.error = e;
+                price.errors++;
+            }
+        }
+    }
+
+    private void emit(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            OrderEvent event = events[(int) sequence & mask];
+            if (event.error != null) {
+                continue;
+            }
+            try {
+                sink.onEvent(event);
+            } catch (RuntimeException e) {
+                event.error = e;
+                output.errors++;
+            }
+        }
+        RuntimeException batchError = null;
+        try {
+            sink.onBatchEnd();
+        } catch (RuntimeException e) {
+            batchError = e;
+        }
+
+        long now = latency == null ? 0L : System.nanoTime();
+        for (long sequence = from; sequence <= to; sequence++) {
+            OrderEvent event = events[(int) sequence & mask];
+            RuntimeException error = event.error != null ? event.error : batchError;
+            if (event.error == null && batchError != null) {
+                output.errors++;
+            }
+            if (latency != null) {
+                latency.record(now - event.publishNanos, error != null);
+            }
+            if (event.future != null) {
+                if (error != null) {
+                    event.future.completeExceptionally(error);
+                } else {
+                    event.future.complete(event.toOrder());
+                }
+            }
+            event.clear();
+        }
+    }
+
+    private static int backOff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return tries + 1;
+    }
+
+    /**
+     * 단계 하나 = 스레드 하나 + 순번 하나
+     * 통계 필드는 단계 스레드만 쓰고, 다른 스레드는 대략적인 값으로 읽음
+     */
+    private abstract class Stage implements Runnable {
+        final String name;
+        final Sequence sequence = new Sequence(-1);
+        final Thread thread;
+        final Timer timer;
+        volatile long events;
+        volatile long batches;
+        volatile long errors;
+        volatile long busyNanos;
+
+        Stage(String name, MeterRegistry registry) {
+            this.name = name;
+            this.timer = registry == null ? null : registry.timer("orderPipeline." + name);
+            this.thread = new Thread(this, "order-pipeline-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * @return 이 단계가 처리해도 되는 마지막 순번
+         */
+        abstract long available(long next);
+
+        abstract void process(long from, long to);
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int tries = 0;
+            while (true) {
+                long to = available(next);
+                if (to < next) {
+                    if (!running) {
+                        return;
+                    }
+                    tries = backOff(tries);
+                    continue;
+                }
+                tries = 0;
+                long start = System.nanoTime();
+                process(next, to);
+                sequence.set(to);
+                long took = System.nanoTime() - start;
+                if (timer != null) {
+                    timer.record(took, false);
+                }
+                events += to - next + 1;
+                batches++;
+                busyNanos += took;
+                next = to + 1;
+            }
+        }
+    }
+
+    /**
+     * 단계 하나의 통계
+     */
+    public static class StageStats {
+
+        private final String name;
+        private final long events;
+        private final long batches;
+        private final long errors;
+        private final long busyNanos;
+
+        StageStats(String name, long events, long batches, long errors, long busyNanos) {
+            this.name = name;
+            this.events = events;
+            this.batches = batches;
+            this.errors = errors;
+            this.busyNanos = busyNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getEvents() {
+            return events;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        /**
+         * @return 이 단계에서 실패한 주문 수
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getBusyNanos() {
+            return busyNanos;
+        }
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0 : (double) events / batches;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s events=%d batches=%d avgBatch=%.1f errors=%d busy=%.1fms",
+                    name, events, batches, getAverageBatchSize(), errors, busyNanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package hello.core.order.pipeline;
+
+import hello.core.order.OrderJournal;
+import hello.core.order.OrderRingBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 파이프라인의 마지막 단계 : 계산이 끝난 주문을 내보내는 곳
+ *
+ * 한 스레드에서만 호출됨
+ * onEvent 를 묶음 안의 주문마다 호출한 뒤 onBatchEnd 를 한 번 호출함
+ * -> 주문의 future 는 onBatchEnd 가 끝난 다음에 완료됨 (묶음 단위로 flush / fsync 하면 됨)
+ */
+public interface OrderSink {
+
+    void onEvent(OrderEvent event);
+
+    default void onBatchEnd() {
+    }
+
+    /**
+     * OrderRingBuffer 에 기록 (할당 없음)
+     */
+    static OrderSink toRingBuffer(OrderRingBuffer orders) {
+        return event -> orders.add(event.getMemberId(), event.getItemName(), event.getItemPrice(),
+                event.getDiscountPrice(), event.getPolicyVersion());
+    }
+
+    /**
+     * OrderJournal 에 기록하고, 묶음이 끝날 때 fsync 될 때까지 기다림 (묶음 하나가 대부분 group commit 한 번)
+     */
+    static OrderSink toJournal(OrderJournal journal) {
+        return new OrderSink() {
+            private final List<CompletableFuture<Long>> appended = new ArrayList<>();
+
+            @Override
+            public void onEvent(OrderEvent event) {
+                appended.add(journal.append(event.toOrder()));
+            }
+
+            @Override
+            public void onBatchEnd() {
+                try {
+                    CompletableFuture.allOf(appended.toArray(new CompletableFuture<?>[0])).join();
+                } finally {
+                    appended.clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package hello.core.order.pipeline;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 단계마다 "여기까지 처리했음" 을 나타내는 순번 (한 스레드만 쓰고, 여러 스레드가 읽음)
+ *
+ * 앞뒤를 long 필드로 채워서 다른 단계의 순번과 같은 캐시 라인에 놓이지 않도록 함 (false sharing 방지)
+ */
+final class Sequence extends SequenceValue {
+
+    @SuppressWarnings("unused")
+    private long p9, p10, p11, p12, p13, p14, p15;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    Sequence(long initial) {
+        this.value = initial;
+    }
+
+    long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * 쓰는 스레드가 하나뿐이므로 volatile 쓰기 (StoreLoad 장벽) 대신 release 쓰기로 충분함
+     */
+    void set(long sequence) {
+        VALUE.setRelease(this, sequence);
+    }
+}
+
+abstract class SequencePadding {
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends SequencePadding {
+    protected long value;
+}
@@ -0,0 +1,404 @@
+package hello.core.aot;
+
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @GenerateBeanFactory 가 붙은 설정 클래스 (ex. AppConfig) 로부터 빈 팩토리 (ex. AppConfigBeanFactory) 를 생성하는 어노테이션 프로세서
+ *
+ * 생성된 클래스는 설정 클래스를 상속해서 @Bean 메소드마다
+ * - 처음 호출될 때만 원래 메소드 (super.xxx()) 를 호출해서 빈을 만들고 필드에 저장
+ * - 이후에는 저장한 빈을 그대로 반환 (double-checked locking, 빈마다 락이 따로 있음)
+ * 스프링이 실행할 때 CGLIB 으로 만드는 AppConfig@CGLIB 과 같은 일을 하지만, 리플렉션 / 바이트코드 조작이 없음
+ *
+ * 빈 의존 그래프 : @Bean 메소드 본문 (소스 트리) 에서 다른 @Bean 메소드를 호출하는 곳을 찾음
+ * 같은 클래스의 일반 메소드 (ex. AppConfig.instrument) 를 거쳐서 호출하는 것도 따라가서 찾음
+ * @Lazy 가 붙은 @Bean 은 ParallelBeanInitializer 가 미리 만들지 않음
+ *
+ * main 소스를 참조할 수 없으므로 (main 을 컴파일할 때 쓰이는 프로세서라서) 어노테이션은 이름으로 찾음
+ */
+public class BeanFactoryProcessor extends AbstractProcessor {
+
+    static final String GENERATE_BEAN_FACTORY = "hello.core.aot.GenerateBeanFactory";
+    static final String BEAN = "org.springframework.context.annotation.Bean";
+    static final String LAZY = "org.springframework.context.annotation.Lazy";
+    static final String SUFFIX = "BeanFactory";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(GENERATE_BEAN_FACTORY);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@GenerateBeanFactory must be placed on a class");
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement configuration) {
+        if (configuration.getModifiers().contains(Modifier.FINAL)) {
+            error(configuration, "configuration class must not be final");
+            return;
+        }
+        List<BeanMethod> beans = new ArrayList<>();
+        Map<String, List<ExecutableElement>> methods = new HashMap<>(); // 이름 -> 같은 클래스의 메소드 (오버로딩 포함)
+        for (Element member : configuration.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) member;
+            methods.computeIfAbsent(method.getSimpleName().toString(), name -> new ArrayList<>()).add(method);
+            if (findAnnotation(member, BEAN) != null) {
+                BeanMethod bean = beanMethod(method);
+                if (bean != null) {
+                    beans.add(bean);
+                }
+            }
+        }
+
+        Trees trees = trees();
+        Map<String, BeanMethod> beansByMethod = new HashMap<>();
+        for (BeanMethod bean : beans) {
+            beansByMethod.put(bean.method, bean);
+        }
+        for (BeanMethod bean : beans) {
+            Set<String> visited = new HashSet<>();
+            visited.add(bean.method);
+            for (ExecutableElement method : methods.get(bean.method)) {
+                if (findAnnotation(method, BEAN) != null) {
+                    collectDependencies(trees, method, methods, beansByMethod, visited, bean.dependencies);
+                }
+            }
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(configuration).getQualifiedName().toString();
+        String configurationName = configuration.getSimpleName().toString();
+        String factoryName = configurationName + SUFFIX;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? factoryName : packageName + "." + factoryName, configuration);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source(packageName, configurationName, factoryName, beans));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BeanMethod beanMethod(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+            error(method, "@Bean method must be overridable (not private, static or final)");
+            return null;
+        }
+        if (!method.getParameters().isEmpty()) {
+            error(method, "@Bean method with parameters is not supported, call the other @Bean methods instead");
+            return null;
+        }
+        if (method.getReturnType().getKind() == TypeKind.VOID || method.getReturnType().getKind().isPrimitive()) {
+            error(method, "@Bean method must return an object");
+            return null;
+        }
+        String methodName = method.getSimpleName().toString();
+        return new BeanMethod(beanName(method, methodName), methodName,
+                method.getReturnType().toString(),
+                processingEnv.getTypeUtils().erasure(method.getReturnType()).toString(),
+                isLazy(method));
+    }
+
+    /**
+     * @Lazy 또는 @Lazy(true) 이면 true
+     */
+    private static boolean isLazy(ExecutableElement method) {
+        AnnotationMirror lazy = findAnnotation(method, LAZY);
+        if (lazy == null) {
+            return false;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : lazy.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * method 본문에서 호출하는 @Bean 메소드를 dependencies 에 모음 (일반 메소드는 본문까지 따라 들어감)
+     */
+    private static void collectDependencies(Trees trees, ExecutableElement method, Map<String, List<ExecutableElement>> methods,
+                                            Map<String, BeanMethod> beansByMethod, Set<String> visited, Set<String> dependencies) {
+        MethodTree tree = trees.getTree(method);
+        if (tree == null || tree.getBody() == null) {
+            return;
+        }
+        tree.getBody().accept(new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree invocation, Void unused) {
+                String called = calledOnThis(invocation.getMethodSelect());
+                if (called != null) {
+                    BeanMethod bean = beansByMethod.get(called);
+                    if (bean != null && invocation.getArguments().isEmpty()) {
+                        dependencies.add(bean.name);
+                    } else if (bean == null && methods.containsKey(called) && visited.add(called)) {
+                        for (ExecutableElement overload : methods.get(called)) {
+                            collectDependencies(trees, overload, methods, beansByMethod, visited, dependencies);
+                        }
+                    }
+                }
+                return super.visitMethodInvocation(invocation, unused);
+            }
+        }, null);
+    }
+
+    /**
+     * xxx() 또는 this.xxx() 형태의 호출이면 xxx, 아니면 null
+     */
+    private static String calledOnThis(Tree select) {
+        if (select instanceof IdentifierTree) {
+            return ((IdentifierTree) select).getName().toString();
+        }
+        if (select instanceof MemberSelectTree) {
+            MemberSelectTree member = (MemberSelectTree) select;
+            if (member.getExpression() instanceof IdentifierTree
+                    && ((IdentifierTree) member.getExpression()).getName().contentEquals("this")) {
+                return member.getIdentifier().toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gradle 은 증분 컴파일을 위해 ProcessingEnvironment 를 감싸서 넘겨주므로, javac 의 것이 나올 때까지 벗겨냄
+     */
+    private Trees trees() {
+        Object environment = processingEnv;
+        for (int depth = 0; depth < 5; depth++) {
+            try {
+                return Trees.instance((ProcessingEnvironment) environment);
+            } catch (IllegalArgumentException notJavac) {
+                environment = delegateOf(environment);
+                if (!(environment instanceof ProcessingEnvironment)) {
+                    break;
+                }
+            }
+        }
+        throw new IllegalStateException("javac source trees are not available from " + processingEnv.getClass().getName());
+    }
+
+    private static Object delegateOf(Object wrapper) {
+        for (Class<?> type = wrapper.getClass(); type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (ProcessingEnvironment.class.isAssignableFrom(field.getType())) {
+                    try {
+                        field.setAccessible(true);
+                        return field.get(wrapper);
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @Bean(name = "...") 또는 @Bean("...") 이 있으면 그 이름 (여러 개면 첫 번째), 없으면 메소드명
+     */
+    private String beanName(ExecutableElement method, String methodName) {
+        AnnotationMirror bean = findAnnotation(method, BEAN);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : bean.getElementValues().entrySet()) {
+            String attribute = entry.getKey().getSimpleName().toString();
+            if (attribute.equals("name") || attribute.equals("value")) {
+                Object value = entry.getValue().getValue();
+                if (value instanceof List && !((List<?>) value).isEmpty()) {
+                    return String.valueOf(((AnnotationValue) ((List<?>) value).get(0)).getValue());
+                }
+            }
+        }
+        return methodName;
+    }
+
+    private String source(String packageName, String configurationName, String factoryName, List<BeanMethod> beans) {
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("/**\n")
+                .append(" * ").append(configurationName).append(" 로부터 빌드할 때 생성된 빈 팩토리 (").append(getClass().getSimpleName()).append(", 직접 수정하지 말 것)\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public class ").append(factoryName).append(" extends ").append(configurationName)
+                .append(" implements hello.core.aot.GeneratedBeanFactory {\n\n");
+
+        out.append("    private static final String[] BEAN_NAMES = {");
+        for (int i = 0; i < beans.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append('"').append(beans.get(i).name).append('"');
+        }
+        out.append("};\n");
+        out.append("    private static final String[][] DEPENDENCIES = {");
+        for (int i = 0; i < beans.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append('{');
+            int j = 0;
+            for (String dependency : beans.get(i).dependencies) {
+                out.append(j++ == 0 ? "" : ", ").append('"').append(dependency).append('"');
+            }
+            out.append('}');
+        }
+        out.append("};\n");
+        out.append("    private static final boolean[] LAZY = {");
+        for (int i = 0; i < beans.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append(beans.get(i).lazy);
+        }
+        out.append("};\n\n");
+
+        for (BeanMethod bean : beans) {
+            out.append("    private final Object ").append(bean.field()).append("Lock = new Object();\n")
+                    .append("    private volatile ").append(bean.type).append(' ').append(bean.field()).append(";\n");
+        }
+
+        for (BeanMethod bean : beans) {
+            out.append('\n')
+                    .append("    @Override\n")
+                    .append("    public ").append(bean.type).append(' ').append(bean.method).append("() {\n")
+                    .append("        ").append(bean.type).append(" bean = ").append(bean.field()).append(";\n")
+                    .append("        if (bean == null) {\n")
+                    .append("            synchronized (").append(bean.field()).append("Lock) {\n")
+                    .append("                bean = ").append(bean.field()).append(";\n")
+                    .append("                if (bean == null) {\n")
+                    .append("                    bean = super.").append(bean.method).append("();\n")
+                    .append("                    ").append(bean.field()).append(" = bean;\n")
+                    .append("                }\n")
+                    .append("            }\n")
+                    .append("        }\n")
+                    .append("        return bean;\n")
+                    .append("    }\n");
+        }
+
+        out.append('\n')
+                .append("    @Override\n")
+                .append("    public String[] getBeanDefinitionNames() {\n")
+                .append("        return BEAN_NAMES.clone();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String[] getDependencies(String name) {\n")
+                .append("        return DEPENDENCIES[indexOf(name)].clone();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public boolean isLazy(String name) {\n")
+                .append("        return LAZY[indexOf(name)];\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getType(String name) {\n")
+                .append("        switch (name) {\n");
+        for (BeanMethod bean : beans) {
+            out.append("            case \"").append(bean.name).append("\":\n")
+                    .append("                return ").append(bean.erasure).append(".class;\n");
+        }
+        out.append("            default:\n")
+                .append("                throw new org.springframework.beans.factory.NoSuchBeanDefinitionException(name);\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object getBean(String name) {\n")
+                .append("        switch (name) {\n");
+        for (BeanMethod bean : beans) {
+            out.append("            case \"").append(bean.name).append("\":\n")
+                    .append("                return ").append(bean.method).append("();\n");
+        }
+        out.append("            default:\n")
+                .append("                throw new org.springframework.beans.factory.NoSuchBeanDefinitionException(name);\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("    private static int indexOf(String name) {\n")
+                .append("        for (int i = 0; i < BEAN_NAMES.length; i++) {\n")
+                .append("            if (BEAN_NAMES[i].equals(name)) {\n")
+                .append("                return i;\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("        throw new org.springframework.beans.factory.NoSuchBeanDefinitionException(name);\n")
+                .append("    }\n")
+                .append("}\n");
+        return out.toString();
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class BeanMethod {
+        private final String name;
+        private final String method;
+        private final String type;
+        private final String erasure;
+        private final boolean lazy;
+        private final Set<String> dependencies = new LinkedHashSet<>(); // 빈 이름
+
+        private BeanMethod(String name, String method, String type, String erasure, boolean lazy) {
+            this.name = name;
+            this.method = method;
+            this.type = type;
+            this.erasure = erasure;
+            this.lazy = lazy;
+        }
+
+        /**
+         * 생성된 클래스의 필드명 (빈을 저장하는 필드, 락 필드는 뒤에 Lock)
+         */
+        private String field() {
+            return method + "Bean";
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package hello.core.aot;
+
+import hello.core.AppConfigBeanFactory;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberServiceImpl;
+import hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AppConfigBeanFactoryTest {
+
+    @Test
+    @DisplayName("생성된 빈 팩토리도 @Configuration 처럼 싱글톤이 보장되어야 한다")
+    void singleton() {
+        // given
+        AppConfigBeanFactory beanFactory = new AppConfigBeanFactory();
+
+        // when
+        MemberServiceImpl memberService = beanFactory.getBean("memberService", MemberServiceImpl.class);
+        OrderServiceImpl orderService = beanFactory.getBean("orderService", OrderServiceImpl.class);
+        MemberRepository memberRepository = beanFactory.getBean("memberRepository", MemberRepository.class);
+
+        // then
+        assertThat(memberService.getMemberRepository()).isSameAs(memberRepository);
+        assertThat(orderService.getMemberRepository()).isSameAs(memberRepository);
+        assertThat(beanFactory.memberRepository()).isSameAs(memberRepository);
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 꺼내도 빈은 하나만 만들어져야 한다")
+    void singletonConcurrently() throws Exception {
+        // given
+        AppConfigBeanFactory beanFactory = new AppConfigBeanFactory();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(executor.submit(() -> beanFactory.getBean("orderService")));
+        }
+
+        // then
+        Object first = futures.get(0).get();
+        for (Future<Object> future : futures) {
+            assertThat(future.get()).isSameAs(first);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("빈 이름, 타입으로 조회할 수 있고, 없으면 스프링 컨테이너와 같은 예외가 발생해야 한다")
+    void findBean() {
+        // given
+        AppConfigBeanFactory beanFactory = new AppConfigBeanFactory();
+
+        // then
+        assertThat(beanFactory.getBeanDefinitionNames())
+                .containsExactly("memberService", "orderService", "memberRepository", "itemRepository", "discountPolicy", "meterRegistry");
+        assertThat(beanFactory.getBean(MemberRepository.class)).isSameAs(beanFactory.memberRepository());
+        assertThatThrownBy(() -> beanFactory.getBean("xxxxx"))
+                .isInstanceOf(NoSuchBeanDefinitionException.class);
+        assertThatThrownBy(() -> beanFactory.getBean(Object.class))
+                .isInstanceOf(NoUniqueBeanDefinitionException.class);
+    }
+}
@@ -0,0 +1,141 @@
+package hello.core.aot;
+
+import hello.core.AppConfigBeanFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelBeanInitializerTest {
+
+    @Test
+    @DisplayName("AppConfig 의 의존 그래프가 생성되어야 한다")
+    void dependencyGraph() {
+        // given
+        AppConfigBeanFactory beanFactory = new AppConfigBeanFactory();
+
+        // then
+        assertThat(beanFactory.getDependencies("memberService")).containsExactlyInAnyOrder("memberRepository", "meterRegistry");
+        assertThat(beanFactory.getDependencies("orderService")).containsExactlyInAnyOrder("memberRepository", "discountPolicy", "itemRepository", "meterRegistry");
+        assertThat(beanFactory.getDependencies("memberRepository")).isEmpty();
+        assertThat(beanFactory.isLazy("meterRegistry")).isTrue();
+        assertThat(beanFactory.isLazy("orderService")).isFalse();
+    }
+
+    @Test
+    @DisplayName("서로 의존하지 않는 빈은 동시에 만들어지고, 의존하는 빈은 그 다음에 만들어져야 한다")
+    void initializeInParallel() {
+        // given : a, b (각 200ms) <- c,  d 는 @Lazy (c 가 의존하지만 c 를 만들 때 실제로 호출하지는 않음)
+        FakeBeanFactory beanFactory = new FakeBeanFactory(
+                Map.of("a", new String[0], "b", new String[0], "c", new String[]{"a", "b", "d"}, "d", new String[0]),
+                Map.of("a", 200L, "b", 200L, "c", 10L, "d", 10L),
+                Set.of("d"));
+
+        // when
+        StartupTimeline timeline = ParallelBeanInitializer.initialize(beanFactory, new ForkJoinPool(4));
+        System.out.println(timeline);
+
+        // then
+        assertThat(beanFactory.created).containsOnlyKeys("a", "b", "c");
+        assertThat(timeline.getTotalNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(390));
+        assertThat(timeline.getLazyBeans()).containsExactly("d");
+
+        Map<String, StartupTimeline.Step> steps = timeline.getSteps().stream()
+                .collect(Collectors.toMap(StartupTimeline.Step::getName, step -> step));
+        assertThat(steps.get("c").getStartNanos())
+                .isGreaterThanOrEqualTo(Math.max(steps.get("a").getEndNanos(), steps.get("b").getEndNanos()));
+        List<String> criticalPath = timeline.getCriticalPath().stream().map(StartupTimeline.Step::getName).collect(Collectors.toList());
+        assertThat(criticalPath).hasSize(2).endsWith("c");
+        assertThat(timeline.toString()).contains("critical path (*) : ", "lazy : [d]");
+    }
+
+    @Test
+    @DisplayName("AppConfig 의 빈이 모두 만들어지고, @Lazy 빈은 만들어지지 않아야 한다")
+    void initializeAppConfig() {
+        // given
+        AppConfigBeanFactory beanFactory = new AppConfigBeanFactory();
+
+        // when
+        StartupTimeline timeline = ParallelBeanInitializer.initialize(beanFactory);
+        System.out.println(timeline);
+
+        // then
+        assertThat(timeline.getSteps()).extracting(StartupTimeline.Step::getName)
+                .containsExactlyInAnyOrder("memberService", "orderService", "memberRepository", "discountPolicy", "itemRepository");
+        assertThat(timeline.getLazyBeans()).containsExactly("meterRegistry");
+        assertThat(beanFactory.getBean("orderService")).isSameAs(beanFactory.orderService());
+    }
+
+    @Test
+    @DisplayName("순환 의존이 있으면 예외가 발생해야 한다")
+    void circularDependency() {
+        // given
+        FakeBeanFactory beanFactory = new FakeBeanFactory(
+                Map.of("a", new String[]{"b"}, "b", new String[]{"a"}),
+                Map.of("a", 0L, "b", 0L),
+                Set.of());
+
+        // then
+        assertThatThrownBy(() -> ParallelBeanInitializer.initialize(beanFactory))
+                .isInstanceOf(BeanCurrentlyInCreationException.class);
+    }
+
+    /**
+     * 빈마다 정해진 시간만큼 걸려서 만들어지는 빈 팩토리
+     */
+    static class FakeBeanFactory implements GeneratedBeanFactory {
+
+        private final Map<String, String[]> dependencies;
+        private final Map<String, Long> millis;
+        private final Set<String> lazy;
+        private final Map<String, Object> created = new ConcurrentHashMap<>();
+
+        FakeBeanFactory(Map<String, String[]> dependencies, Map<String, Long> millis, Set<String> lazy) {
+            this.dependencies = dependencies;
+            this.millis = millis;
+            this.lazy = lazy;
+        }
+
+        @Override
+        public String[] getBeanDefinitionNames() {
+            return dependencies.keySet().stream().sorted().toArray(String[]::new);
+        }
+
+        @Override
+        public Class<?> getType(String name) {
+            return Object.class;
+        }
+
+        @Override
+        public Object getBean(String name) {
+            return created.computeIfAbsent(name, key -> {
+                try {
+                    Thread.sleep(millis.get(key));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Object();
+            });
+        }
+
+        @Override
+        public String[] getDependencies(String name) {
+            return dependencies.get(name);
+        }
+
+        @Override
+        public boolean isLazy(String name) {
+            return lazy.contains(name);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoizingDiscountPolicyTest {
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+    Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+
+    @Test
+    @DisplayName("같은 (상품, 등급, 가격) 은 원래 정책을 한 번만 호출해야 한다")
+    void memoize() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        DiscountPolicy rate = new RateDiscountPolicy();
+        MemoizingDiscountPolicy policy = new MemoizingDiscountPolicy((member, price) -> {
+            calls.incrementAndGet();
+            return rate.discount(member, price);
+        });
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.discount(vip, "itemA", 20_000)).isEqualTo(2_000);
+            assertThat(policy.discount(basic, "itemA", 20_000)).isEqualTo(0);
+            assertThat(policy.discount(vip, "itemA", 30_000)).isEqualTo(3_000);
+        }
+
+        // then
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(policy.getMissCount()).isEqualTo(3);
+        assertThat(policy.getHitCount()).isEqualTo(297);
+        assertThat(policy.getHitRate()).isEqualTo(0.99);
+    }
+
+    @Test
+    @DisplayName("상품마다 할인이 다른 정책도 원래 정책과 같은 값을 돌려줘야 한다")
+    void itemRules() {
+        // given
+        RuleTableDiscountPolicy ruleTable = RuleTableDiscountPolicy.compile(List.of(
+                DiscountRule.rate(Grade.VIP, 10),
+                new DiscountRule(null, 0, DiscountRule.NO_MAX_PRICE, "itemB", 0, 500)));
+        MemoizingDiscountPolicy policy = new MemoizingDiscountPolicy(ruleTable, 4, 1);
+
+        // when, then : 표가 작아서 (칸 4 개, 상품 1 개) 덮어쓰기와 캐시하지 않는 상품이 모두 생김
+        for (int round = 0; round < 2; round++) {
+            for (int price = -2; price < 100_000; price += 997) {
+                for (String item : new String[]{"itemA", "itemB", null}) {
+                    for (Member member : new Member[]{vip, basic}) {
+                        int expected = ruleTable.discount(member, item, price);
+                        assertThat(policy.discount(member, item, price)).isEqualTo(expected);
+                        assertThat(policy.discount(member, item, price)).isEqualTo(expected);
+                    }
+                }
+            }
+        }
+        assertThat(policy.getHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("원래 정책의 버전이 바뀌면 캐시를 버리고 새 정책으로 계산해야 한다")
+    void invalidateOnPublish() {
+        // given
+        ReloadableDiscountPolicy reloadable = new ReloadableDiscountPolicy(new RateDiscountPolicy());
+        MemoizingDiscountPolicy policy = new MemoizingDiscountPolicy(reloadable);
+        DiscountPolicy pinned = policy.current();
+        assertThat(policy.discount(vip, "itemA", 20_000)).isEqualTo(2_000);
+
+        // when
+        long version = reloadable.publish(new FixDiscountPolicy());
+
+        // then
+        assertThat(policy.version()).isEqualTo(version);
+        assertThat(policy.current().version()).isEqualTo(version);
+        assertThat(policy.discount(vip, "itemA", 20_000)).isEqualTo(1_000);
+        assertThat(pinned.version()).isEqualTo(version - 1);
+        assertThat(pinned.discount(vip, "itemA", 20_000)).isEqualTo(2_000); // 먼저 꺼낸 버전은 그대로
+        assertThat(policy.getInvalidationCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,126 @@
+package hello.core.discount;
+
+import hello.core.member.AsyncMemberRepositoryAdapter;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.order.AsyncOrderServiceImpl;
+import hello.core.order.Order;
+import hello.core.order.OrderProcessor;
+import hello.core.order.OrderRequest;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricingContextTest {
+
+    PricingContext welcome = new PricingContext("KRW", "spring", "WELCOME");
+    PricingContext big = new PricingContext("KRW", "spring", "BIG");
+
+    @Test
+    @DisplayName("묶은 범위 안에서만 보이고, 벗어나면 (예외가 나도) 이전 값으로 돌아가야 한다")
+    void nested() {
+        // given
+        assertThat(PricingContext.current()).isSameAs(PricingContext.NONE);
+
+        // when, then
+        PricingContext.run(welcome, () -> {
+            assertThat(PricingContext.current()).isSameAs(welcome);
+            assertThat(PricingContext.call(big, PricingContext::current)).isSameAs(big);
+            assertThat(PricingContext.current()).isSameAs(welcome);
+
+            assertThatThrownBy(() -> PricingContext.run(big, () -> {
+                throw new IllegalStateException("fail");
+            })).isInstanceOf(IllegalStateException.class);
+            assertThat(PricingContext.current()).isSameAs(welcome);
+        });
+        assertThat(PricingContext.current()).isSameAs(PricingContext.NONE);
+    }
+
+    @Test
+    @DisplayName("다른 스레드에는 보이지 않고, 풀 스레드에 다음 작업까지 남지 않아야 한다")
+    void otherThreads() throws Exception {
+        // given
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            // when
+            PricingContext inVirtualThread = PricingContext.call(welcome, () -> {
+                CompletableFuture<PricingContext> seen = new CompletableFuture<>();
+                Thread.ofVirtual().start(() -> seen.complete(PricingContext.current()));
+                return seen.join();
+            });
+            Future<PricingContext> first = pool.submit(() -> PricingContext.call(big, PricingContext::current));
+            Future<PricingContext> next = pool.submit(PricingContext::current);
+
+            // then
+            assertThat(inVirtualThread).isSameAs(PricingContext.NONE);
+            assertThat(first.get()).isSameAs(big);
+            assertThat(next.get()).isSameAs(PricingContext.NONE);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("싱글톤 주문 서비스를 동시에 써도 요청마다 자기 쿠폰으로 할인되어야 한다")
+    void couponPerRequest() throws Exception {
+        // given
+        MemberRepository memberRepository = new ConcurrentMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        OrderService orderService = new OrderServiceImpl(memberRepository,
+                new CouponDiscountPolicy(new FixDiscountPolicy(), Map.of("WELCOME", 500, "BIG", 50_000)));
+
+        // when
+        List<Future<Order>> orders = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                PricingContext context = i % 3 == 0 ? welcome : i % 3 == 1 ? big : PricingContext.NONE;
+                orders.add(executor.submit(() -> orderService.createOrder(1L, "itemA", 10_000, context)));
+            }
+        }
+
+        // then
+        for (int i = 0; i < orders.size(); i++) {
+            int expected = i % 3 == 0 ? 1_500 : i % 3 == 1 ? 10_000 : 1_000;
+            assertThat(orders.get(i).get().getDiscountPrice()).isEqualTo(expected);
+        }
+        assertThat(orderService.createOrder(1L, "itemA", 10_000).getDiscountPrice()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("다른 스레드에서 이어서 계산하는 주문도 주문을 받은 스레드의 쿠폰으로 할인되어야 한다")
+    void propagate() throws Exception {
+        // given
+        MemberRepository memberRepository = new ConcurrentMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        DiscountPolicy discountPolicy = new CouponDiscountPolicy(new FixDiscountPolicy(), Map.of("WELCOME", 500));
+
+        try (AsyncMemberRepositoryAdapter asyncRepository = new AsyncMemberRepositoryAdapter(memberRepository, 4, 1, TimeUnit.SECONDS);
+             OrderProcessor processor = OrderProcessor.virtualThreads(new OrderServiceImpl(memberRepository, discountPolicy), 4, 1, TimeUnit.SECONDS)) {
+            AsyncOrderServiceImpl asyncOrderService = new AsyncOrderServiceImpl(asyncRepository, discountPolicy);
+
+            // when
+            CompletableFuture<Order> async = PricingContext.call(welcome, () -> asyncOrderService.createOrder(1L, "itemA", 10_000));
+            CompletableFuture<Order> submitted = PricingContext.call(welcome, () -> processor.submit(new OrderRequest(1L, "itemA", 10_000)));
+
+            // then
+            assertThat(async.get(1, TimeUnit.SECONDS).getDiscountPrice()).isEqualTo(1_500);
+            assertThat(submitted.get(1, TimeUnit.SECONDS).getDiscountPrice()).isEqualTo(1_500);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package hello.core.discount;
+
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.order.Order;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReloadableDiscountPolicyTest {
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("새 정책을 올리면 다음 주문부터 새 버전으로 계산되어야 한다")
+    void publish() {
+        // given
+        ConcurrentMemberRepository memberRepository = new ConcurrentMemberRepository();
+        memberRepository.save(vip);
+        ReloadableDiscountPolicy discountPolicy = new ReloadableDiscountPolicy(new RateDiscountPolicy());
+        OrderService orderService = new OrderServiceImpl(memberRepository, discountPolicy);
+
+        Order before = orderService.createOrder(1L, "itemA", 20000);
+
+        // when
+        long version = discountPolicy.publish(new FixDiscountPolicy());
+        Order after = orderService.createOrder(1L, "itemA", 20000);
+
+        // then
+        assertThat(before.getDiscountPrice()).isEqualTo(2000);
+        assertThat(before.getPolicyVersion()).isEqualTo(1L);
+        assertThat(after.getDiscountPrice()).isEqualTo(1000);
+        assertThat(after.getPolicyVersion()).isEqualTo(version).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("이미 꺼내간 버전은 정책이 바뀌어도 그대로 계산되어야 한다")
+    void inFlightKeepsOldVersion() {
+        // given
+        ReloadableDiscountPolicy discountPolicy = new ReloadableDiscountPolicy(new RateDiscountPolicy());
+        DiscountPolicy inFlight = discountPolicy.current();
+
+        // when
+        discountPolicy.publish(new FixDiscountPolicy());
+
+        // then
+        assertThat(inFlight.discount(vip, 20000)).isEqualTo(2000);
+        assertThat(inFlight.version()).isEqualTo(1L);
+        assertThat(discountPolicy.discount(vip, 20000)).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("규칙 파일이 바뀌면 재시작 없이 새 규칙이 적용되어야 한다")
+    void watchRuleFile() throws Exception {
+        // given
+        Path rules = directory.resolve("discount.rules");
+        Files.writeString(rules, "VIP 0-* * rate 10%\n", StandardCharsets.UTF_8);
+        ReloadableDiscountPolicy discountPolicy = new ReloadableDiscountPolicy(new FixDiscountPolicy());
+
+        try (DiscountRuleFileWatcher watcher = new DiscountRuleFileWatcher(rules, discountPolicy)) {
+            assertThat(discountPolicy.discount(vip, 20000)).isEqualTo(2000);
+
+            // when : 임시 파일에 쓰고 이름을 바꿔서 교체
+            replace(rules, "VIP 0-* * rate 20%\n");
+
+            // then
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (discountPolicy.discount(vip, 20000) != 4000 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(discountPolicy.discount(vip, 20000)).isEqualTo(4000);
+            assertThat(discountPolicy.version()).isGreaterThanOrEqualTo(3L);
+        }
+    }
+
+    @Test
+    @DisplayName("규칙 파일에 오류가 있거나 비어 있으면 지금 버전을 유지하고 실패를 알려야 한다")
+    void keepVersionOnInvalidRules() throws Exception {
+        // given
+        Path rules = directory.resolve("discount.rules");
+        Files.writeString(rules, "VIP 0-* * rate 10%\n", StandardCharsets.UTF_8);
+        ReloadableDiscountPolicy discountPolicy = new ReloadableDiscountPolicy(new FixDiscountPolicy());
+        CompletableFuture<RuntimeException> reported = new CompletableFuture<>();
+
+        try (DiscountRuleFileWatcher watcher = new DiscountRuleFileWatcher(rules, discountPolicy, 50, reported::complete)) {
+            long version = discountPolicy.version();
+
+            // when, then : 직접 다시 읽으면 예외
+            replace(rules, "GOLD 0-* * rate 10%\n");
+            assertThatThrownBy(watcher::reload).isInstanceOf(IllegalArgumentException.class);
+            replace(rules, "# 규칙 없음\n");
+            assertThatThrownBy(watcher::reload).isInstanceOf(IllegalStateException.class);
+
+            // when, then : 감시 스레드는 onFailure 로 알림
+            assertThat(reported.get(10, TimeUnit.SECONDS)).isNotNull();
+            assertThat(watcher.getLastFailure()).isNotNull();
+            assertThat(discountPolicy.version()).isEqualTo(version);
+            assertThat(discountPolicy.discount(vip, 20000)).isEqualTo(2000);
+        }
+    }
+
+    @Test
+    @DisplayName("처음 읽은 규칙 파일에 오류가 있으면 생성자가 실패하고 WatchService 를 닫아야 한다")
+    void closeWatchServiceOnInvalidInitialRules() throws Exception {
+        // given
+        Path rules = directory.resolve("discount.rules");
+        Files.writeString(rules, "GOLD 0-* * rate 10%\n", StandardCharsets.UTF_8);
+        ReloadableDiscountPolicy discountPolicy = new ReloadableDiscountPolicy(new FixDiscountPolicy());
+        long version = discountPolicy.version();
+
+        // when, then : 닫지 않으면 inotify 인스턴스 한도 (리눅스 기본 128) 에 걸려서 newWatchService 가 실패함
+        for (int i = 0; i < 300; i++) {
+            assertThatThrownBy(() -> new DiscountRuleFileWatcher(rules, discountPolicy))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(discountPolicy.version()).isEqualTo(version);
+
+        replace(rules, "VIP 0-* * rate 10%\n");
+        try (DiscountRuleFileWatcher watcher = new DiscountRuleFileWatcher(rules, discountPolicy)) {
+            assertThat(discountPolicy.discount(vip, 20000)).isEqualTo(2000);
+        }
+    }
+
+    @Test
+    @DisplayName("규칙 파일을 그 자리에서 덮어써도 (빈 파일 -> 새 내용) 할인이 없어지는 순간이 없어야 한다")
+    void truncateThenWrite() throws Exception {
+        // given
+        Path rules = directory.resolve("discount.rules");
+        Files.writeString(rules, "VIP 0-* * rate 10%\n", StandardCharsets.UTF_8);
+        ReloadableDiscountPolicy discountPolicy = new ReloadableDiscountPolicy(new FixDiscountPolicy());
+
+        try (DiscountRuleFileWatcher watcher = new DiscountRuleFileWatcher(rules, discountPolicy)) {
+            AtomicInteger minDiscount = new AtomicInteger(Integer.MAX_VALUE);
+            AtomicBoolean sampling = new AtomicBoolean(true);
+            Thread sampler = Thread.ofPlatform().start(() -> {
+                while (sampling.get()) {
+                    minDiscount.accumulateAndGet(discountPolicy.discount(vip, 20000), Math::min);
+                }
+            });
+
+            // when : truncate 로 빈 파일이 된 뒤 잠시 후에 내용이 써짐
+            try (OutputStream out = Files.newOutputStream(rules, StandardOpenOption.TRUNCATE_EXISTING)) {
+                out.flush();
+                Thread.sleep(50);
+                out.write("VIP 0-* * rate 20%\n".getBytes(StandardCharsets.UTF_8));
+            }
+
+            // then
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (discountPolicy.discount(vip, 20000) != 4000 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            sampling.set(false);
+            sampler.join();
+            assertThat(discountPolicy.discount(vip, 20000)).isEqualTo(4000);
+            assertThat(minDiscount.get()).isEqualTo(2000);
+        }
+    }
+
+    private void replace(Path target, String content) throws IOException {
+        Path temp = directory.resolve("discount.rules.tmp");
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
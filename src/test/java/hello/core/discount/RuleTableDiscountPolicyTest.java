@@ -0,0 +1,145 @@
+package hello.core.discount;
+
+import hello.core.item.CatalogItemRepository;
+import hello.core.item.Item;
+import hello.core.item.ItemRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuleTableDiscountPolicyTest {
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+    Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+
+    @Test
+    @DisplayName("규칙 1개로 RateDiscountPolicy, FixDiscountPolicy 와 같은 결과를 내야 한다")
+    void sameAsExistingPolicies() {
+        // given
+        RuleTableDiscountPolicy rate = RuleTableDiscountPolicy.compile(List.of(DiscountRule.rate(Grade.VIP, 10)));
+        RuleTableDiscountPolicy fix = RuleTableDiscountPolicy.compile(List.of(DiscountRule.fix(Grade.VIP, 1000)));
+        RateDiscountPolicy ratePolicy = new RateDiscountPolicy();
+        FixDiscountPolicy fixPolicy = new FixDiscountPolicy();
+
+        // then
+        for (int price = 0; price <= 100_000; price += 777) {
+            assertThat(rate.discount(vip, price)).isEqualTo(ratePolicy.discount(vip, price));
+            assertThat(rate.discount(basic, price)).isEqualTo(ratePolicy.discount(basic, price));
+            assertThat(fix.discount(vip, price)).isEqualTo(fixPolicy.discount(vip, price));
+            assertThat(fix.discount(basic, price)).isEqualTo(fixPolicy.discount(basic, price));
+        }
+    }
+
+    @Test
+    @DisplayName("가격대와 상품별 규칙이 겹치면 더 구체적인 규칙이 적용되어야 한다")
+    void priceBandsAndItems() throws IOException {
+        // given
+        List<DiscountRule> rules = DiscountRules.parse(new StringReader(
+                "# 등급    가격대        상품    할인\n" +
+                "VIP      0-*          *      rate 10%\n" +
+                "BASIC    100000-*     *      rate 5%   # 10만원 이상은 BASIC 도 할인\n" +
+                "VIP      50000-*      itemA  fix 7000\n" +
+                "*        0-*          itemB  fix 500\n"));
+
+        // when
+        RuleTableDiscountPolicy policy = RuleTableDiscountPolicy.compile(rules);
+
+        // then
+        assertThat(policy.discount(vip, 10000)).isEqualTo(1000);
+        assertThat(policy.discount(basic, 10000)).isEqualTo(0);
+        assertThat(policy.discount(basic, 100000)).isEqualTo(5000);
+        assertThat(policy.discount(vip, "itemA", 40000)).isEqualTo(4000);
+        assertThat(policy.discount(vip, "itemA", 60000)).isEqualTo(7000);
+        assertThat(policy.discount(basic, "itemB", 200000)).isEqualTo(500);
+        assertThat(policy.discount(vip, "itemC", 200000)).isEqualTo(20000);
+    }
+
+    @Test
+    @DisplayName("가격 경계가 촘촘해도 이진 탐색으로 같은 가격대를 찾아야 한다")
+    void binarySearchBands() {
+        // given : 경계의 최대공약수가 1 이라서 버킷 표를 만들지 않음
+        RuleTableDiscountPolicy policy = RuleTableDiscountPolicy.compile(List.of(
+                new DiscountRule(Grade.VIP, 7, 1_000_003, null, 10, 0),
+                new DiscountRule(Grade.VIP, 1_000_003, DiscountRule.NO_MAX_PRICE, null, 20, 0)));
+
+        // then
+        assertThat(policy.getBandCount()).isEqualTo(3);
+        assertThat(policy.discount(vip, 6)).isEqualTo(0);
+        assertThat(policy.discount(vip, 1_000)).isEqualTo(100);
+        assertThat(policy.discount(vip, 1_000_002)).isEqualTo(100_000);
+        assertThat(policy.discount(vip, 2_000_000)).isEqualTo(400_000);
+    }
+
+    @Test
+    @DisplayName("규칙 형식이 잘못되면 몇 번째 줄인지 알려줘야 한다")
+    void invalidRule() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DiscountRules.parse(new StringReader("VIP 0-* * rate 10%\nGOLD 0-* * rate 10%\n")));
+        assertThat(e.getMessage()).contains("line 2");
+    }
+
+    @Test
+    @DisplayName("카탈로그에 묶어도 상품 이름으로 계산할 때와 같은 결과를 내야 한다")
+    void withCatalog() {
+        // given
+        RuleTableDiscountPolicy policy = RuleTableDiscountPolicy.compile(List.of(
+                DiscountRule.rate(Grade.VIP, 10),
+                new DiscountRule(null, 0, DiscountRule.NO_MAX_PRICE, "itemB", 0, 500)));
+        ItemRepository catalog = CatalogItemRepository.of(Map.of("itemA", 10_000, "itemB", 20_000, "itemC", 30_000));
+        RuleTableDiscountPolicy bound = policy.withCatalog(catalog);
+        Item otherCatalogItem = new Item(0, "itemB", 20_000); // 다른 카탈로그에서 온 상품 (ID 가 다름)
+
+        // then
+        for (int itemId = 0; itemId < catalog.size(); itemId++) {
+            Item item = catalog.findById(itemId);
+            for (Member member : new Member[]{vip, basic}) {
+                assertThat(bound.discountItem(member, item, item.getPrice()))
+                        .isEqualTo(policy.discount(member, item.getName(), item.getPrice()));
+            }
+        }
+        assertThat(bound.discountItem(basic, otherCatalogItem, 20_000)).isEqualTo(500);
+        assertThat(policy.discountItem(basic, catalog.findById(catalog.findId("itemB")), 20_000)).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("가격 x 할인율이 int 범위를 넘는 큰 가격도 할인 금액이 맞아야 한다")
+    void largePrice() {
+        // given
+        RuleTableDiscountPolicy policy = RuleTableDiscountPolicy.compile(List.of(DiscountRule.rate(Grade.VIP, 10)));
+
+        // then
+        assertThat(policy.discount(vip, Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE / 10);
+        assertThat(policy.discount(vip, 300_000_000)).isEqualTo(30_000_000);
+    }
+
+    @Test
+    @DisplayName("등급이 없는 회원은 예외 없이 할인 0 이어야 한다")
+    void noGrade() {
+        // given
+        RuleTableDiscountPolicy policy = RuleTableDiscountPolicy.compile(List.of(
+                new DiscountRule(null, 0, DiscountRule.NO_MAX_PRICE, null, 10, 0)));
+        Member noGrade = new Member(3L, "memberC", null);
+
+        // then
+        assertThat(policy.discount(noGrade, 10000)).isEqualTo(0);
+        assertThat(policy.discount(noGrade, "itemA", 10000)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("할인율이 0~100 을 벗어난 규칙은 컴파일할 때 거부해야 한다")
+    void invalidPercent() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleTableDiscountPolicy.compile(List.of(DiscountRule.rate(Grade.VIP, 101))));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleTableDiscountPolicy.compile(List.of(DiscountRule.rate(Grade.VIP, -1))));
+    }
+}
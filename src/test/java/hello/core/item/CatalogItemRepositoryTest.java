@@ -0,0 +1,91 @@
+package hello.core.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogItemRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("상품 ID 는 이름 순서대로 0 부터 붙고, 이름과 ID 로 서로 찾을 수 있어야 한다")
+    void findIdAndItem() {
+        // given
+        ItemRepository catalog = CatalogItemRepository.of(Map.of("itemC", 30_000, "itemA", 10_000, "itemB", 20_000));
+
+        // when
+        int itemId = catalog.findId("itemB");
+
+        // then
+        assertThat(catalog.size()).isEqualTo(3);
+        assertThat(itemId).isEqualTo(1);
+        assertThat(catalog.findById(itemId)).isEqualTo(new Item(1, "itemB", 20_000));
+        assertThat(catalog.findId("itemD")).isEqualTo(ItemRepository.NO_ITEM);
+        assertThat(catalog.findId(null)).isEqualTo(ItemRepository.NO_ITEM);
+        assertThat(catalog.findById(3)).isNull();
+        assertThat(catalog.findById(ItemRepository.NO_ITEM)).isNull();
+    }
+
+    @Test
+    @DisplayName("상품이 많아도, String.hashCode 가 같은 상품이 있어도 모든 상품을 이름으로 찾을 수 있어야 한다")
+    void manyItems() {
+        // given
+        Map<String, Integer> prices = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            prices.put("item" + i, i);
+        }
+        Map<String, Integer> sameHash = Map.of("Aa", 1, "BB", 2, "itemA", 3); // "Aa".hashCode() == "BB".hashCode()
+
+        // when
+        ItemRepository catalog = CatalogItemRepository.of(prices);
+        ItemRepository sameHashCatalog = CatalogItemRepository.of(sameHash);
+
+        // then
+        for (String name : prices.keySet()) {
+            assertThat(catalog.findById(catalog.findId(name)).getName()).isEqualTo(name);
+        }
+        assertThat(catalog.findId("item10000")).isEqualTo(ItemRepository.NO_ITEM);
+        for (String name : sameHash.keySet()) {
+            assertThat(sameHashCatalog.findById(sameHashCatalog.findId(name)).getName()).isEqualTo(name);
+        }
+        assertThat(sameHashCatalog.findId("itemB")).isEqualTo(ItemRepository.NO_ITEM);
+    }
+
+    @Test
+    @DisplayName("CSV 로 불러온 카탈로그는 같은 상품에 같은 ID 가 붙어야 하고, 잘못된 줄은 줄 번호와 함께 실패해야 한다")
+    void load() throws IOException {
+        // given
+        Path file = directory.resolve("items.csv");
+        Files.writeString(file, "name,price\nitemB,20000\nitemA,10000\n\n");
+        Path duplicate = directory.resolve("duplicate.csv");
+        Files.writeString(duplicate, "itemA,10000\nitemA,20000\n");
+        Path invalid = directory.resolve("invalid.csv");
+        Files.writeString(invalid, "itemA,10000\nitemB,free\n");
+
+        // when
+        ItemRepository catalog = CatalogItemRepository.load(file);
+
+        // then
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(catalog.findById(catalog.findId("itemA")).getPrice()).isEqualTo(10_000);
+        assertThat(catalog.findId("itemB"))
+                .isEqualTo(CatalogItemRepository.of(Map.of("itemA", 1, "itemB", 2)).findId("itemB"));
+        assertThatThrownBy(() -> CatalogItemRepository.load(duplicate))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+        assertThatThrownBy(() -> CatalogItemRepository.load(invalid))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+}
@@ -0,0 +1,104 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncMemberRepositoryAdapterTest {
+
+    @Test
+    @DisplayName("느린 저장소에 동시에 들어가는 호출은 maxConcurrency 개를 넘지 않아야 한다")
+    void boundedConcurrency() {
+        // given
+        SlowMemberRepository slow = new SlowMemberRepository(5);
+        for (long id = 0; id < 10; id++) {
+            slow.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+        AsyncMemberRepositoryAdapter repository = new AsyncMemberRepositoryAdapter(slow, 4, 10, TimeUnit.SECONDS);
+
+        // when
+        List<CompletableFuture<Member>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(repository.findById(i % 10));
+        }
+
+        // then
+        for (int i = 0; i < 100; i++) {
+            assertThat(futures.get(i).join().getName()).isEqualTo("member" + i % 10);
+        }
+        assertThat(slow.maxConcurrent.get()).isEqualTo(4);
+        assertThat(repository.getRunning()).isZero();
+        assertThat(repository.getWaiting()).isZero();
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("timeout 안에 끝나지 않은 조회는 TimeoutException 으로 완료되고, 아직 시작 안 한 조회는 건너뛰어야 한다")
+    void timeout() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ConcurrentMemberRepository blocked = new ConcurrentMemberRepository() {
+            @Override
+            public Member findById(long memberId) {
+                calls.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findById(memberId);
+            }
+        };
+        AsyncMemberRepositoryAdapter repository = new AsyncMemberRepositoryAdapter(blocked, 1, 50, TimeUnit.MILLISECONDS);
+
+        // when
+        CompletableFuture<Member> running = repository.findById(1L);
+        CompletableFuture<Member> waiting = repository.findById(2L);
+
+        // then
+        assertThatThrownBy(running::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(TimeoutException.class);
+        assertThatThrownBy(waiting::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(TimeoutException.class);
+        release.countDown();
+        repository.close();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    /**
+     * 조회마다 지연 시간이 있는 저장소 (동시에 들어온 최대 호출 수를 기록함)
+     */
+    static class SlowMemberRepository extends ConcurrentMemberRepository {
+        final long latencyMillis;
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        SlowMemberRepository(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Member findById(long memberId) {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyMillis);
+                return super.findById(memberId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+    }
+}
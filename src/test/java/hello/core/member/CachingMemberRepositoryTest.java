@@ -0,0 +1,160 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingMemberRepositoryTest {
+
+    AtomicInteger lookups = new AtomicInteger();
+    ConcurrentMemberRepository members = new ConcurrentMemberRepository();
+    MemberRepository slowRepository = new MemberRepository() {
+        @Override
+        public void save(Member member) {
+            members.save(member);
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            lookups.incrementAndGet();
+            return members.findById(memberId);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Member> action) {
+            members.forEach(action);
+        }
+    };
+
+    @Test
+    @DisplayName("한 번 조회한 회원은 원래 저장소까지 가지 않아야 한다")
+    void readThrough() {
+        // given
+        members.save(new Member(1L, "memberA", Grade.VIP));
+        CachingMemberRepository repository = new CachingMemberRepository(slowRepository, 100);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            repository.findById(1L);
+        }
+
+        // then
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+        assertThat(lookups.get()).isEqualTo(1);
+        assertThat(repository.getMissCount()).isEqualTo(1);
+        assertThat(repository.getHitCount()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("없는 회원도 캐시되고, 저장하면 바로 조회되어야 한다")
+    void negativeCache() {
+        // given
+        CachingMemberRepository repository = new CachingMemberRepository(slowRepository, 100);
+
+        // when
+        Member first = repository.findById(2L);
+        Member second = repository.findById(2L);
+        repository.save(new Member(2L, "memberB", Grade.BASIC));
+
+        // then
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(repository.getNegativeHitCount()).isEqualTo(1);
+        assertThat(repository.findById(2L).getName()).isEqualTo("memberB");
+        assertThat(members.findById(2L).getName()).isEqualTo("memberB");
+        assertThat(lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘지 않고, 자주 조회한 회원은 전체를 훑어도 남아 있어야 한다")
+    void evictScanResistant() {
+        // given
+        for (long id = 0; id < 1_000; id++) {
+            members.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+        CachingMemberRepository repository = new CachingMemberRepository(slowRepository, 10);
+        repository.findById(0L);
+        repository.findById(0L); // protected 구역으로 올라감
+
+        // when
+        for (long id = 1; id < 1_000; id++) {
+            repository.findById(id);
+        }
+        lookups.set(0);
+        repository.findById(0L);
+
+        // then
+        assertThat(repository.size()).isEqualTo(10);
+        assertThat(repository.getEvictionCount()).isEqualTo(1_000 - 10);
+        assertThat(lookups.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 회원을 한 번에 조회하면 캐시에 없는 회원만 원래 저장소에서 조회해야 한다")
+    void findAllById() {
+        // given
+        members.save(new Member(1L, "memberA", Grade.VIP));
+        members.save(new Member(2L, "memberB", Grade.BASIC));
+        CachingMemberRepository repository = new CachingMemberRepository(slowRepository, 100);
+        repository.findById(1L);
+
+        // when
+        Map<Long, Member> found = repository.findAllById(List.of(1L, 2L, 3L));
+
+        // then
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(lookups.get()).isEqualTo(3); // 1L 한 번 + (2L, 3L)
+        assertThat(repository.findById(3L)).isNull();
+        assertThat(lookups.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("같은 회원을 동시에 저장해도 캐시와 원래 저장소의 회원이 같아야 한다")
+    void concurrentSave() throws Exception {
+        // given : memberA 를 원래 저장소에 저장한 직후, 캐시에 넣기 전에 memberB 저장이 끼어들도록 기다림
+        CountDownLatch savedB = new CountDownLatch(1);
+        CachingMemberRepository repository = new CachingMemberRepository(new MemberRepository() {
+            @Override
+            public void save(Member member) {
+                members.save(member);
+                if (member.getName().equals("memberA")) {
+                    try {
+                        savedB.await(200, TimeUnit.MILLISECONDS); // 같은 락이면 끼어들 수 없으므로 기다리다 그냥 진행
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                return members.findById(memberId);
+            }
+
+            @Override
+            public void forEach(Consumer<? super Member> action) {
+                members.forEach(action);
+            }
+        }, 100);
+
+        // when
+        Thread saveA = Thread.ofPlatform().start(() -> repository.save(new Member(1L, "memberA", Grade.BASIC)));
+        while (members.findById(1L) == null) {
+            Thread.onSpinWait();
+        }
+        repository.save(new Member(1L, "memberB", Grade.BASIC));
+        savedB.countDown();
+        saveA.join();
+
+        // then
+        assertThat(repository.findById(1L)).isSameAs(members.findById(1L));
+    }
+}
@@ -0,0 +1,120 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactMemberRepositoryTest {
+
+    @Test
+    @DisplayName("저장한 회원을 조회하면 같은 값으로 복원되어야 한다")
+    void saveAndFind() {
+        // given
+        CompactMemberRepository repository = new CompactMemberRepository();
+
+        // when
+        repository.save(new Member(1L, "memberA", Grade.VIP));
+        repository.save(new Member(-7L, "회원B", Grade.BASIC));
+        repository.save(new Member(0L, null, null));
+
+        // then
+        Member memberA = repository.findById(1L);
+        assertThat(memberA.getName()).isEqualTo("memberA");
+        assertThat(memberA.getGrade()).isEqualTo(Grade.VIP);
+
+        Member memberB = repository.findById(-7L);
+        assertThat(memberB.getName()).isEqualTo("회원B");
+        assertThat(memberB.getGrade()).isEqualTo(Grade.BASIC);
+
+        Member noName = repository.findById(0L);
+        assertThat(noName.getName()).isNull();
+        assertThat(noName.getGrade()).isNull();
+
+        assertThat(repository.findById(2L)).isNull();
+        assertThat(repository.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("saveAll 로 저장한 회원은 save 로 저장한 것과 똑같이 조회되어야 한다")
+    void saveAll() {
+        // given
+        CompactMemberRepository repository = new CompactMemberRepository(16);
+        repository.save(new Member(5L, "old", Grade.BASIC));
+        List<Member> members = new ArrayList<>();
+        for (long id = 0; id < 10_000; id++) {
+            members.add(new Member(id, id == 7 ? null : "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+
+        // when
+        repository.saveAll(members);
+
+        // then
+        assertThat(repository.size()).isEqualTo(10_000);
+        for (Member member : members) {
+            Member found = repository.findById(member.getId());
+            assertThat(found.getName()).isEqualTo(member.getName());
+            assertThat(found.getGrade()).isEqualTo(member.getGrade());
+        }
+    }
+
+    @Test
+    @DisplayName("같은 ID 로 다시 저장하면 최신 값으로 덮어써야 한다")
+    void overwrite() {
+        // given
+        CompactMemberRepository repository = new CompactMemberRepository(16);
+
+        // when : 이름 아레나가 가득 차서 압축될 만큼 여러 번 덮어씀
+        for (int i = 0; i < 10_000; i++) {
+            repository.save(new Member(1L, "memberA-" + i, i % 2 == 0 ? Grade.BASIC : Grade.VIP));
+            repository.save(new Member(2L, "memberB", Grade.BASIC));
+        }
+
+        // then
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberA-9999");
+        assertThat(repository.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.findById(2L).getName()).isEqualTo("memberB");
+        assertThat(repository.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("테이블이 커져도 모든 회원을 찾을 수 있어야 한다")
+    void resize() {
+        // given
+        CompactMemberRepository repository = new CompactMemberRepository(16);
+
+        // when
+        for (long id = 0; id < 100_000; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        // then
+        for (long id = 0; id < 100_000; id++) {
+            assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+        }
+    }
+
+    @Test
+    @DisplayName("회원 1명당 배열과 이름 아레나 크기가 일정 크기를 넘지 않아야 한다")
+    void footprint() {
+        // given
+        int members = 1_000_000;
+        CompactMemberRepository repository = new CompactMemberRepository(members);
+        long nameBytes = 0;
+
+        // when
+        for (long id = 0; id < members; id++) {
+            String name = "member" + id;
+            repository.save(new Member(id, name, Grade.BASIC));
+            nameBytes += name.length();
+        }
+
+        // then : HashMap<Long, Member> 는 Long, HashMap.Node, Member, String 으로 회원 1명당 100 byte 를 넘음
+        assertThat(repository.size()).isEqualTo(members);
+        assertThat(repository.footprintBytes()).isGreaterThanOrEqualTo(nameBytes);
+        assertThat(repository.footprintBytes() / members).isLessThan(48);
+    }
+}
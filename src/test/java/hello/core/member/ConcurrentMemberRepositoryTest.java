@@ -0,0 +1,153 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentMemberRepositoryTest {
+
+    @Test
+    @DisplayName("저장한 회원을 ID 로 조회할 수 있어야 한다")
+    void saveAndFind() {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        Member member = new Member(1L, "memberA", Grade.VIP);
+
+        // when
+        repository.save(member);
+
+        // then
+        assertThat(repository.findById(1L)).isSameAs(member);
+        assertThat(repository.findById(2L)).isNull();
+        assertThat(repository.findById((Long) null)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 ID 로 다시 저장하면 덮어써야 한다")
+    void overwrite() {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        repository.save(new Member(0L, "memberA", Grade.BASIC));
+
+        // when
+        Member updated = new Member(0L, "memberA", Grade.VIP);
+        repository.save(updated);
+
+        // then
+        assertThat(repository.findById(0L)).isSameAs(updated);
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("saveAll 로 저장한 회원은 save 로 저장한 것과 똑같이 조회되어야 한다")
+    void saveAll() {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository(4);
+        repository.save(new Member(0L, "memberA", Grade.BASIC));
+        List<Member> members = new ArrayList<>();
+        for (long id = 0; id < 10_000; id++) {
+            members.add(new Member(id, "member" + id, Grade.VIP));
+        }
+
+        // when : 테이블이 한 번에 여러 배로 늘어남
+        repository.saveAll(members);
+
+        // then
+        assertThat(repository.size()).isEqualTo(10_000);
+        for (Member member : members) {
+            assertThat(repository.findById(member.getId())).isSameAs(member);
+        }
+        repository.saveAll(List.of(new Member(10_000L, "member10000", Grade.BASIC)));
+        assertThat(repository.findById(10_000L).getName()).isEqualTo("member10000");
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 저장해도 유실되는 회원이 없어야 한다")
+    void concurrentSaveNoLostUpdates() throws Exception {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int perThread = 50_000;
+
+        // when
+        runConcurrently(threads, t -> {
+            for (long id = (long) t * perThread; id < (long) (t + 1) * perThread; id++) {
+                repository.save(new Member(id, "member" + id, Grade.BASIC));
+            }
+        });
+
+        // then
+        assertThat(repository.size()).isEqualTo(threads * perThread);
+        for (long id = 0; id < (long) threads * perThread; id++) {
+            assertThat(repository.findById(id).getId()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    @DisplayName("저장 중에 조회해도 다른 회원이 조회되면 안된다")
+    void concurrentReadWhileWriting() throws Exception {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository(2);
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int members = 100_000;
+
+        // when : 절반은 쓰고 절반은 읽음 (테이블 resize 도 같이 일어남)
+        List<Long> mismatches = new ArrayList<>();
+        runConcurrently(threads, t -> {
+            if (t % 2 == 0) {
+                for (long id = t; id < members; id += threads) {
+                    repository.save(new Member(id, "member" + id, Grade.VIP));
+                }
+                return;
+            }
+            for (long id = 0; id < members; id++) {
+                Member found = repository.findById(id);
+                if (found != null && found.getId() != id) {
+                    synchronized (mismatches) {
+                        mismatches.add(id);
+                    }
+                }
+            }
+        });
+
+        // then
+        assertThat(mismatches).isEmpty();
+    }
+
+    interface Work {
+        void run(int threadIndex);
+    }
+
+    private static void runConcurrently(int threads, Work work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int threadIndex = t;
+                Callable<Void> task = () -> {
+                    start.await();
+                    work.run(threadIndex);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileMemberRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작해도 저장한 회원이 남아있어야 한다")
+    void reopen() {
+        // given
+        try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+            repository.save(new Member(1L, "memberA", Grade.VIP));
+            repository.save(new Member(2L, "회원B", Grade.BASIC));
+            repository.save(new Member(1L, "memberA2", Grade.BASIC));
+            repository.save(new Member(3L, null, null));
+        }
+
+        // when
+        try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+
+            // then
+            assertThat(repository.size()).isEqualTo(3);
+            assertThat(repository.findById(1L).getName()).isEqualTo("memberA2");
+            assertThat(repository.findById(1L).getGrade()).isEqualTo(Grade.BASIC);
+            assertThat(repository.findById(2L).getName()).isEqualTo("회원B");
+            assertThat(repository.findById(3L).getName()).isNull();
+            assertThat(repository.findById(3L).getGrade()).isNull();
+            assertThat(repository.findById(4L)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("인덱스 파일이 없으면 로그를 훑어서 인덱스를 다시 만들어야 한다")
+    void rebuildIndexWithoutIndexFile() throws IOException {
+        // given
+        try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+            for (long id = 0; id < 1_000; id++) {
+                repository.save(new Member(id, "member" + id, Grade.BASIC));
+            }
+        }
+        Files.delete(directory.resolve(FileMemberRepository.INDEX_FILE));
+
+        // when
+        try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+
+            // then
+            assertThat(repository.size()).isEqualTo(1_000);
+            assertThat(repository.findById(999L).getName()).isEqualTo("member999");
+        }
+    }
+
+    @Test
+    @DisplayName("checkpoint 이후에 저장한 회원도 복구되어야 한다")
+    void recoverAfterCheckpoint() {
+        // given : close 하지 않고 종료된 상황 (인덱스 파일은 checkpoint 시점까지만 포함)
+        FileMemberRepository crashed = new FileMemberRepository(directory);
+        crashed.save(new Member(1L, "memberA", Grade.VIP));
+        crashed.checkpoint();
+        crashed.save(new Member(2L, "memberB", Grade.BASIC));
+
+        // when
+        try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+
+            // then
+            assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+            assertThat(repository.findById(2L).getName()).isEqualTo("memberB");
+        }
+    }
+
+    @Test
+    @DisplayName("마지막 레코드가 잘려 있으면 잘라내고 이어서 저장할 수 있어야 한다")
+    void truncateTornTail() throws IOException {
+        // given
+        try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+            repository.save(new Member(1L, "memberA", Grade.VIP));
+        }
+        Path logPath = directory.resolve(FileMemberRepository.LOG_FILE);
+        long validSize = Files.size(logPath);
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            // 길이는 100 바이트라고 적었지만 본문은 일부만 쓰고 죽은 레코드
+            channel.write(ByteBuffer.allocate(12).putInt(100).putInt(0).putInt(42).flip());
+        }
+
+        // when
+        try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+            repository.save(new Member(2L, "memberB", Grade.BASIC));
+
+            // then
+            assertThat(repository.size()).isEqualTo(2);
+            assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+        }
+        try (FileMemberRepository repository = new FileMemberRepository(directory)) {
+            assertThat(repository.findById(2L).getName()).isEqualTo("memberB");
+        }
+        assertThat(Files.size(logPath)).isGreaterThan(validSize);
+    }
+}
@@ -0,0 +1,132 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedMemberRepositoryTest {
+
+    @Test
+    @DisplayName("등급으로 조회하면 그 등급의 회원만 ID 순으로 조회되어야 한다")
+    void findByGrade() {
+        // given
+        IndexedMemberRepository repository = new IndexedMemberRepository(new ConcurrentMemberRepository());
+
+        // when
+        for (long id = 0; id < 10_000; id++) {
+            repository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+
+        // then
+        List<Member> vips = repository.findByGrade(Grade.VIP);
+        assertThat(vips).hasSize(1_000);
+        assertThat(vips).extracting(Member::getId).isSorted();
+        assertThat(vips).allMatch(member -> member.getId() % 10 == 0);
+        assertThat(repository.countByGrade(Grade.BASIC)).isEqualTo(9_000);
+    }
+
+    @Test
+    @DisplayName("setGrade 로 등급을 바꾸고 다시 저장하면 등급 인덱스도 바뀌어야 한다")
+    void changeGrade() {
+        // given
+        IndexedMemberRepository repository = new IndexedMemberRepository(new ConcurrentMemberRepository());
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+        repository.save(new Member(2L, "memberB", Grade.BASIC));
+
+        // when
+        Member member = repository.findById(1L);
+        member.setGrade(Grade.VIP); // 저장소에 들어 있는 바로 그 객체
+        repository.save(member);
+
+        // then
+        assertThat(repository.findByGrade(Grade.VIP)).extracting(Member::getId).containsExactly(1L);
+        assertThat(repository.findByGrade(Grade.BASIC)).extracting(Member::getId).containsExactly(2L);
+        assertThat(repository.countByGrade(Grade.BASIC)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이름 접두사로 조회하면 이름순으로 조회되고, 이름이 바뀐 회원은 새 이름으로만 조회되어야 한다")
+    void findByNamePrefix() {
+        // given
+        IndexedMemberRepository repository = new IndexedMemberRepository(new CompactMemberRepository());
+        repository.save(new Member(3L, "kim", Grade.BASIC));
+        repository.save(new Member(1L, "kimchi", Grade.VIP));
+        repository.save(new Member(2L, "lee", Grade.BASIC));
+        repository.save(new Member(4L, "kim", Grade.VIP));
+
+        // when
+        repository.save(new Member(1L, "park", Grade.VIP));
+
+        // then
+        assertThat(repository.findByNamePrefix("kim")).extracting(Member::getId).containsExactly(3L, 4L);
+        assertThat(repository.findByNamePrefix("p")).extracting(Member::getName).containsExactly("park");
+        assertThat(repository.findByNamePrefix("")).extracting(Member::getName).containsExactly("kim", "kim", "lee", "park");
+        assertThat(repository.findByNamePrefix("x")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("인덱스 조회 결과는 전체를 훑은 결과와 같아야 한다")
+    void sameAsScan() {
+        // given
+        ConcurrentMemberRepository store = new ConcurrentMemberRepository();
+        for (long id = 0; id < 5_000; id++) {
+            store.save(new Member(id * 7919, "member" + (id % 1_000), id % 3 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+
+        // when
+        IndexedMemberRepository repository = new IndexedMemberRepository(store); // 이미 저장된 회원으로 인덱스를 만듦
+
+        // then
+        assertThat(repository.findByGrade(Grade.VIP)).containsExactlyInAnyOrderElementsOf(store.findByGrade(Grade.VIP));
+        assertThat(repository.findByNamePrefix("member12"))
+                .containsExactlyInAnyOrderElementsOf(store.findByNamePrefix("member12"));
+    }
+
+    @Test
+    @DisplayName("인덱스가 없는 저장소도 모두 등급, 이름 접두사로 조회할 수 있어야 한다")
+    void allRepositories(@TempDir Path directory) throws Exception {
+        // given : MemoryMemberRepository 는 다른 테스트와 저장소를 같이 쓰므로 이 테스트의 회원 ID 만 봄
+        long firstId = 700_000;
+        ConcurrentMemberRepository remoteStore = new ConcurrentMemberRepository();
+        try (MemberShardServer server = new MemberShardServer(remoteStore, 0);
+             RemoteMemberRepository remote = new RemoteMemberRepository(server.getPort())) {
+            FileMemberRepository file = new FileMemberRepository(directory);
+            List<MemberRepository> repositories = List.of(
+                    new MemoryMemberRepository(),
+                    new ConcurrentMemberRepository(),
+                    new CompactMemberRepository(),
+                    file,
+                    new CachingMemberRepository(new ConcurrentMemberRepository(), 10),
+                    new ShardedMemberRepository(Map.of("shard-0", new ConcurrentMemberRepository(), "shard-1", new CompactMemberRepository())),
+                    remote,
+                    new IndexedMemberRepository(new ConcurrentMemberRepository()));
+
+            for (MemberRepository repository : repositories) {
+                // when
+                for (long id = firstId; id < firstId + 100; id++) {
+                    repository.save(new Member(id, (id % 2 == 0 ? "kim" : "lee") + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+                }
+                List<Long> vips = ids(repository.findByGrade(Grade.VIP), firstId);
+                List<Long> kims = ids(repository.findByNamePrefix("kim"), firstId);
+
+                // then
+                assertThat(vips).as(repository.getClass().getSimpleName()).hasSize(10).allMatch(id -> id % 10 == 0);
+                assertThat(kims).as(repository.getClass().getSimpleName()).hasSize(50).allMatch(id -> id % 2 == 0);
+            }
+            file.close();
+        }
+    }
+
+    private static List<Long> ids(List<Member> members, long firstId) {
+        return members.stream()
+                .map(Member::getId)
+                .filter(id -> id >= firstId && id < firstId + 100)
+                .toList();
+    }
+}
@@ -0,0 +1,53 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberIdBitmapTest {
+
+    @Test
+    @DisplayName("추가한 ID 만 들어 있고, 오름차순으로 꺼낼 수 있어야 한다")
+    void addAndContains() {
+        // given
+        MemberIdBitmap bitmap = new MemberIdBitmap();
+
+        // when
+        bitmap.add(70_000L);
+        bitmap.add(-1L);
+        bitmap.add(3L);
+        bitmap.add(Long.MAX_VALUE);
+        bitmap.add(Long.MIN_VALUE);
+
+        // then
+        assertThat(bitmap.add(3L)).isFalse();
+        assertThat(bitmap.contains(70_000L)).isTrue();
+        assertThat(bitmap.contains(4L)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(5);
+        assertThat(bitmap.toArray()).containsExactly(Long.MIN_VALUE, -1L, 3L, 70_000L, Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("촘촘한 ID 는 비트맵 컨테이너로 바뀌고, 지워서 줄어들면 다시 배열 컨테이너로 돌아가야 한다")
+    void convertContainers() {
+        // given
+        MemberIdBitmap bitmap = new MemberIdBitmap();
+        for (long id = 0; id < 10_000; id++) {
+            bitmap.add(id);
+        }
+        long denseBytes = bitmap.sizeInBytes();
+
+        // when
+        for (long id = 100; id < 10_000; id++) {
+            assertThat(bitmap.remove(id)).isTrue();
+        }
+
+        // then
+        assertThat(denseBytes).isLessThan(10_000 * 2);
+        assertThat(bitmap.sizeInBytes()).isLessThan(1_000);
+        assertThat(bitmap.cardinality()).isEqualTo(100);
+        assertThat(bitmap.remove(100L)).isFalse();
+        assertThat(bitmap.toArray()).hasSize(100).startsWith(0L, 1L).endsWith(99L);
+    }
+}
@@ -0,0 +1,72 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberImporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("조각 경계가 줄 중간에 걸려도 모든 회원을 한 번씩 가져와야 한다")
+    void importCsv() throws IOException {
+        // given
+        Path file = directory.resolve("members.csv");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,name,grade\n");
+            for (int id = 0; id < 10_000; id++) {
+                writer.write(id + ",회원" + id + "," + (id % 10 == 0 ? "VIP" : "BASIC") + (id % 3 == 0 ? "\r\n" : "\n"));
+            }
+            writer.write("\n-1,,\n10000,member10000,VIP"); // 빈 줄, 이름 / 등급 없는 회원, 마지막 줄에 줄바꿈 없음
+        }
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        AtomicLong lastProgress = new AtomicLong();
+
+        // when : 조각 (97 byte) 이 줄보다 조금 큼
+        MemberImporter.Result result = new MemberImporter(repository, pool, 97, 100)
+                .importCsv(file, (rows, bytes, totalBytes) -> lastProgress.accumulateAndGet(rows, Math::max));
+
+        // then
+        assertThat(result.getRows()).isEqualTo(10_002);
+        assertThat(result.getBytes()).isEqualTo(Files.size(file));
+        assertThat(lastProgress.get()).isEqualTo(10_002);
+        assertThat(repository.size()).isEqualTo(10_002);
+        for (long id = 0; id < 10_000; id++) {
+            Member member = repository.findById(id);
+            assertThat(member.getName()).isEqualTo("회원" + id);
+            assertThat(member.getGrade()).isEqualTo(id % 10 == 0 ? Grade.VIP : Grade.BASIC);
+        }
+        assertThat(repository.findById(-1L).getName()).isNull();
+        assertThat(repository.findById(-1L).getGrade()).isNull();
+        assertThat(repository.findById(10_000L).getName()).isEqualTo("member10000");
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("형식이 맞지 않는 줄이 있으면 그 위치를 알려주는 예외가 나야 한다")
+    void invalidLine() throws IOException {
+        // given
+        Path file = directory.resolve("members.csv");
+        Files.writeString(file, "1,memberA,VIP\n2,memberB,GOLD\n");
+
+        // when, then
+        assertThatThrownBy(() -> new MemberImporter(new CompactMemberRepository()).importCsv(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("byte 14")
+                .hasMessageContaining("GOLD");
+    }
+}
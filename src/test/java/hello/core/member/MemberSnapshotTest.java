@@ -0,0 +1,132 @@
+package hello.core.member;
+
+import hello.core.AppConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("스냅샷으로 다시 만든 저장소는 원래 저장소와 같은 회원을 가져야 한다")
+    void snapshotAndLoad() {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        for (long id = 0; id < 10_000; id++) {
+            repository.save(new Member(id, "회원" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        repository.save(new Member(-1L, null, null));
+        Path file = directory.resolve("members.snapshot");
+
+        // when
+        long count = repository.snapshot(file);
+        ConcurrentMemberRepository loaded = ConcurrentMemberRepository.loadSnapshot(file);
+
+        // then
+        assertThat(count).isEqualTo(10_001);
+        assertThat(loaded.size()).isEqualTo(10_001);
+        for (long id = 0; id < 10_000; id++) {
+            assertThat(loaded.findById(id).getName()).isEqualTo("회원" + id);
+            assertThat(loaded.findById(id).getGrade()).isEqualTo(id % 10 == 0 ? Grade.VIP : Grade.BASIC);
+        }
+        assertThat(loaded.findById(-1L).getName()).isNull();
+        assertThat(loaded.findById(-1L).getGrade()).isNull();
+        assertThat(directory.resolve("members.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("스냅샷을 쓰는 동안 저장한 회원도 원래 저장소에서 유실되면 안된다")
+    void saveWhileSnapshotting() throws Exception {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository(4);
+        for (long id = 0; id < 100_000; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+        AtomicBoolean snapshotting = new AtomicBoolean(true);
+
+        // when : 스냅샷을 여러 번 쓰는 동안 다른 스레드가 새 회원을 저장하고 기존 회원을 덮어씀
+        CompletableFuture<Long> writer = CompletableFuture.supplyAsync(() -> {
+            long id = 100_000;
+            while (snapshotting.get() || id < 150_000) {
+                repository.save(new Member(id, "member" + id, Grade.BASIC));
+                repository.save(new Member(id % 100_000, "updated" + id % 100_000, Grade.VIP));
+                id++;
+            }
+            return id;
+        });
+        long[] counts = new long[5];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = repository.snapshot(directory.resolve("members-" + i + ".snapshot"));
+        }
+        snapshotting.set(false);
+        long saved = writer.get();
+
+        // then
+        assertThat(repository.size()).isEqualTo(saved);
+        for (long id = 0; id < saved; id++) {
+            assertThat(repository.findById(id)).isNotNull();
+        }
+        for (int i = 0; i < counts.length; i++) {
+            ConcurrentMemberRepository loaded = ConcurrentMemberRepository.loadSnapshot(directory.resolve("members-" + i + ".snapshot"));
+            assertThat((long) loaded.size()).isEqualTo(counts[i]).isBetween(100_000L, saved);
+            for (long id = 0; id < counts[i]; id++) { // 회원 ID 는 차례대로 저장되므로 스냅샷에는 0 ~ count-1 이 있어야 함
+                assertThat(loaded.findById(id)).isNotNull();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷 파일이 손상되었으면 읽어 들이면 안된다")
+    void corrupted() throws IOException {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        repository.save(new Member(1L, "memberA", Grade.VIP));
+        Path file = directory.resolve("members.snapshot");
+        repository.snapshot(file);
+
+        // when
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[20] ^= 1;
+        Files.write(file, bytes);
+
+        // then
+        assertThatThrownBy(() -> ConcurrentMemberRepository.loadSnapshot(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("CRC");
+    }
+
+    @Test
+    @DisplayName("-Dmember.snapshot 을 주면 AppConfig 가 스냅샷을 읽어 들인 저장소를 만들어야 한다")
+    void loadOnStartup() {
+        // given
+        ConcurrentMemberRepository repository = new ConcurrentMemberRepository();
+        repository.save(new Member(1L, "memberA", Grade.VIP));
+        Path file = directory.resolve("members.snapshot");
+        repository.snapshot(file);
+
+        // when
+        MemberRepository loaded;
+        System.setProperty("member.snapshot", file.toString());
+        try {
+            loaded = new AppConfig().memberRepository();
+        } finally {
+            System.clearProperty("member.snapshot");
+        }
+
+        // then
+        assertThat(loaded).isInstanceOf(ConcurrentMemberRepository.class);
+        assertThat(loaded.findById(1L).getName()).isEqualTo("memberA");
+    }
+}
@@ -0,0 +1,65 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberValueTest {
+
+    @Test
+    @DisplayName("with 메소드는 원래 값을 바꾸지 않고 새 회원을 만들어야 한다")
+    void with() {
+        // given
+        MemberValue member = new MemberValue(1L, "memberA", Grade.BASIC);
+
+        // when
+        MemberValue vip = member.withGrade(Grade.VIP);
+        MemberValue renamed = member.withName("memberB");
+
+        // then
+        assertThat(member).isEqualTo(new MemberValue(1L, "memberA", Grade.BASIC));
+        assertThat(vip).isEqualTo(new MemberValue(1L, "memberA", Grade.VIP));
+        assertThat(renamed).isEqualTo(new MemberValue(1L, "memberB", Grade.BASIC));
+        assertThat(vip.hashCode()).isNotEqualTo(member.hashCode());
+    }
+
+    @Test
+    @DisplayName("어느 저장소에 저장해도 같은 MemberValue 로 조회되어야 한다")
+    void repositories() {
+        // given
+        MemberValue member = new MemberValue(7L, "회원A", Grade.VIP);
+        MemberRepository[] repositories = {
+                new MemoryMemberRepository(),
+                new ConcurrentMemberRepository(),
+                new CompactMemberRepository(),
+                new IndexedMemberRepository(new ConcurrentMemberRepository())
+        };
+
+        for (MemberRepository repository : repositories) {
+            // when
+            repository.save(member);
+
+            // then
+            assertThat(repository.findValueById(7L)).isEqualTo(member);
+            assertThat(repository.findById(7L).getName()).isEqualTo("회원A");
+            assertThat(repository.findValueById(8L)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("조회한 Member 를 바꿔도 먼저 꺼낸 MemberValue 는 바뀌지 않아야 한다")
+    void snapshot() {
+        // given
+        MemberService memberService = new MemberServiceImpl(new MemoryMemberRepository());
+        memberService.join(new MemberValue(1L, "memberA", Grade.BASIC));
+        MemberValue before = memberService.findMemberValue(1L);
+
+        // when
+        memberService.findMember(1L).setGrade(Grade.VIP);
+
+        // then
+        assertThat(before.getGrade()).isEqualTo(Grade.BASIC);
+        assertThat(before.toMember().getGrade()).isEqualTo(Grade.BASIC);
+    }
+}
@@ -0,0 +1,237 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedMemberRepositoryTest {
+
+    static final int MEMBERS = 10_000;
+
+    @Test
+    @DisplayName("회원은 담당 샤드 하나에만 저장되고, 샤드마다 비슷한 수의 회원을 맡아야 한다")
+    void route() {
+        // given
+        Map<String, ConcurrentMemberRepository> shards = shards("shard-0", "shard-1", "shard-2", "shard-3");
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+
+        // when
+        saveMembers(repository, MEMBERS);
+
+        // then
+        for (long id = 0; id < MEMBERS; id++) {
+            assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+            assertThat(shards.get(repository.shardNameFor(id)).findById(id)).isNotNull();
+        }
+        int total = 0;
+        for (ConcurrentMemberRepository shard : shards.values()) {
+            assertThat(shard.size()).isBetween(MEMBERS / 4 * 7 / 10, MEMBERS / 4 * 13 / 10);
+            total += shard.size();
+        }
+        assertThat(total).isEqualTo(MEMBERS);
+        assertThat(repository.findById(MEMBERS)).isNull();
+    }
+
+    @Test
+    @DisplayName("샤드를 추가하면 새 샤드가 맡게 된 회원만 옮겨져야 한다")
+    void addShard() {
+        // given
+        Map<String, ConcurrentMemberRepository> shards = shards("shard-0", "shard-1", "shard-2");
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+        saveMembers(repository, MEMBERS);
+        Map<Long, String> before = owners(repository);
+
+        // when
+        ConcurrentMemberRepository added = new ConcurrentMemberRepository();
+        int moved = repository.addShard("shard-3", added);
+
+        // then
+        assertThat(moved).isEqualTo(added.size());
+        assertThat(moved).isBetween(MEMBERS / 4 * 7 / 10, MEMBERS / 4 * 13 / 10);
+        for (long id = 0; id < MEMBERS; id++) {
+            String owner = repository.shardNameFor(id);
+            assertThat(owner).isIn(before.get(id), "shard-3"); // 기존 샤드끼리는 옮겨지지 않음
+            assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+        }
+        assertThat(repository.getShardNames()).containsExactly("shard-0", "shard-1", "shard-2", "shard-3");
+    }
+
+    @Test
+    @DisplayName("샤드를 빼면 그 샤드의 회원만 다른 샤드로 옮겨져야 한다")
+    void removeShard() {
+        // given
+        Map<String, ConcurrentMemberRepository> shards = shards("shard-0", "shard-1", "shard-2", "shard-3");
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+        saveMembers(repository, MEMBERS);
+        Map<Long, String> before = owners(repository);
+
+        // when
+        int moved = repository.removeShard("shard-1");
+
+        // then
+        assertThat(moved).isEqualTo(shards.get("shard-1").size());
+        for (long id = 0; id < MEMBERS; id++) {
+            if (!before.get(id).equals("shard-1")) {
+                assertThat(repository.shardNameFor(id)).isEqualTo(before.get(id));
+            }
+            assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+        }
+        List<Member> all = new ArrayList<>();
+        repository.forEach(all::add);
+        assertThat(all).hasSize(MEMBERS); // 빠진 샤드에 남은 회원은 세지 않음
+    }
+
+    @Test
+    @DisplayName("샤드를 추가했다가 다시 빼도 그 사이에 바뀐 회원 정보가 남아 있어야 한다")
+    void addUpdateRemove() {
+        // given
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards("shard-0", "shard-1"));
+        saveMembers(repository, MEMBERS);
+        int moved = repository.addShard("shard-2", new ConcurrentMemberRepository());
+
+        // when : shard-2 로 옮겨진 회원만 바꾼 뒤 shard-2 를 뺌 -> 예전 회원이 남아 있는 원래 샤드로 돌아감
+        int updated = 0;
+        for (long id = 0; id < MEMBERS; id++) {
+            if (repository.shardNameFor(id).equals("shard-2")) {
+                repository.save(new Member(id, "updated" + id, Grade.VIP));
+                updated++;
+            }
+        }
+        repository.removeShard("shard-2");
+
+        // then
+        assertThat(updated).isEqualTo(moved);
+        for (long id = 0; id < MEMBERS; id++) {
+            Member member = repository.findById(id);
+            assertThat(member.getName()).isIn("member" + id, "updated" + id);
+            if (member.getName().startsWith("updated")) {
+                updated--;
+            }
+        }
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    @DisplayName("재배치 뒤에 저장한 회원은 새 샤드에서 조회되어야 한다")
+    void saveAfterRebalance() {
+        // given
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards("shard-0", "shard-1"));
+        saveMembers(repository, MEMBERS);
+        repository.addShard("shard-2", new ConcurrentMemberRepository());
+
+        // when
+        for (long id = 0; id < MEMBERS; id++) {
+            repository.save(new Member(id, "updated" + id, Grade.VIP));
+        }
+
+        // then
+        for (long id = 0; id < MEMBERS; id++) {
+            assertThat(repository.findById(id).getName()).isEqualTo("updated" + id);
+        }
+        List<Long> ids = List.of(1L, 2L, 3L, (long) MEMBERS);
+        assertThat(repository.findAllById(ids)).containsOnlyKeys(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("회원을 옮기다 실패해도 회원을 잃지 않고, 이어서 재배치할 수 있어야 한다")
+    void resumeRebalance() {
+        // given : 처음 한 번은 훑다가 연결이 끊기는 샤드
+        AtomicBoolean broken = new AtomicBoolean(true);
+        Map<String, MemberRepository> shards = new LinkedHashMap<>();
+        shards.put("shard-0", new ConcurrentMemberRepository() {
+            @Override
+            public void forEach(Consumer<? super Member> action) {
+                if (broken.getAndSet(false)) {
+                    throw new UncheckedIOException(new IOException("connection reset"));
+                }
+                super.forEach(action);
+            }
+        });
+        shards.put("shard-1", new ConcurrentMemberRepository());
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+        saveMembers(repository, MEMBERS);
+
+        // when
+        assertThatThrownBy(() -> repository.addShard("shard-2", new ConcurrentMemberRepository()))
+                .isInstanceOf(UncheckedIOException.class);
+
+        // then : 이전 샤드까지 찾아가고, 이어서 하기 전에는 샤드를 바꿀 수 없음
+        for (long id = 0; id < MEMBERS; id++) {
+            assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+        }
+        assertThatThrownBy(() -> repository.addShard("shard-3", new ConcurrentMemberRepository()))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(repository.resumeRebalance()).isPositive();
+        assertThat(repository.resumeRebalance()).isZero();
+        for (long id = 0; id < MEMBERS; id++) {
+            assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+        }
+        assertThat(repository.getShardNames()).containsExactly("shard-0", "shard-1", "shard-2");
+    }
+
+    @Test
+    @DisplayName("다른 프로세스의 샤드 서버도 샤드로 쓸 수 있어야 한다")
+    void remoteShard() throws Exception {
+        // given
+        ConcurrentMemberRepository remoteStore = new ConcurrentMemberRepository();
+        try (MemberShardServer server = new MemberShardServer(remoteStore, 0);
+             RemoteMemberRepository remote = new RemoteMemberRepository(server.getPort())) {
+            Map<String, MemberRepository> shards = new LinkedHashMap<>();
+            shards.put("local", new ConcurrentMemberRepository());
+            ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+            saveMembers(repository, 1_000);
+
+            // when
+            int moved = repository.addShard("remote", remote);
+            repository.save(new Member(5_000L, null, null));
+
+            // then
+            assertThat(moved).isPositive();
+            assertThat(remoteStore.size()).isGreaterThanOrEqualTo(moved);
+            for (long id = 0; id < 1_000; id++) {
+                assertThat(repository.findById(id).getName()).isEqualTo("member" + id);
+            }
+            Member nameless = repository.findById(5_000L);
+            assertThat(nameless.getName()).isNull();
+            assertThat(nameless.getGrade()).isNull();
+            List<Member> all = new ArrayList<>();
+            repository.forEach(all::add);
+            assertThat(all).hasSize(1_001);
+        }
+    }
+
+    private static Map<String, ConcurrentMemberRepository> shards(String... names) {
+        Map<String, ConcurrentMemberRepository> shards = new LinkedHashMap<>();
+        for (String name : names) {
+            shards.put(name, new ConcurrentMemberRepository());
+        }
+        return shards;
+    }
+
+    private static void saveMembers(MemberRepository repository, int count) {
+        for (long id = 0; id < count; id++) {
+            repository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+    }
+
+    private static Map<Long, String> owners(ShardedMemberRepository repository) {
+        Map<Long, String> owners = new HashMap<>();
+        for (long id = 0; id < MEMBERS; id++) {
+            owners.put(id, repository.shardNameFor(id));
+        }
+        return owners;
+    }
+}
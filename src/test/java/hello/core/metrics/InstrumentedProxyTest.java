@@ -0,0 +1,65 @@
+package hello.core.metrics;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.discount.ReloadableDiscountPolicy;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedProxyTest {
+
+    MeterRegistry registry = new MeterRegistry();
+
+    @Test
+    @DisplayName("메소드마다 호출 횟수와 오류 횟수가 기록되어야 한다")
+    void countCallsAndErrors() {
+        // given
+        ConcurrentMemberRepository members = new ConcurrentMemberRepository();
+        MemberRepository memberRepository = InstrumentedProxy.wrap(MemberRepository.class, members, registry, "memberRepository");
+
+        // when
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        memberRepository.findById(1L);
+        memberRepository.findById(2L);
+
+        // then
+        assertThat(registry.timer("memberRepository.save").getCount()).isEqualTo(1);
+        assertThat(registry.timer("memberRepository.findById").getCount()).isEqualTo(2);
+        assertThatThrownBy(() -> memberRepository.save(new Member(null, "noId", Grade.BASIC)))
+                .isInstanceOf(NullPointerException.class); // 원래 예외가 그대로 나와야 함
+        assertThat(registry.timer("memberRepository.save").getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("current() 로 꺼낸 할인 정책의 discount 도 기록되어야 한다")
+    void instrumentReturnedPolicy() {
+        // given
+        ConcurrentMemberRepository memberRepository = new ConcurrentMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        DiscountPolicy discountPolicy = InstrumentedProxy.wrap(DiscountPolicy.class,
+                new ReloadableDiscountPolicy(new FixDiscountPolicy()), registry, "discountPolicy");
+        OrderService orderService = InstrumentedProxy.wrap(OrderService.class,
+                new OrderServiceImpl(memberRepository, discountPolicy), registry, "orderService");
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            orderService.createOrder(1L, "itemA", 10000);
+        }
+
+        // then
+        assertThat(registry.timer("orderService.createOrder").getCount()).isEqualTo(10);
+        assertThat(registry.timer("discountPolicy.current").getCount()).isEqualTo(10);
+        assertThat(registry.timer("discountPolicy.discount").getCount()).isEqualTo(10);
+        assertThat(registry.scrape()).contains("orderService.createOrder count=10 errors=0");
+        assertThat(registry.toJson()).contains("\"discountPolicy.discount\":{\"count\":10,\"errors\":0");
+    }
+}
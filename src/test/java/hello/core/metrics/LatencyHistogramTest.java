@@ -0,0 +1,42 @@
+package hello.core.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("백분위 값은 실제 값과 1/64 이내로 차이가 나야 한다")
+    void percentile() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000); // 1us ~ 100ms
+        }
+
+        // then
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMax()).isEqualTo(100_000_000L);
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(50_000_000, within(50_000_000 / 64.0));
+        assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(99_000_000, within(99_000_000 / 64.0));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100_000_000L);
+        assertThat(histogram.getMean()).isCloseTo(50_000_500, within(1.0));
+    }
+
+    @Test
+    @DisplayName("버킷 경계에서도 값이 자기 버킷의 범위 안에 있어야 한다")
+    void bucketBoundaries() {
+        for (long value : new long[]{0, 1, 127, 128, 129, 255, 256, 1023, 1024, 1_000_000, LatencyHistogram.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestValueOf(index - 1)).isLessThan(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package hello.core.order;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.discount.ReloadableDiscountPolicy;
+import hello.core.member.AsyncMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncOrderServiceTest {
+
+    Map<Long, CompletableFuture<Member>> pending = new ConcurrentHashMap<>();
+    AtomicInteger lookups = new AtomicInteger();
+
+    // 조회를 바로 끝내지 않고, 테스트가 complete 할 때까지 기다리는 저장소
+    AsyncMemberRepository memberRepository = new AsyncMemberRepository() {
+        @Override
+        public CompletableFuture<Void> save(Member member) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Member> findById(long memberId) {
+            lookups.incrementAndGet();
+            return pending.computeIfAbsent(memberId, id -> new CompletableFuture<>());
+        }
+    };
+
+    @Test
+    @DisplayName("회원 조회가 끝나면 할인 계산이 이어서 실행되어야 한다")
+    void createOrder() {
+        // given
+        AsyncOrderService orderService = new AsyncOrderServiceImpl(memberRepository, new RateDiscountPolicy());
+
+        // when
+        CompletableFuture<Order> order = orderService.createOrder(1L, "itemA", 20000);
+
+        // then
+        assertThat(order).isNotDone();
+        pending.get(1L).complete(new Member(1L, "memberA", Grade.VIP));
+        assertThat(order.join().getDiscountPrice()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("여러 주문의 회원 조회는 기다리지 않고 모두 먼저 내보내야 하고, 같은 회원은 한 번만 조회해야 한다")
+    void createOrders() {
+        // given
+        AsyncOrderService orderService = new AsyncOrderServiceImpl(memberRepository, new RateDiscountPolicy());
+        List<OrderRequest> requests = List.of(
+                new OrderRequest(1L, "itemA", 10000),
+                new OrderRequest(2L, "itemB", 20000),
+                new OrderRequest(1L, "itemC", 30000));
+
+        // when
+        CompletableFuture<List<Order>> orders = orderService.createOrders(requests);
+
+        // then
+        assertThat(pending).containsOnlyKeys(1L, 2L);
+        assertThat(lookups.get()).isEqualTo(2);
+        pending.get(2L).complete(new Member(2L, "memberB", Grade.BASIC)); // 나중 회원이 먼저 끝나도 순서는 요청 순서대로
+        pending.get(1L).complete(new Member(1L, "memberA", Grade.VIP));
+        assertThat(orders.join()).extracting(Order::getDiscountPrice).containsExactly(1000, 0, 3000);
+    }
+
+    @Test
+    @DisplayName("회원을 기다리는 동안 정책이 바뀌어도 주문을 받은 순간의 정책 버전으로 계산해야 한다")
+    void pinnedPolicyVersion() {
+        // given
+        ReloadableDiscountPolicy discountPolicy = new ReloadableDiscountPolicy(new RateDiscountPolicy());
+        AsyncOrderService orderService = new AsyncOrderServiceImpl(memberRepository, discountPolicy);
+        CompletableFuture<Order> order = orderService.createOrder(1L, "itemA", 20000);
+
+        // when
+        discountPolicy.publish(new FixDiscountPolicy());
+        pending.get(1L).complete(new Member(1L, "memberA", Grade.VIP));
+
+        // then
+        assertThat(order.join().getDiscountPrice()).isEqualTo(2000);
+        assertThat(order.join().getPolicyVersion()).isEqualTo(1L);
+    }
+}
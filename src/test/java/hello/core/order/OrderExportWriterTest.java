@@ -0,0 +1,93 @@
+package hello.core.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderExportWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("내보낸 주문을 같은 순서, 같은 값으로 다시 읽을 수 있어야 한다")
+    void roundTrip() {
+        // given
+        Path file = directory.resolve("orders.col");
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) { // 블록 여러 개
+            orders.add(new Order((long) (i * 31 % 1_000), "item" + (i % 7), 10_000 + i % 5 * 1_000, i % 3 == 0 ? 1_000 : 0, i / 5_000));
+        }
+        orders.add(new Order(Long.MIN_VALUE, null, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE));
+        orders.add(new Order(Long.MAX_VALUE, "상품", -1, 0, 0));
+
+        // when
+        try (OrderExportWriter writer = new OrderExportWriter(file)) {
+            orders.forEach(writer::write);
+            assertThat(writer.getRowCount()).isEqualTo(orders.size());
+        }
+
+        // then
+        List<Order> read = new ArrayList<>();
+        try (OrderExportReader reader = new OrderExportReader(file)) {
+            while (reader.next()) {
+                read.add(reader.toOrder());
+            }
+            assertThat(reader.next()).isFalse();
+        }
+        assertThat(read).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(orders);
+    }
+
+    @Test
+    @DisplayName("비슷한 주문이 이어지면 toString 텍스트보다 훨씬 작게 저장되어야 한다")
+    void smallerThanText() throws IOException {
+        // given
+        Path file = directory.resolve("orders.col");
+        StringBuilder text = new StringBuilder();
+
+        // when
+        try (OrderExportWriter writer = new OrderExportWriter(file)) {
+            for (long memberId = 0; memberId < 10_000; memberId++) {
+                Order order = new Order(memberId, "itemA", 10_000, 1_000);
+                writer.write(order);
+                text.append(order).append('\n');
+            }
+        }
+
+        // then
+        assertThat(Files.size(file) * 10).isLessThan(text.length());
+    }
+
+    @Test
+    @DisplayName("주문 파일이 아니거나 마지막 블록이 잘려 있으면 예외가 발생해야 한다")
+    void invalidFile() throws IOException {
+        // given
+        Path file = directory.resolve("orders.col");
+        try (OrderExportWriter writer = new OrderExportWriter(file)) {
+            writer.write(new Order(1L, "itemA", 10_000, 1_000));
+        }
+        Path text = Files.writeString(directory.resolve("orders.txt"), "Order{memberId=1}");
+
+        // when
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        // then
+        try (OrderExportReader reader = new OrderExportReader(file)) {
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalStateException.class);
+        }
+        assertThatThrownBy(() -> new OrderExportReader(text)).isInstanceOf(IllegalStateException.class);
+    }
+}
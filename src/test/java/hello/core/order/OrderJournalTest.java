@@ -0,0 +1,159 @@
+package hello.core.order;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.item.CatalogItemRepository;
+import hello.core.item.ItemRepository;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 기록한 주문은 묶어서 fsync 되고, 모두 다른 순번을 받아야 한다")
+    void groupCommit() throws Exception {
+        // given
+        Path file = directory.resolve("orders.journal");
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Long>> sequences = new ArrayList<>();
+
+        // when
+        try (OrderJournal journal = new OrderJournal(file, 256, 2, TimeUnit.MILLISECONDS)) {
+            for (int i = 0; i < 2_000; i++) {
+                long memberId = i;
+                sequences.add(executor.submit(() -> journal.append(new Order(memberId, "itemA", 10_000, 1_000)).join()));
+            }
+            for (Future<Long> sequence : sequences) {
+                sequence.get(10, TimeUnit.SECONDS);
+            }
+
+            // then
+            assertThat(journal.getCommittedOrders()).isEqualTo(2_000);
+            assertThat(journal.getCommitCount()).isLessThan(2_000);
+        } finally {
+            executor.shutdownNow();
+        }
+        List<Long> values = new ArrayList<>();
+        for (Future<Long> sequence : sequences) {
+            values.add(sequence.get());
+        }
+        assertThat(values).doesNotHaveDuplicates().allMatch(sequence -> sequence >= 0 && sequence < 2_000);
+    }
+
+    @Test
+    @DisplayName("다시 열면 기록한 주문을 순서대로 다시 읽고, 다음 순번부터 이어서 기록해야 한다")
+    void replay() {
+        // given
+        Path file = directory.resolve("orders.journal");
+        try (OrderJournal journal = new OrderJournal(file, 16, 0, TimeUnit.MILLISECONDS)) {
+            journal.append(new Order(1L, "itemA", 10_000, 1_000, 3));
+            journal.append(new Order(2L, null, 20_000, 0)).join();
+        }
+
+        // when
+        List<Order> replayed = new ArrayList<>();
+        try (OrderJournal journal = new OrderJournal(file, 16, 0, TimeUnit.MILLISECONDS)) {
+            long sequence = journal.append(new Order(3L, "상품", 5_000, 500)).join();
+            journal.replay(replayed::add);
+
+            // then
+            assertThat(sequence).isEqualTo(2L);
+        }
+        assertThat(replayed).extracting(Order::getMemberId).containsExactly(1L, 2L, 3L);
+        assertThat(replayed.get(0).getPolicyVersion()).isEqualTo(3L);
+        assertThat(replayed.get(1).getItemName()).isNull();
+        assertThat(replayed.get(2).getItemName()).isEqualTo("상품");
+    }
+
+    @Test
+    @DisplayName("상품 ID 로 주문해도 상품 이름으로 저널에 기록되고, 카탈로그가 없으면 주문을 만들지 않아야 한다")
+    void journalItemOrder() {
+        // given
+        Path file = directory.resolve("orders.journal");
+        ConcurrentMemberRepository memberRepository = new ConcurrentMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        ItemRepository catalog = CatalogItemRepository.of(Map.of("itemA", 10_000, "itemB", 20_000));
+        OrderService orderService = new OrderServiceImpl(memberRepository, new FixDiscountPolicy(), catalog);
+        int itemId = catalog.findId("itemB");
+
+        // when
+        List<Order> replayed = new ArrayList<>();
+        try (OrderJournal journal = new OrderJournal(file, 16, 0, TimeUnit.MILLISECONDS)) {
+            ItemOrder order = new JournaledOrderService(orderService, journal, catalog).createOrder(1L, itemId);
+            assertThatThrownBy(() -> new JournaledOrderService(orderService, journal).createOrder(1L, itemId))
+                    .isInstanceOf(IllegalStateException.class);
+            journal.replay(replayed::add);
+
+            // then
+            assertThat(order.getDiscountPrice()).isEqualTo(1_000);
+        }
+        assertThat(replayed).hasSize(1);
+        assertThat(replayed.get(0).getItemName()).isEqualTo("itemB");
+        assertThat(replayed.get(0).getItemPrice()).isEqualTo(20_000);
+        assertThat(replayed.get(0).getDiscountPrice()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("마지막 레코드가 잘려 있으면 그 레코드만 버리고 열려야 한다")
+    void truncatedTail() throws IOException {
+        // given
+        Path file = directory.resolve("orders.journal");
+        try (OrderJournal journal = new OrderJournal(file, 16, 0, TimeUnit.MILLISECONDS)) {
+            journal.append(new Order(1L, "itemA", 10_000, 1_000));
+            journal.append(new Order(2L, "itemB", 20_000, 2_000)).join();
+        }
+        long size = Files.size(file);
+
+        // when
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        // then
+        try (OrderJournal journal = new OrderJournal(file, 16, 0, TimeUnit.MILLISECONDS)) {
+            List<Order> replayed = new ArrayList<>();
+            assertThat(journal.replay(replayed::add)).isEqualTo(1);
+            assertThat(replayed).extracting(Order::getMemberId).containsExactly(1L);
+            assertThat(journal.append(new Order(3L, "itemC", 30_000, 0)).join()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("닫힌 저널에 기록하면 future 가 예외로 완료되어야 한다")
+    void appendAfterClose() {
+        // given
+        OrderJournal journal = new OrderJournal(directory.resolve("orders.journal"), 16, 0, TimeUnit.MILLISECONDS);
+
+        // when
+        journal.close();
+        CompletableFuture<Long> sequence = journal.append(new Order(1L, "itemA", 10_000, 1_000));
+
+        // then
+        assertThatThrownBy(sequence::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package hello.core.order;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderProcessorTest {
+
+    @Test
+    @DisplayName("가상 스레드에서 주문이 모두 처리되어야 한다")
+    void processOrders() {
+        // given
+        ConcurrentMemberRepository memberRepository = new ConcurrentMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        OrderService orderService = new OrderServiceImpl(memberRepository, new FixDiscountPolicy());
+
+        // when
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        try (OrderProcessor processor = OrderProcessor.virtualThreads(orderService, 100, 1, TimeUnit.SECONDS)) {
+            for (int i = 0; i < 1_000; i++) {
+                futures.add(processor.submit(new OrderRequest(1L, "itemA", 10000)));
+            }
+        }
+
+        // then
+        assertThat(futures).allSatisfy(future -> {
+            assertThat(future).isCompleted();
+            assertThat(future.join().getDiscountPrice()).isEqualTo(1000);
+        });
+    }
+
+    @Test
+    @DisplayName("처리 중인 주문이 가득 차면 새 주문은 거절되어야 한다")
+    void rejectWhenFull() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        OrderService blocking = new OrderService() {
+            @Override
+            public Order createOrder(Long memberId, String itemName, int itemPrice) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Order(memberId, itemName, itemPrice, 0);
+            }
+
+            @Override
+            public ItemOrder createOrder(long memberId, int itemId) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Orders createOrders(List<OrderRequest> requests) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        try (OrderProcessor processor = OrderProcessor.virtualThreads(blocking, 2, 10, TimeUnit.MILLISECONDS)) {
+            CompletableFuture<Order> first = processor.submit(new OrderRequest(1L, "itemA", 10000));
+            CompletableFuture<Order> second = processor.submit(new OrderRequest(2L, "itemA", 10000));
+
+            // when
+            CompletableFuture<Order> third = processor.submit(new OrderRequest(3L, "itemA", 10000));
+
+            // then
+            assertThat(processor.inFlight()).isEqualTo(2);
+            assertThatThrownBy(third::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(first.get(1, TimeUnit.SECONDS).getMemberId()).isEqualTo(1L);
+            assertThat(second.get(1, TimeUnit.SECONDS).getMemberId()).isEqualTo(2L);
+            assertThat(processor.submit(new OrderRequest(4L, "itemA", 10000)).get(1, TimeUnit.SECONDS)).isNotNull();
+        }
+    }
+}
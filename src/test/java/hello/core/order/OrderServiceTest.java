@@ -1,14 +1,18 @@
 package hello.core.order;
 
 import hello.core.AppConfig;
+import hello.core.discount.FixDiscountPolicy;
 import hello.core.member.Grade;
 import hello.core.member.Member;
 import hello.core.member.MemberService;
 import hello.core.member.MemberServiceImpl;
+import hello.core.member.MemoryMemberRepository;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class OrderServiceTest {
     MemberService memberService;
     OrderService orderService;
@@ -34,4 +38,80 @@ public class OrderServiceTest {
         Assertions.assertThat(order.getDiscountPrice()).isEqualTo(1000);
 
     }
+
+    @Test
+    void createOrders() {
+        // given
+        memberService.join(new Member(1L, "memberA", Grade.VIP));
+        memberService.join(new Member(2L, "memberB", Grade.BASIC));
+        List<OrderRequest> requests = List.of(
+                new OrderRequest(1L, "itemA", 10000),
+                new OrderRequest(2L, "itemB", 20000),
+                new OrderRequest(1L, "itemC", 30000));
+
+        // when
+        Orders orders = orderService.createOrders(requests);
+
+        // then
+        Assertions.assertThat(orders.size()).isEqualTo(3);
+        Assertions.assertThat(orders.getDiscountPrice(0)).isEqualTo(1000);
+        Assertions.assertThat(orders.getDiscountPrice(1)).isEqualTo(0);
+        Assertions.assertThat(orders.getDiscountPrice(2)).isEqualTo(3000);
+        Assertions.assertThat(orders.get(2).getItemName()).isEqualTo("itemC");
+        Assertions.assertThat(orders.calculatePrice(1)).isEqualTo(20000);
+    }
+
+    @Test
+    void createOrderIntoRingBuffer() {
+        // given
+        memberService.join(new Member(1L, "memberA", Grade.VIP));
+        OrderRingBuffer orders = new OrderRingBuffer(2);
+
+        // when
+        long first = orderService.createOrder(1L, "itemA", 10000, orders);
+        long second = orderService.createOrder(1L, "itemB", 20000, orders);
+        long third = orderService.createOrder(1L, "itemC", 30000, orders); // 용량이 2 라서 첫 번째 주문을 덮어씀
+
+        // then
+        Assertions.assertThat(third).isEqualTo(2L);
+        Assertions.assertThat(orders.getDiscountPrice(second)).isEqualTo(2000);
+        Assertions.assertThat(orders.calculatePrice(third)).isEqualTo(27000);
+        Assertions.assertThat(orders.get(third).getItemName()).isEqualTo("itemC");
+        Assertions.assertThatThrownBy(() -> orders.getItemName(first))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void createOrderValue() {
+        // given
+        memberService.join(new Member(1L, "memberA", Grade.VIP));
+
+        // when
+        OrderValue order = orderService.createOrderValue(1L, "itemA", 20000);
+
+        // then
+        Assertions.assertThat(order.getDiscountPrice()).isEqualTo(2000);
+        Assertions.assertThat(order.calculatePrice()).isEqualTo(18000);
+        Assertions.assertThat(order.toOrder().getItemName()).isEqualTo("itemA");
+        Assertions.assertThat(OrderValue.of(order.toOrder())).isEqualTo(order);
+    }
+
+    @Test
+    void createOrderByItemId() {
+        // given
+        memberService.join(new Member(1L, "memberA", Grade.VIP));
+        int itemId = new AppConfig().itemRepository().findId("itemB");
+
+        // when
+        ItemOrder order = orderService.createOrder(1L, itemId);
+
+        // then
+        Assertions.assertThat(order.getItemId()).isEqualTo(itemId);
+        Assertions.assertThat(order.getItemPrice()).isEqualTo(20000);
+        Assertions.assertThat(order.getDiscountPrice()).isEqualTo(2000);
+        Assertions.assertThatThrownBy(() -> orderService.createOrder(1L, 99))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> new OrderServiceImpl(new MemoryMemberRepository(), new FixDiscountPolicy()).createOrder(1L, itemId))
+                .isInstanceOf(IllegalStateException.class); // 상품 카탈로그 없음
+    }
 }
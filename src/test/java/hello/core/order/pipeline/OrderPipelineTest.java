@@ -0,0 +1,162 @@
+package hello.core.order.pipeline;
+
+import hello.core.discount.CouponDiscountPolicy;
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.discount.PricingContext;
+import hello.core.member.ConcurrentMemberRepository;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.order.Order;
+import hello.core.order.OrderRingBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderPipelineTest {
+
+    ConcurrentMemberRepository memberRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        memberRepository = new ConcurrentMemberRepository();
+        for (long id = 0; id < 100; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 10 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 넣은 주문이 모두 회원 조회, 할인 계산을 거쳐서 완료되어야 한다")
+    void manyProducers() throws Exception {
+        // given
+        OrderPipeline pipeline = new OrderPipeline(memberRepository, new FixDiscountPolicy(), event -> { }, 64);
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        List<Future<List<Order>>> results = new ArrayList<>();
+
+        // when
+        for (int producer = 0; producer < 8; producer++) {
+            results.add(producers.submit(() -> {
+                List<CompletableFuture<Order>> futures = new ArrayList<>();
+                for (long i = 0; i < 1_000; i++) {
+                    futures.add(pipeline.submit(i % 100, "itemA", 10_000));
+                }
+                List<Order> orders = new ArrayList<>();
+                for (CompletableFuture<Order> future : futures) {
+                    orders.add(future.get(10, TimeUnit.SECONDS));
+                }
+                return orders;
+            }));
+        }
+
+        // then
+        for (Future<List<Order>> result : results) {
+            List<Order> orders = result.get(10, TimeUnit.SECONDS);
+            assertThat(orders).hasSize(1_000);
+            for (Order order : orders) {
+                assertThat(order.getDiscountPrice()).isEqualTo(order.getMemberId() % 10 == 0 ? 1_000 : 0);
+            }
+        }
+        producers.shutdown();
+        pipeline.close();
+        for (OrderPipeline.StageStats stats : pipeline.getStageStats()) {
+            assertThat(stats.getEvents()).isEqualTo(8_000);
+            assertThat(stats.getBatches()).isBetween(1L, 8_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("OrderSink 로 나가는 주문은 넣은 순서대로여야 하고, 닫을 때 남은 주문을 모두 내보내야 한다")
+    void sinkInOrder() {
+        // given
+        OrderRingBuffer orders = new OrderRingBuffer(1024);
+        OrderPipeline pipeline = new OrderPipeline(memberRepository, new FixDiscountPolicy(), OrderSink.toRingBuffer(orders), 8);
+
+        // when
+        for (int i = 0; i < 1_000; i++) { // 링 버퍼 (8 칸) 를 여러 바퀴 돎
+            assertThat(pipeline.publish(i % 100, "item" + i, 1_000 + i)).isEqualTo(i);
+        }
+        pipeline.close();
+
+        // then
+        assertThat(orders.nextSequence()).isEqualTo(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(orders.getItemName(i)).isEqualTo("item" + i);
+            assertThat(orders.getItemPrice(i)).isEqualTo(1_000 + i);
+            assertThat(orders.getDiscountPrice(i)).isEqualTo(i % 10 == 0 ? 1_000 : 0);
+        }
+    }
+
+    @Test
+    @DisplayName("한 주문이 실패해도 그 주문의 future 만 예외로 완료되어야 한다")
+    void failedOrder() {
+        // given
+        OrderPipeline pipeline = new OrderPipeline(memberRepository, new FixDiscountPolicy(), event -> { }, 16);
+
+        // when
+        CompletableFuture<Order> unknownMember = pipeline.submit(999L, "itemA", 10_000); // FixDiscountPolicy 에서 NPE
+        CompletableFuture<Order> vip = pipeline.submit(10L, "itemA", 10_000);
+
+        // then
+        assertThatThrownBy(unknownMember::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(NullPointerException.class);
+        assertThat(vip.join().getDiscountPrice()).isEqualTo(1_000);
+        pipeline.close();
+        assertThat(pipeline.getStageStats()).extracting(OrderPipeline.StageStats::getErrors).containsExactly(0L, 1L, 0L);
+    }
+
+    @Test
+    @DisplayName("닫힌 파이프라인에는 주문을 넣을 수 없어야 한다")
+    void closed() {
+        // given
+        OrderPipeline pipeline = new OrderPipeline(memberRepository, new FixDiscountPolicy(), event -> { }, 16);
+
+        // when
+        pipeline.close();
+
+        // then
+        assertThatThrownBy(() -> pipeline.publish(1L, "itemA", 10_000)).isInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> pipeline.submit(1L, "itemA", 10_000).join())
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("주문을 넣은 스레드의 쿠폰으로 할인 계산 단계에서 할인되어야 한다")
+    void pricingContext() throws Exception {
+        // given
+        PricingContext welcome = new PricingContext("KRW", "spring", "WELCOME");
+        OrderPipeline pipeline = new OrderPipeline(memberRepository,
+                new CouponDiscountPolicy(new FixDiscountPolicy(), Map.of("WELCOME", 500)), event -> { }, 16);
+        List<CompletableFuture<Order>> withCoupon = new ArrayList<>();
+        List<CompletableFuture<Order>> withoutCoupon = new ArrayList<>();
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 100; i++) {
+                withCoupon.add(executor.submit(() -> PricingContext.call(welcome, () -> pipeline.submit(0L, "itemA", 10_000))).get());
+                withoutCoupon.add(executor.submit(() -> pipeline.submit(0L, "itemA", 10_000)).get());
+            }
+        }
+        pipeline.close();
+
+        // then
+        for (CompletableFuture<Order> order : withCoupon) {
+            assertThat(order.get(1, TimeUnit.SECONDS).getDiscountPrice()).isEqualTo(1_500);
+        }
+        for (CompletableFuture<Order> order : withoutCoupon) {
+            assertThat(order.get(1, TimeUnit.SECONDS).getDiscountPrice()).isEqualTo(1_000);
+        }
+    }
+}